@@ -2,8 +2,14 @@ package com.astralz.project_notes_back;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * @EnableScheduling: Activa las tareas periódicas (@Scheduled), p. ej. la
+ *                    escritura por lotes del autoguardado de notas.
+ */
 @SpringBootApplication
+@EnableScheduling
 public class ProjectNotesApplication {
 
 	/**
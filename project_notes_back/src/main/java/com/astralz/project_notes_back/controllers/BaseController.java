@@ -1,8 +1,11 @@
 package com.astralz.project_notes_back.controllers;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,8 +14,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
 import com.astralz.project_notes_back.services.models.BaseModelService;
 
 import jakarta.validation.Valid;
@@ -24,6 +31,7 @@ import jakarta.validation.Valid;
  *               todos los origenes].
  * @RestController: Indica que esta clase es un controlador REST.
  * @M: Tipo de entidad que maneja la lógica de negocio.
+ * @V: Tipo de vista (proyección) que devuelven las lecturas.
  * @ID: Tipo de identificador de la entidad.
  * @S: Tipo de servicio que extiende BaseService para la entidad M.
  * 
@@ -31,16 +39,29 @@ import jakarta.validation.Valid;
  * 
  * # CRUD
  * @service: Servicio que maneja la lógica de negocio para la entidad T.
- * @getAll: Obtiene todas las entidades.
+ * @getAll: Obtiene una página de entidades (paginación por cursor).
  * @getById: Obtiene una entidad por su ID.
  * @create: Crea una nueva entidad.
  * @update: Actualiza una entidad existente.
  * @delete: Elimina una entidad por su ID.
  * 
+ * # Peticiones condicionales
+ * Las lecturas devuelven un ETag fuerte calculado sin cargar la vista; si el
+ * cliente envía If-None-Match con ese valor se responde 304 sin consultar los
+ * datos ni serializar JSON. PUT y DELETE aceptan If-Match (412 si la entidad
+ * cambió desde que el cliente la leyó).
+ * 
+ * # Relaciones (?expand=)
+ * getAll y getById aceptan ?expand=a,b con las relaciones a incluir (p. ej.
+ * /api/users/1?expand=details,notes). Cada combinación se lee con su propia
+ * consulta (join fetch), sin cargas perezosas (una página de usuarios con
+ * notas: dos consultas); una relación desconocida responde 400. Esas
+ * respuestas no llevan ETag.
+ * 
  */
 @CrossOrigin(origins = "http://localhost:3000")
 @RestController
-public abstract class BaseController<M, ID, S extends BaseModelService<M, ID>> {
+public abstract class BaseController<M extends IIdentifiable<ID>, V extends IIdentifiable<ID>, ID, S extends BaseModelService<M, V, ID>> {
 
     /**
      * Servicio que maneja la lógica de negocio para la entidad T.
@@ -58,34 +79,80 @@ public abstract class BaseController<M, ID, S extends BaseModelService<M, ID>> {
     }
 
     /**
-     * Obtener todas las notas.
+     * Obtener una página de notas ordenadas por ID.
      * 
-     * GET /api/{M}
+     * GET /api/{M}?after={id}&limit={n}&expand={relación},{relación}...
      * 
      * @GetMapping: Mapea la URL /api/{M} para este método [GET].
+     * @RequestParam: Parámetros opcionales de la URL.
      * 
-     * @return lista de notas en formato JSON
+     * ⚠️ El servidor limita el tamaño de página a
+     * {@link BaseModelService#MAX_PAGE_SIZE}.
+     * 
+     * @param after   cursor devuelto en `next` por la página anterior
+     * @param limit   tamaño de página solicitado
+     * @param expand  relaciones a incluir (ver expansions() de cada servicio)
+     * @param request petición (cabecera If-None-Match)
+     * @return página de vistas de notas en formato JSON o 304 si no cambió
      */
     @GetMapping
-    public List<M> getAll() {
-        return this.service.findAll();
+    public ResponseEntity<?> getAll(@RequestParam(required = false) ID after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) Set<String> expand,
+            WebRequest request) {
+
+        // ? Con relaciones: otra forma de respuesta, sin ETag
+        if (expand != null && !expand.isEmpty()) {
+            return ResponseEntity.ok(this.service.findExpandedPage(after, limit, expand));
+        }
+
+        String etag = this.service.findPageETag(after, limit);
+
+        // ? El cliente ya tiene esta página
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(this.service.findPage(after, limit));
     }
 
     /**
      * Obtener una nota por su ID.
      * 
-     * GET /api/{M}/{id}
+     * GET /api/{M}/{id}?expand={relación},{relación}...
      * 
      * @GetMapping: Mapea la URL /api/{M}/{id} para este método [GET].
      * @PathVariable: Indica que el parámetro id es una variable de la URL.
      * 
-     * @param id identificador de la nota
-     * @return nota encontrada o 404 si no existe
+     * @param id      identificador de la nota
+     * @param expand  relaciones a incluir (ver expansions() de cada servicio)
+     * @param request petición (cabecera If-None-Match)
+     * @return vista de la nota encontrada, 304 si no cambió o 404 si no existe
      */
     @GetMapping("/{id}")
-    public ResponseEntity<M> getById(@PathVariable ID id) {
-        return this.service.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getById(@PathVariable ID id, @RequestParam(required = false) Set<String> expand,
+            WebRequest request) {
+
+        // ? Con relaciones: otra forma de respuesta, sin ETag ni caché
+        if (expand != null && !expand.isEmpty()) {
+            return this.service.findExpandedById(id, expand)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        Optional<String> etag = this.service.findETag(id);
+
+        // ? La nota no existe
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // ? El cliente ya tiene esta versión
+        if (request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+
+        return this.service.findViewById(id)
+                .map(view -> ResponseEntity.ok().eTag(etag.get()).body(view))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -118,14 +185,27 @@ public abstract class BaseController<M, ID, S extends BaseModelService<M, ID>> {
      * @RequestBody: Indica que el objeto M debe ser recibido en el cuerpo de la
      *               petición.
      * 
-     * @param id   id de la nota a actualizar
-     * @param note datos actualizados de la nota
-     * @return nota actualizada o 404 si no existe
+     * @param id      id de la nota a actualizar
+     * @param note    datos actualizados de la nota
+     * @param request petición (cabecera If-Match)
+     * @return datos aplicados (con su ID y nuevo ETag; la entidad no se vuelve
+     *         a leer), 412 si cambió desde que el cliente la leyó o 404 si no
+     *         existe
      */
     @PutMapping("/{id}")
-    public ResponseEntity<M> update(@PathVariable ID id, @Valid @RequestBody M note) {
+    public ResponseEntity<M> update(@PathVariable ID id, @Valid @RequestBody M note, WebRequest request) {
+
+        // ? La nota cambió desde que el cliente la leyó
+        if (preconditionFailed(id, request)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         return this.service.update(id, note)
-                .map(ResponseEntity::ok)
+                .map(updated -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    this.service.findETag(id).ifPresent(response::eTag);
+                    return response.body(updated);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -136,12 +216,18 @@ public abstract class BaseController<M, ID, S extends BaseModelService<M, ID>> {
      * 
      * @DeleteMapping: Mapea la URL /api/{M}/{id} para este método [DELETE].
      * 
-     * @param id id de la nota a eliminar
+     * @param id      id de la nota a eliminar
+     * @param request petición (cabecera If-Match)
      * 
-     * @return código 204 No Content si fue eliminada o 404 si no existe
+     * @return código 204 No Content si fue eliminada, 412 si cambió desde que el
+     *         cliente la leyó o 404 si no existe
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable ID id) {
+    public ResponseEntity<Void> delete(@PathVariable ID id, WebRequest request) {
+        // ? La nota cambió desde que el cliente la leyó
+        if (preconditionFailed(id, request)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         // ? La nota se elimino correctamente
         if (this.service.deleteById(id)) {
             return ResponseEntity.noContent().build();
@@ -149,4 +235,23 @@ public abstract class BaseController<M, ID, S extends BaseModelService<M, ID>> {
         // ? La nota no existe
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Comprueba la cabecera If-Match contra el ETag actual de la entidad.
+     * 
+     * Sin If-Match no se consulta nada. Si la entidad no existe se deja seguir
+     * para que la operación responda 404.
+     * 
+     * @param id      id de la entidad
+     * @param request petición (cabecera If-Match)
+     * @return true si el cliente envió If-Match y no coincide
+     */
+    protected boolean preconditionFailed(ID id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_MATCH) == null) {
+            return false;
+        }
+        return this.service.findETag(id)
+                .map(request::checkNotModified)
+                .orElse(false);
+    }
 }
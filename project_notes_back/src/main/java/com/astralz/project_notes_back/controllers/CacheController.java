@@ -0,0 +1,56 @@
+package com.astralz.project_notes_back.controllers;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.astralz.project_notes_back.dto.CacheStatsView;
+import com.astralz.project_notes_back.services.models.BaseModelService;
+
+/**
+ * 📦 CacheController
+ * 
+ * @RequestMapping: Mapea la URL /api/cache para este controlador.
+ * @BaseModelService: Servicios con caché de vistas opcional.
+ * 
+ * Expone los contadores (aciertos, fallos y desalojos) de las cachés de
+ * vistas activas.
+ */
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    /**
+     * Todos los servicios de modelos.
+     */
+    private final List<BaseModelService<?, ?, ?>> services;
+
+    /**
+     * Constructor con inyección de dependencia de los servicios de modelos.
+     * 
+     * @param services servicios de modelos registrados en Spring.
+     */
+    public CacheController(List<BaseModelService<?, ?, ?>> services) {
+        this.services = services;
+    }
+
+    /**
+     * Obtener los contadores de las cachés activas.
+     * 
+     * GET /api/cache
+     * 
+     * @return contadores de cada caché activa
+     */
+    @GetMapping
+    public List<CacheStatsView> getStats() {
+        return this.services.stream()
+                .map(BaseModelService::cacheStats)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+}
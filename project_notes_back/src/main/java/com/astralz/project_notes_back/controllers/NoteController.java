@@ -1,9 +1,33 @@
 package com.astralz.project_notes_back.controllers;
 
+import com.astralz.project_notes_back.dto.BatchResult;
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.DateRange;
+import com.astralz.project_notes_back.dto.DeleteResult;
+import com.astralz.project_notes_back.dto.NoteActivityBucket;
+import com.astralz.project_notes_back.dto.NotePatch;
+import com.astralz.project_notes_back.dto.NoteSearchHit;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.enums.HistogramBucket;
 import com.astralz.project_notes_back.models.Note;
 import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.stats.UserNoteStatsService;
 
+import jakarta.validation.Valid;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controlador REST para manejar operaciones sobre notas.
@@ -12,18 +36,301 @@ import org.springframework.web.bind.annotation.*;
  * @RequestMapping: Mapea la URL /api/notes para este controlador.
  * @NoteService: Servicio que maneja la lógica de negocio para notas.
  * @Note: Entidad que representa una nota.
+ * @NoteView: Vista de lectura de una nota.
  * @Long: Tipo de dato del identificador de la nota.
  * @BaseController: Controlador base que maneja las operaciones CRUD.
  */
 @RestController
 @RequestMapping("/api/notes")
-public class NoteController extends BaseController<Note, Long, NoteService> {
+public class NoteController extends BaseController<Note, NoteView, Long, NoteService> {
+
+    // Representación de GET /api/notes/summaries (entra en su ETag)
+    private static final String SUMMARY_REPRESENTATION = "summary";
+
+    /**
+     * Estadísticas de notas (histogramas de actividad).
+     */
+    private final UserNoteStatsService noteStats;
 
     /**
      * Constructor con inyección de dependencia del servicio NoteService.
      * @param noteService servicio que maneja la lógica de negocio para notas
+     * @param noteStats   servicio de estadísticas de notas
      */
-    public NoteController(NoteService noteService) {
+    public NoteController(NoteService noteService, UserNoteStatsService noteStats) {
         super(noteService);
+        this.noteStats = noteStats;
+    }
+
+    /**
+     * Obtener una página de resúmenes de las notas creadas en un rango de
+     * fechas, de la más reciente a la más antigua.
+     *
+     * GET /api/notes?from={fecha}&to={fecha}&userId={id}&after={cursor}&limit={n}
+     *
+     * @GetMapping: Mapea la URL /api/notes con el parámetro from [GET] (sin
+     *              from ni to responde GET /api/notes de BaseController).
+     * @RequestParam: Fechas ISO (2024-02-29), ambas incluidas; solo una de
+     *                las dos deja el rango abierto por ese lado.
+     *
+     * @param from   primer día del rango
+     * @param to     último día del rango
+     * @param userId limita el listado a las notas del usuario
+     * @param after  cursor devuelto en `next` por la página anterior
+     * @param limit  tamaño de página solicitado
+     * @return página de resúmenes en formato JSON, o 400 si el rango o el
+     *         cursor no son válidos
+     */
+    @GetMapping(params = "from")
+    public CursorPage<NoteSummaryView, String> getRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return this.service.findRangePage(DateRange.of(from, to), userId, after, limit);
+    }
+
+    /**
+     * Igual que getRange, con solo el final del rango.
+     *
+     * GET /api/notes?to={fecha}&userId={id}&after={cursor}&limit={n}
+     *
+     * @GetMapping: Mapea la URL /api/notes con to y sin from [GET].
+     *
+     * @param to     último día del rango
+     * @param userId limita el listado a las notas del usuario
+     * @param after  cursor devuelto en `next` por la página anterior
+     * @param limit  tamaño de página solicitado
+     * @return página de resúmenes en formato JSON
+     */
+    @GetMapping(params = { "to", "!from" })
+    public CursorPage<NoteSummaryView, String> getRangeUntil(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return this.service.findRangePage(DateRange.of(null, to), userId, after, limit);
+    }
+
+    /**
+     * Histograma de actividad: notas creadas por día, semana o mes.
+     *
+     * GET /api/notes/histogram?bucket={day|week|month}&userId={id}&from={fecha}&to={fecha}
+     *
+     * @GetMapping: Mapea la URL /api/notes/histogram para este método [GET].
+     * @RequestParam: bucket obligatorio; userId, from y to opcionales (sin
+     *                userId, de todos los usuarios).
+     *
+     * Se calcula desde las notas por usuario y día que mantiene
+     * UserNoteStatsService, sin recorrer las notas. Los intervalos sin notas
+     * se omiten.
+     *
+     * @param bucket tamaño de los intervalos
+     * @param userId limita el histograma a las notas del usuario
+     * @param from   primer día del rango
+     * @param to     último día del rango
+     * @return intervalos en orden, 400 si bucket o el rango no son válidos o
+     *         404 si el usuario no existe
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<List<NoteActivityBucket>> histogram(@RequestParam String bucket,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        HistogramBucket size;
+        try {
+            size = HistogramBucket.valueOf(bucket.toUpperCase(Locale.ROOT));
+
+            // ! Error: intervalo desconocido
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bucket debe ser day, week o month.");
+        }
+
+        return noteStats.histogram(userId, DateRange.of(from, to), size)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Obtener una página de resúmenes de notas (sin el contenido) ordenados
+     * por ID.
+     *
+     * GET /api/notes/summaries?after={id}&limit={n}
+     *
+     * @GetMapping: Mapea la URL /api/notes/summaries para este método [GET].
+     * @RequestParam: Parámetros opcionales de la URL (igual que GET /api/notes).
+     *
+     * Cada resumen trae id, título, fecha, dueño, versión y una vista previa
+     * del contenido; el contenido completo se pide con GET /api/notes/{id}.
+     * Su ETag sale de las mismas filas que la página de GET /api/notes, pero
+     * es distinto (otra representación).
+     *
+     * @param after   cursor devuelto en `next` por la página anterior
+     * @param limit   tamaño de página solicitado
+     * @param request petición (cabecera If-None-Match)
+     * @return página de resúmenes en formato JSON o 304 si no cambió
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<NoteSummaryView, Long>> getSummaries(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        String etag = this.service.findPageETag(after, limit, SUMMARY_REPRESENTATION);
+
+        // ? El cliente ya tiene esta página
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok().eTag(etag).body(this.service.findSummaryPage(after, limit));
+    }
+
+    /**
+     * Buscar notas por título y contenido.
+     * 
+     * GET /api/notes/search?q={texto}&userId={id}&limit={n}
+     * 
+     * @GetMapping: Mapea la URL /api/notes/search para este método [GET].
+     * @RequestParam: q obligatorio; userId y limit opcionales.
+     * 
+     * Sintaxis: palabras (todas obligatorias), "frases", prefijo*, -excluir y
+     * a | b. Resultados ordenados por relevancia (el título pesa el doble).
+     * 
+     * @param q      texto a buscar
+     * @param userId limita la búsqueda a las notas del usuario
+     * @param limit  máximo de resultados (máx. {@link NoteService#MAX_SEARCH_RESULTS})
+     * @return resultados de la búsqueda en formato JSON
+     */
+    @GetMapping("/search")
+    public List<NoteSearchHit> search(@RequestParam String q,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Integer limit) {
+        return this.service.search(q, userId, limit);
+    }
+
+    /**
+     * Crea muchas notas en una sola petición.
+     * 
+     * POST /api/notes/batch
+     * 
+     * @PostMapping: Mapea la URL /api/notes/batch para este método [POST].
+     * @RequestBody: Arreglo de notas. Cada nota se valida por separado (no se
+     *               usa @Valid para que una nota inválida no rechace el lote).
+     * 
+     * @param notes notas a crear
+     * @return resultado de cada nota con código 200, o 400 si el lote es
+     *         demasiado grande
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createBatch(@RequestBody List<Note> notes) {
+        return ResponseEntity.ok(this.service.saveBatch(notes));
+    }
+
+    /**
+     * Actualiza solo los campos enviados de una nota (p. ej. el autoguardado
+     * de un campo).
+     * 
+     * PATCH /api/notes/{id}
+     * 
+     * @PatchMapping: Mapea la URL /api/notes/{id} para este método [PATCH].
+     * @Valid: Los campos presentes siguen las reglas de Note.
+     * @RequestBody: Campos a cambiar ({"title": ...}, {"content": ...} o ambos).
+     * 
+     * @param id      id de la nota
+     * @param patch   campos a cambiar
+     * @param request petición (cabecera If-Match)
+     * @return 204 con el nuevo ETag, 400 si no trae campos, 412 si la nota
+     *         cambió desde que el cliente la leyó o 404 si no existe
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id, @Valid @RequestBody NotePatch patch,
+            WebRequest request) {
+
+        // ? La nota cambió desde que el cliente la leyó
+        if (preconditionFailed(id, request)) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
+        // ? La nota no existe
+        if (!this.service.patch(id, patch)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        this.service.findETag(id).ifPresent(response::eTag);
+        return response.build();
+    }
+
+    /**
+     * Autoguarda los campos enviados de una nota (editor).
+     * 
+     * PATCH /api/notes/{id}/autosave
+     * 
+     * @PatchMapping: Mapea la URL /api/notes/{id}/autosave para este método
+     *                [PATCH].
+     * @Valid: Los campos presentes siguen las reglas de Note.
+     * @RequestBody: Campos a cambiar (la versión se ignora: gana el último).
+     * 
+     * Con app.notes.autosave.enabled=true el cambio se escribe en el
+     * siguiente lote (las lecturas ya lo ven); si no, se escribe directo.
+     * 
+     * @param id    id de la nota
+     * @param patch campos a cambiar
+     * @return 202 si quedó en el buffer, 204 si se escribió directo, 400 si no
+     *         trae campos o 404 si la nota no existe
+     */
+    @PatchMapping("/{id}/autosave")
+    public ResponseEntity<Void> autosave(@PathVariable Long id, @Valid @RequestBody NotePatch patch) {
+        return this.service.autosave(id, patch)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Elimina muchas notas en una sola petición, sin cargarlas.
+     * 
+     * DELETE /api/notes?ids={id},{id}...
+     * DELETE /api/notes?userId={id}
+     * 
+     * @DeleteMapping: Mapea la URL /api/notes para este método [DELETE].
+     * @RequestParam: ids o userId (exactamente uno de los dos).
+     * 
+     * @param ids    ids de las notas (máx. app.notes.batch.max-items)
+     * @param userId elimina todas las notas del usuario
+     * @return notas eliminadas con código 200, o 400 si faltan o sobran
+     *         parámetros
+     */
+    @DeleteMapping
+    public ResponseEntity<DeleteResult> deleteMany(@RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long userId) {
+
+        // ? Se necesita exactamente un criterio
+        if ((ids == null) == (userId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Indica ids o userId (solo uno).");
+        }
+
+        int deleted = ids != null
+                ? this.service.deleteMany(ids)
+                : this.service.deleteByUser(userId);
+        return ResponseEntity.ok(new DeleteResult(deleted));
+    }
+
+    /**
+     * Exporta todas las notas en formato NDJSON.
+     * 
+     * GET /api/notes/export
+     * 
+     * @GetMapping: Mapea la URL /api/notes/export para este método [GET].
+     * @StreamingResponseBody: Escribe directamente en la respuesta, sin armar la
+     *                         lista completa en memoria.
+     * 
+     * @return flujo NDJSON con una nota por línea
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> this.service.exportNdjson(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -1,9 +1,16 @@
 package com.astralz.project_notes_back.controllers;
 
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.UserNoteStatsView;
+import com.astralz.project_notes_back.dto.UserView;
 import com.astralz.project_notes_back.models.Note;
 import com.astralz.project_notes_back.models.User;
 import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.BaseModelService;
+import com.astralz.project_notes_back.services.models.NoteService;
 import com.astralz.project_notes_back.services.models.UserService;
+import com.astralz.project_notes_back.services.stats.UserNoteStatsService;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -11,8 +18,10 @@ import lombok.Data;
 
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * 📦 UserController
@@ -20,20 +29,104 @@ import org.springframework.web.bind.annotation.*;
  * @RequestMapping: Mapea la URL /api/users para este controlador.
  * @UserService: Servicio que maneja la lógica de negocio para usuarios.
  * @User: Entidad que representa un usuario.
+ * @UserView: Vista de lectura de un usuario.
  * @Long: Tipo de dato del identificador de la usuario.
  * @BaseController: Controlador base que maneja las operaciones CRUD.
  */
 @RestController
 @RequestMapping("/api/users")
-public class UserController extends BaseController<User, Long, UserService> {
+public class UserController extends BaseController<User, UserView, Long, UserService> {
+
+    /**
+     * Estadísticas de notas por usuario.
+     */
+    private final UserNoteStatsService noteStats;
+
+    /**
+     * Servicio de notas (notas de un usuario).
+     */
+    private final NoteService noteService;
 
     /**
      * Constructor con inyección de dependencia del servicio UserService.
      * 
      * @param userService servicio que maneja la lógica de negocio para usuarios.
+     * @param noteStats   estadísticas de notas por usuario.
+     * @param noteService servicio de notas.
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserNoteStatsService noteStats, NoteService noteService) {
         super(userService);
+        this.noteStats = noteStats;
+        this.noteService = noteService;
+    }
+
+    /**
+     * GET /api/users/{id}/notes?after={cursor}&limit={n}
+     * 
+     * Resúmenes de las notas de un usuario (sin el contenido), de la más
+     * reciente a la más antigua, sin cargar el usuario ni su colección de
+     * notas (ver NoteService.findUserPage).
+     * 
+     * @param id    ID del usuario.
+     * @param after cursor devuelto en `next` por la página anterior.
+     * @param limit tamaño de página solicitado.
+     * @return Página de resúmenes, 404 si el usuario no existe o 400 si el
+     *         cursor no es válido.
+     */
+    @GetMapping("/{id}/notes")
+    public ResponseEntity<CursorPage<NoteSummaryView, String>> getNotes(@PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        return noteService.findUserPage(id, after, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/users/{id}/stats
+     * 
+     * Número de notas y fecha de la más reciente de un usuario, sin contar
+     * ni cargar sus notas (ver UserNoteStatsService).
+     * 
+     * @param id ID del usuario.
+     * @return Estadísticas del usuario, 404 si no existe.
+     */
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserNoteStatsView> getStats(@PathVariable Long id) {
+        return noteStats.find(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/users/stats?ids={id},{id}... | ?after={id}&limit={n}
+     * 
+     * Estadísticas de varios usuarios: los indicados en ids (en ese orden,
+     * los inexistentes se omiten) o, sin ids, una página por cursor de todos.
+     * 
+     * @param ids   IDs de los usuarios (máx. BaseModelService.MAX_PAGE_SIZE).
+     * @param after cursor devuelto en `next` por la página anterior.
+     * @param limit tamaño de página solicitado.
+     * @return Página de estadísticas (next = null con ids).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CursorPage<UserNoteStatsView, Long>> getAllStats(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+
+        // ? Página por cursor de todos los usuarios
+        if (ids == null) {
+            return ResponseEntity.ok(noteStats.findPage(after, limit));
+        }
+
+        // ? Demasiados IDs
+        if (ids.size() > BaseModelService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "No se pueden pedir más de " + BaseModelService.MAX_PAGE_SIZE + " usuarios por petición.");
+        }
+
+        return ResponseEntity.ok(new CursorPage<>(noteStats.findAll(ids), null, ids.size()));
     }
 
     /**
@@ -56,6 +149,10 @@ public class UserController extends BaseController<User, Long, UserService> {
      * @Valid: Indica que el campo debe ser validado.
      * @User: Entidad que representa un usuario.
      * @UserDetails: Entidad que representa los detalles de un usuario.
+     * 
+     * 🧠 Los detalles y las notas llegan sin usuario (es el mismo del payload);
+     * los setters lo asignan al deserializar para que la validación en cascada
+     * no rechace su @NotNull user.
      */
     @Data
     public static class UserWithDetailsPayload {
@@ -69,6 +166,41 @@ public class UserController extends BaseController<User, Long, UserService> {
 
         @Valid
         private List<Note> notes;
+
+        public void setUser(User user) {
+            this.user = user;
+            linkOwner();
+        }
+
+        public void setUserDetails(UserDetails userDetails) {
+            this.userDetails = userDetails;
+            linkOwner();
+        }
+
+        public void setNotes(List<Note> notes) {
+            this.notes = notes;
+            linkOwner();
+        }
+
+        /**
+         * Asigna el usuario del payload a sus detalles y notas (los campos
+         * llegan en cualquier orden).
+         */
+        private void linkOwner() {
+            if (user == null) {
+                return;
+            }
+            if (userDetails != null) {
+                userDetails.setUser(user);
+            }
+            if (notes != null) {
+                for (Note note : notes) {
+                    if (note != null) {
+                        note.setUser(user);
+                    }
+                }
+            }
+        }
     }
 
 }
@@ -0,0 +1,59 @@
+package com.astralz.project_notes_back.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 📦 BatchItemResult
+ *
+ * Resultado de un elemento dentro de una operación por lotes.
+ *
+ * @JsonInclude(NON_NULL): Omite id o errors cuando no aplican.
+ *
+ * @index: Posición del elemento en el arreglo recibido.
+ * @status: Resultado del elemento.
+ * @id: ID asignado (solo si se creó).
+ * @errors: Errores por campo (solo si no se creó).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, Status status, Long id, Map<String, String> errors) {
+
+    /**
+     * Estados posibles de un elemento.
+     *
+     * @CREATED: Se guardó correctamente.
+     * @INVALID: No pasó las validaciones.
+     * @DUPLICATE: Choca con una restricción única (p. ej. título repetido).
+     * @FAILED: La base de datos rechazó el elemento.
+     */
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        FAILED
+    }
+
+    /**
+     * Elemento creado.
+     *
+     * @param index Posición del elemento.
+     * @param id    ID asignado.
+     * @return Resultado CREATED.
+     */
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    /**
+     * Elemento rechazado.
+     *
+     * @param index  Posición del elemento.
+     * @param status Motivo del rechazo.
+     * @param errors Errores por campo.
+     * @return Resultado con el motivo del rechazo.
+     */
+    public static BatchItemResult rejected(int index, Status status, Map<String, String> errors) {
+        return new BatchItemResult(index, status, null, errors);
+    }
+}
@@ -0,0 +1,28 @@
+package com.astralz.project_notes_back.dto;
+
+import java.util.List;
+
+/**
+ * 📦 BatchResult
+ *
+ * Resumen de una operación por lotes.
+ *
+ * @created: Elementos guardados.
+ * @rejected: Elementos rechazados.
+ * @items: Resultado de cada elemento, en el orden recibido.
+ */
+public record BatchResult(int created, int rejected, List<BatchItemResult> items) {
+
+    /**
+     * Construye el resumen contando los elementos creados.
+     *
+     * @param items Resultado de cada elemento.
+     * @return Resumen de la operación.
+     */
+    public static BatchResult of(List<BatchItemResult> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == BatchItemResult.Status.CREATED)
+                .count();
+        return new BatchResult(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,16 @@
+package com.astralz.project_notes_back.dto;
+
+/**
+ * 📦 CacheStatsView
+ *
+ * Contadores de una caché de vistas.
+ *
+ * @name: Nombre de la caché (tipo de entidad).
+ * @size: Entradas actuales (aproximado).
+ * @hits: Lecturas servidas desde la caché.
+ * @misses: Lecturas que fueron a la base de datos.
+ * @hitRate: hits / (hits + misses).
+ * @evictions: Entradas desalojadas por tamaño o por tiempo.
+ */
+public record CacheStatsView(String name, long size, long hits, long misses, double hitRate, long evictions) {
+}
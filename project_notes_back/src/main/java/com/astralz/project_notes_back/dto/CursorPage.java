@@ -0,0 +1,19 @@
+package com.astralz.project_notes_back.dto;
+
+import java.util.List;
+
+/**
+ * 📦 CursorPage
+ *
+ * Página de resultados paginada por cursor.
+ *
+ * @items: Elementos de la página.
+ * @next: Cursor para pedir la siguiente página (?after=next), null si es la
+ *        última.
+ * @limit: Tamaño de página aplicado por el servidor.
+ *
+ * @T: Tipo de los elementos.
+ * @ID: Tipo del cursor (identificador).
+ */
+public record CursorPage<T, ID>(List<T> items, ID next, int limit) {
+}
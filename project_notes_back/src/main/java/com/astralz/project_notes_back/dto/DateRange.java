@@ -0,0 +1,46 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 📦 DateRange
+ *
+ * Rango de fechas de creación de notas (?from=&to=), ambos extremos
+ * incluidos.
+ *
+ * @from: Primer día del rango.
+ * @to: Último día del rango.
+ */
+public record DateRange(LocalDate from, LocalDate to) {
+
+    /**
+     * Fecha mínima de una columna DATE de MySQL (rango sin inicio).
+     */
+    public static final LocalDate MIN = LocalDate.of(1000, 1, 1);
+
+    /**
+     * Fecha máxima de una columna DATE de MySQL (rango sin final).
+     */
+    public static final LocalDate MAX = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Rango de los parámetros de una petición.
+     *
+     * @param from Primer día (null = sin inicio).
+     * @param to   Último día (null = sin final).
+     * @return Rango con los extremos que falten completados.
+     * @throws ResponseStatusException 400 si from es posterior a to.
+     */
+    public static DateRange of(LocalDate from, LocalDate to) {
+        DateRange range = new DateRange(from != null ? from : MIN, to != null ? to : MAX);
+
+        // ! Error: rango invertido
+        if (range.from().isAfter(range.to())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from no puede ser posterior a to.");
+        }
+        return range;
+    }
+}
@@ -0,0 +1,11 @@
+package com.astralz.project_notes_back.dto;
+
+/**
+ * 📦 DeleteResult
+ *
+ * Resumen de una eliminación masiva.
+ *
+ * @deleted: Filas eliminadas (los IDs inexistentes no cuentan).
+ */
+public record DeleteResult(int deleted) {
+}
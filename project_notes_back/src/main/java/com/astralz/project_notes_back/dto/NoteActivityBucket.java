@@ -0,0 +1,15 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 📦 NoteActivityBucket
+ *
+ * Intervalo de un histograma de actividad: notas creadas entre start y el
+ * inicio del siguiente intervalo (día, semana o mes).
+ *
+ * @start: Primer día del intervalo.
+ * @notes: Notas creadas en el intervalo.
+ */
+public record NoteActivityBucket(LocalDate start, long notes) {
+}
@@ -0,0 +1,46 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+import com.astralz.project_notes_back.models.Note;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 📦 NoteExpandedView
+ *
+ * Vista de una nota con las relaciones pedidas en ?expand= (los mismos
+ * campos que NoteView más user). Las relaciones no pedidas no aparecen en
+ * el JSON.
+ *
+ * @user: Dueño de la nota (?expand=user, con sus detalles si
+ *        ?expand=user.details).
+ */
+public record NoteExpandedView(Long id, String title, String content, LocalDate creationDate, Long userId,
+        String username, Long version,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UserExpandedView user) implements IIdentifiable<Long> {
+
+    /**
+     * Crea la vista a partir de una nota ya cargada con su dueño.
+     *
+     * @param note    Nota (con su usuario cargado).
+     * @param user    Incluir el usuario.
+     * @param details Incluir los detalles del usuario.
+     * @return Vista de la nota.
+     */
+    public static NoteExpandedView from(Note note, boolean user, boolean details) {
+        return new NoteExpandedView(note.getId(), note.getTitle(), note.getContent(), note.getCreationDate(),
+                note.getUser().getId(), note.getUser().getUsername(), note.getVersion(),
+                user ? UserExpandedView.from(note.getUser(), details, null) : null);
+    }
+
+    /**
+     * Identificador de la nota (contrato IIdentifiable).
+     *
+     * @return Identificador de la nota.
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,18 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 📦 NoteExportRow
+ *
+ * Línea de la exportación NDJSON de notas. Solo lleva el ID del usuario
+ * para no serializar el grafo completo de la entidad.
+ *
+ * @id: Identificador de la nota.
+ * @title: Título de la nota.
+ * @content: Contenido de la nota.
+ * @creationDate: Fecha de creación de la nota.
+ * @userId: Identificador del usuario dueño de la nota.
+ */
+public record NoteExportRow(Long id, String title, String content, LocalDate creationDate, Long userId) {
+}
@@ -0,0 +1,39 @@
+package com.astralz.project_notes_back.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 📦 NotePatch
+ *
+ * Cambios parciales de una nota (PATCH /api/notes/{id}). Los campos nulos
+ * no se tocan; los presentes siguen las mismas reglas que en Note.
+ *
+ * @Size: Misma longitud que en Note (solo si el campo viene).
+ * @Pattern: Si viene, no puede estar en blanco.
+ *
+ * @title: Nuevo título (null = sin cambios).
+ * @content: Nuevo contenido (null = sin cambios).
+ * @version: Versión que leyó el cliente (null = sin comprobar). Si coincide,
+ *           la nota pasa a version + 1; si no, 409.
+ */
+public record NotePatch(
+        @Size(min = 3, max = 120, message = "El título debe tener entre 3 y 120 caracteres.")
+        @Pattern(regexp = "(?s).*\\S.*", message = "El título es obligatorio.")
+        String title,
+
+        @Size(min = 3, max = 2400, message = "El contenido debe tener entre 3 y 2400 caracteres.")
+        @Pattern(regexp = "(?s).*\\S.*", message = "El contenido es obligatorio.")
+        String content,
+
+        Long version) {
+
+    /**
+     * Indica si el cambio no toca ninguna columna (la versión no cuenta).
+     *
+     * @return true si no viene ningún campo.
+     */
+    public boolean isEmpty() {
+        return title == null && content == null;
+    }
+}
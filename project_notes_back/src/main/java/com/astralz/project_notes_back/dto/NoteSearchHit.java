@@ -0,0 +1,13 @@
+package com.astralz.project_notes_back.dto;
+
+/**
+ * 📦 NoteSearchHit
+ *
+ * Resultado de una búsqueda de notas, ordenado por relevancia.
+ *
+ * @id: Identificador de la nota.
+ * @title: Título de la nota.
+ * @score: Relevancia (BM25, el título pesa el doble que el contenido).
+ */
+public record NoteSearchHit(Long id, String title, float score) {
+}
@@ -0,0 +1,34 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+
+/**
+ * 📦 NoteSummaryView
+ *
+ * Resumen de una nota para los listados. Se arma en la consulta (select new
+ * ...) sin leer la columna TEXT del contenido ni unir al usuario.
+ *
+ * @id: Identificador de la nota.
+ * @title: Título de la nota.
+ * @creationDate: Fecha de creación de la nota.
+ * @userId: Identificador del usuario dueño de la nota.
+ * @preview: Vista previa del contenido (ver Note.previewOf; null en notas
+ *           guardadas antes de existir la columna).
+ * @version: Versión de la nota (se envía en PUT o PATCH para detectar
+ *           conflictos).
+ */
+public record NoteSummaryView(Long id, String title, LocalDate creationDate, Long userId, String preview,
+        Long version) implements IIdentifiable<Long> {
+
+    /**
+     * Identificador de la nota (contrato IIdentifiable).
+     *
+     * @return Identificador de la nota.
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,34 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+
+/**
+ * 📦 NoteView
+ *
+ * Proyección de lectura de una nota. Se arma directamente en la consulta
+ * (select new ...) con un solo JOIN al usuario, sin cargar entidades.
+ *
+ * @id: Identificador de la nota.
+ * @title: Título de la nota.
+ * @content: Contenido de la nota.
+ * @creationDate: Fecha de creación de la nota.
+ * @userId: Identificador del usuario dueño de la nota.
+ * @username: Nombre de usuario del dueño de la nota.
+ * @version: Versión de la nota (se envía en PUT o PATCH para detectar
+ *           conflictos).
+ */
+public record NoteView(Long id, String title, String content, LocalDate creationDate, Long userId,
+        String username, Long version) implements IIdentifiable<Long> {
+
+    /**
+     * Identificador de la nota (contrato IIdentifiable).
+     *
+     * @return Identificador de la nota.
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
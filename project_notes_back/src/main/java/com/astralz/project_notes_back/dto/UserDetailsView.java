@@ -0,0 +1,33 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+import com.astralz.project_notes_back.models.UserDetails;
+
+/**
+ * 📦 UserDetailsView
+ *
+ * Proyección de lectura de los detalles de un usuario (?expand=details).
+ *
+ * @id: Identificador de los detalles.
+ * @phoneNumber: Número de teléfono.
+ * @birthDate: Fecha de nacimiento.
+ * @address: Dirección.
+ * @version: Versión de los detalles.
+ */
+public record UserDetailsView(Long id, String phoneNumber, LocalDate birthDate, String address, Long version) {
+
+    /**
+     * Crea la vista a partir de los detalles ya cargados.
+     *
+     * @param details Detalles del usuario (null = sin detalles).
+     * @return Vista de los detalles, null si no hay.
+     */
+    public static UserDetailsView from(UserDetails details) {
+        if (details == null) {
+            return null;
+        }
+        return new UserDetailsView(details.getId(), details.getPhoneNumber(), details.getBirthDate(),
+                details.getAddress(), details.getVersion());
+    }
+}
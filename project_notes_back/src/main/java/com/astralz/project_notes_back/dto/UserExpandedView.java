@@ -0,0 +1,48 @@
+package com.astralz.project_notes_back.dto;
+
+import java.util.List;
+
+import com.astralz.project_notes_back.enums.Role;
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+import com.astralz.project_notes_back.models.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 📦 UserExpandedView
+ *
+ * Vista de un usuario con las relaciones pedidas en ?expand= (los mismos
+ * campos que UserView más details y notes). Las relaciones no pedidas no
+ * aparecen en el JSON.
+ *
+ * @details: Detalles del usuario (?expand=details).
+ * @notes: Notas del usuario ordenadas por ID (?expand=notes).
+ */
+public record UserExpandedView(Long id, String username, String email, Role role, String firstName,
+        String lastName, Long version,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UserDetailsView details,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<NoteView> notes) implements IIdentifiable<Long> {
+
+    /**
+     * Crea la vista a partir de un usuario ya cargado.
+     *
+     * @param user    Usuario (con las relaciones pedidas ya cargadas).
+     * @param details Incluir los detalles.
+     * @param notes   Notas a incluir (null = no se pidieron).
+     * @return Vista del usuario.
+     */
+    public static UserExpandedView from(User user, boolean details, List<NoteView> notes) {
+        return new UserExpandedView(user.getId(), user.getUsername(), user.getEmail(), user.getRole(),
+                user.getFirstName(), user.getLastName(), user.getVersion(),
+                details ? UserDetailsView.from(user.getUserDetails()) : null, notes);
+    }
+
+    /**
+     * Identificador del usuario (contrato IIdentifiable).
+     *
+     * @return Identificador del usuario.
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 📦 UserNoteCount
+ *
+ * Notas de un usuario creadas un mismo día dentro de un conjunto (p. ej. las
+ * que se van a eliminar), para descontarlas de sus estadísticas.
+ *
+ * @userId: Identificador del usuario.
+ * @date: Fecha de creación de las notas.
+ * @count: Número de notas.
+ */
+public record UserNoteCount(Long userId, LocalDate date, long count) {
+}
@@ -0,0 +1,15 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 📦 UserNoteStatsView
+ *
+ * Estadísticas de las notas de un usuario (GET /api/users/{id}/stats).
+ *
+ * @userId: Identificador del usuario.
+ * @noteCount: Número de notas del usuario.
+ * @latestNoteDate: Fecha de creación de su nota más reciente (null = sin notas).
+ */
+public record UserNoteStatsView(Long userId, long noteCount, LocalDate latestNoteDate) {
+}
@@ -0,0 +1,32 @@
+package com.astralz.project_notes_back.dto;
+
+import com.astralz.project_notes_back.enums.Role;
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+
+/**
+ * 📦 UserView
+ *
+ * Proyección de lectura de un usuario. Solo columnas de la tabla users: no
+ * expone la contraseña ni recorre los detalles o las notas.
+ *
+ * @id: Identificador del usuario.
+ * @username: Nombre de usuario.
+ * @email: Email del usuario.
+ * @role: Rol del usuario.
+ * @firstName: Nombre del usuario.
+ * @lastName: Apellido(s) del usuario.
+ * @version: Versión del usuario (se envía en PUT para detectar conflictos).
+ */
+public record UserView(Long id, String username, String email, Role role, String firstName,
+        String lastName, Long version) implements IIdentifiable<Long> {
+
+    /**
+     * Identificador del usuario (contrato IIdentifiable).
+     *
+     * @return Identificador del usuario.
+     */
+    @Override
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,17 @@
+package com.astralz.project_notes_back.dto;
+
+import java.time.Instant;
+
+/**
+ * 📦 ViewVersion
+ *
+ * Versión de una vista: su ID y la última modificación de los datos que la
+ * componen. Se lee sin cargar la vista para calcular ETags.
+ *
+ * @id: Identificador de la entidad.
+ * @updatedAt: Última modificación de la vista (null si se desconoce).
+ *
+ * @ID: Tipo del identificador.
+ */
+public record ViewVersion<ID>(ID id, Instant updatedAt) {
+}
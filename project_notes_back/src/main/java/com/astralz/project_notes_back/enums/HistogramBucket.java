@@ -0,0 +1,29 @@
+package com.astralz.project_notes_back.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Enumerado que representa el tamaño de los intervalos de un histograma de
+ * actividad (GET /api/notes/histogram?bucket=day|week|month).
+ */
+public enum HistogramBucket {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Primer día del intervalo que contiene una fecha (las semanas empiezan
+     * el lunes, como en ISO 8601).
+     *
+     * @param date Fecha.
+     * @return Inicio de su intervalo.
+     */
+    public LocalDate start(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
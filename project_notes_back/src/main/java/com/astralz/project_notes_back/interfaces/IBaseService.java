@@ -3,21 +3,60 @@ package com.astralz.project_notes_back.interfaces;
 import java.util.List;
 import java.util.Optional;
 
+import com.astralz.project_notes_back.dto.CursorPage;
+
 /**
  * 📦 IBaseService
  * 
  * @M: Tipo de entidad que maneja la lógica de negocio.
+ * @V: Tipo de vista (proyección) que se expone en las lecturas.
  * @ID: Tipo de identificador de la entidad.
  */
-public interface IBaseService<M, ID> {
+public interface IBaseService<M extends IIdentifiable<ID>, V extends IIdentifiable<ID>, ID> {
 
     /**
      * Obtiene todas las M.
      * 
+     * ⚠️ Carga la tabla completa en memoria, usar findPage para exponer datos.
+     * 
      * @return Lista de M.
      */
     public abstract List<M> findAll();
 
+    /**
+     * Obtiene una página de vistas ordenada por ID (paginación por cursor).
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return Página de vistas con el cursor de la siguiente.
+     */
+    public abstract CursorPage<V, ID> findPage(ID after, Integer limit);
+
+    /**
+     * Obtiene la vista de una M por su ID.
+     * 
+     * @param id ID de la M.
+     * @return Vista encontrada.
+     */
+    public abstract Optional<V> findViewById(ID id);
+
+    /**
+     * Obtiene el ETag de la vista de una M sin cargarla.
+     * 
+     * @param id ID de la M.
+     * @return ETag, vacío si la M no existe.
+     */
+    public abstract Optional<String> findETag(ID id);
+
+    /**
+     * Obtiene el ETag de una página de vistas sin cargarla.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return ETag de la página.
+     */
+    public abstract String findPageETag(ID after, Integer limit);
+
     /**
      * Obtiene una nota por su ID.
      * 
@@ -0,0 +1,21 @@
+package com.astralz.project_notes_back.interfaces;
+
+/**
+ * 📦 IIdentifiable
+ *
+ * Contrato mínimo de cualquier elemento con identificador (entidades y
+ * vistas). Permite construir el cursor de paginación sin conocer el tipo
+ * concreto.
+ *
+ * @ID: Tipo de identificador.
+ */
+public interface IIdentifiable<ID> {
+
+    /**
+     * Obtiene el identificador.
+     *
+     * @return Identificador del elemento.
+     */
+    public abstract ID getId();
+
+}
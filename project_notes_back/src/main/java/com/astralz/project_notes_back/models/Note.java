@@ -1,6 +1,11 @@
 package com.astralz.project_notes_back.models;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,7 +14,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.regex.Pattern;
 
 /**
  * Entidad Note que representa una nota en la base de datos.
@@ -18,6 +25,10 @@ import java.time.LocalDate;
  * @Table: Mapea esta clase a la tabla 'notes' en la base de datos.
  * @UniqueConstraint: Indica que el campo title debe ser único.
  * 
+ * ⚠️ El esquema lo crean las migraciones (db/migration), no estas
+ * anotaciones: un cambio aquí necesita su V<n>__*.sql. Índices:
+ * IX_users_notes_user_creation (user_id, creation_date, id).
+ * 
  *                    Lombok:
  * @Data: Genera getters, setters, toString, equals y hashCode.
  * @NoArgsConstructor: Genera constructor vacío.
@@ -30,18 +41,37 @@ import java.time.LocalDate;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Note {
+public class Note implements IIdentifiable<Long> {
+
+    /**
+     * Longitud máxima de la vista previa (incluido el "…" final).
+     */
+    public static final int PREVIEW_LENGTH = 160;
+
+    /**
+     * Espacios y saltos de línea seguidos (se colapsan en la vista previa).
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     /**
      * Identificador único de la nota.
      * Se genera automáticamente.
      * 
      * @Id: Indica que este campo es la clave primaria de la entidad.
-     * @GeneratedValue(strategy = GenerationType.IDENTITY): Genera el valor
-     *                          automáticamente.
+     * @GeneratedValue(strategy = GenerationType.SEQUENCE): Genera el valor
+     *                          automáticamente desde una secuencia.
+     * @SequenceGenerator(allocationSize = 50): Reserva 50 IDs por consulta
+     *                    (optimizador pooled), así Hibernate conoce el ID antes
+     *                    del INSERT y puede agruparlos en lotes JDBC.
+     *                    ⚠️ Con IDENTITY el ID lo genera el propio INSERT:
+     *                    Hibernate tiene que ejecutarlo en el momento para
+     *                    conocerlo y no puede agrupar inserciones (igual en
+     *                    User y UserDetails).
+     *                    En MySQL (sin secuencias) se emula con la tabla users_notes_seq.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_notes_seq")
+    @SequenceGenerator(name = "users_notes_seq", sequenceName = "users_notes_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -71,6 +101,20 @@ public class Note {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    /**
+     * Vista previa del contenido (primeros PREVIEW_LENGTH caracteres, con los
+     * espacios y saltos de línea colapsados).
+     * 
+     * Se calcula al escribir la nota (previewOf) para que los listados de
+     * resúmenes no lean la columna TEXT.
+     * 
+     * @JsonIgnore: Dato derivado; no se recibe del cliente ni se repite en
+     *              las respuestas que ya traen el contenido.
+     */
+    @JsonIgnore
+    @Column(length = PREVIEW_LENGTH)
+    private String preview;
+
     /**
      * Fecha de creación de la nota (solo fecha, sin hora).
      * 
@@ -81,6 +125,28 @@ public class Note {
     @Column(updatable = false)
     private LocalDate creationDate;
 
+    /**
+     * Fecha y hora de la última modificación (el alta también cuenta).
+     * 
+     * @UpdateTimestamp: Hibernate la asigna en cada INSERT y UPDATE.
+     * @JsonIgnore: Dato interno; las lecturas lo exponen como ETag.
+     */
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+
+    /**
+     * Versión de la fila (control de concurrencia optimista).
+     * 
+     * @Version: Hibernate la incrementa en cada UPDATE y lo condiciona a la
+     *           versión leída; si otro cliente escribió antes no se afecta
+     *           ninguna fila y se responde 409 (sin bloquear la fila).
+     * 
+     * Los clientes la envían en PUT y PATCH para no pisar cambios ajenos.
+     */
+    @Version
+    private Long version;
+
     /**
      * 1:N relación con User [1:N = 1 nota pertenece a 1 usuario]
      * 
@@ -93,4 +159,43 @@ public class Note {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * Recalcula la vista previa antes de cada INSERT y UPDATE de la entidad
+     * (los UPDATE masivos la calculan con previewOf).
+     * 
+     * @PrePersist / @PreUpdate: Hibernate lo llama antes de escribir la fila.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePreview() {
+        preview = previewOf(content);
+    }
+
+    /**
+     * Vista previa de un contenido: espacios y saltos de línea colapsados y
+     * recortado a PREVIEW_LENGTH caracteres (con "…" si se recorta).
+     * 
+     * @param content Contenido de la nota.
+     * @return Vista previa (null si el contenido es null).
+     */
+    public static String previewOf(String content) {
+        if (content == null) {
+            return null;
+        }
+
+        String text = WHITESPACE.matcher(content.strip()).replaceAll(" ");
+
+        // ? Cabe entero
+        if (text.length() <= PREVIEW_LENGTH) {
+            return text;
+        }
+
+        // ? No se corta un par sustituto (emoji) por la mitad
+        int end = PREVIEW_LENGTH - 1;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end).stripTrailing() + "…";
+    }
+
 }
@@ -1,8 +1,13 @@
 package com.astralz.project_notes_back.models;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.astralz.project_notes_back.enums.Role;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -10,7 +15,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Entidad Note que representa una nota en la base de datos.
@@ -31,18 +38,22 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class User {
+public class User implements IIdentifiable<Long> {
 
     /**
      * Identificador único de la nota.
      * Se genera automáticamente.
      * 
      * @Id: Indica que este campo es la clave primaria de la entidad.
-     * @GeneratedValue(strategy = GenerationType.IDENTITY): Genera el valor
-     *                          automáticamente.
+     * @GeneratedValue(strategy = GenerationType.SEQUENCE): Genera el valor
+     *                          automáticamente desde una secuencia.
+     * @SequenceGenerator(allocationSize = 50): Reserva 50 IDs por consulta
+     *                    para insertar en lotes JDBC (ver Note.id).
+     *                    En MySQL (sin secuencias) se emula con la tabla users_seq.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -124,6 +135,28 @@ public class User {
     @Column(nullable = false, length = 120)
     private String lastName;
 
+    /**
+     * Fecha y hora de la última modificación (el alta también cuenta).
+     * 
+     * @UpdateTimestamp: Hibernate la asigna en cada INSERT y UPDATE.
+     * @JsonIgnore: Dato interno; las lecturas lo exponen como ETag.
+     */
+    @UpdateTimestamp
+    @JsonIgnore
+    private Instant updatedAt;
+
+    /**
+     * Versión de la fila (control de concurrencia optimista).
+     * 
+     * @Version: Hibernate la incrementa en cada UPDATE y lo condiciona a la
+     *           versión leída; si otro cliente escribió antes no se afecta
+     *           ninguna fila y se responde 409 (sin bloquear la fila).
+     * 
+     * Los clientes la envían en PUT para no pisar cambios ajenos.
+     */
+    @Version
+    private Long version;
+
     /**
      * Relación 1:1 con el usuario. [1:1 = 1 usuario puede tener un solo detalle]
      * 
@@ -131,8 +164,12 @@ public class User {
      * @mappedBy: Indica que esta relación es de uno a uno.
      * @CascadeType.ALL: Indica que se debe eliminar o actualizar todos los
      *                   detalles cuando se elimina el usuario.
+     * @ToString.Exclude / @EqualsAndHashCode.Exclude: Evitan recorrer el ciclo
+     *                   usuario -> detalles -> usuario.
      */
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private UserDetails userDetails;
 
     /**
@@ -145,7 +182,13 @@ public class User {
      *                   elimina el usuario.
      * @orphanRemoval: Indica que se debe eliminar las notas cuando se elimina el
      *                 usuario.
+     * @JsonIgnore: No se serializa; las notas de un usuario se leen paginadas.
+     * @ToString.Exclude / @EqualsAndHashCode.Exclude: Evitan recorrer el ciclo
+     *                   usuario -> notas -> usuario.
      */
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Note> notes;
 }
@@ -2,6 +2,8 @@ package com.astralz.project_notes_back.models;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,8 +12,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -34,11 +38,15 @@ public class UserDetails {
      * Se genera automáticamente.
      * 
      * @Id: Indica que este campo es la clave primaria de la entidad.
-     * @GeneratedValue(strategy = GenerationType.IDENTITY): Genera el valor
-     *                          automáticamente.
+     * @GeneratedValue(strategy = GenerationType.SEQUENCE): Genera el valor
+     *                          automáticamente desde una secuencia.
+     * @SequenceGenerator(allocationSize = 50): Reserva 50 IDs por consulta
+     *                    para insertar en lotes JDBC (ver Note.id).
+     *                    En MySQL (sin secuencias) se emula con la tabla users_details_seq.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_details_seq")
+    @SequenceGenerator(name = "users_details_seq", sequenceName = "users_details_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -76,6 +84,18 @@ public class UserDetails {
     @Column(nullable = true, length = 120)
     private String address;
 
+    /**
+     * Versión de la fila (control de concurrencia optimista).
+     * 
+     * @Version: Hibernate la incrementa en cada UPDATE y lo condiciona a la
+     *           versión leída; si otro cliente escribió antes no se afecta
+     *           ninguna fila y se responde 409 (sin bloquear la fila).
+     * 
+     * Protege las escrituras que pasan por JPA (merge) de los detalles.
+     */
+    @Version
+    private Long version;
+
     /**
      * Relación 1:1 con el usuario. [1:1 = 1 usuario puede tener un solo detalle]
      * 
@@ -86,8 +106,10 @@ public class UserDetails {
      *                   detalles cuando se elimina el usuario.
      * @orphanRemoval: Indica que se debe eliminar los detalles cuando se elimina
      *                 el usuario.
+     * @JsonIgnore: No se serializa, el usuario ya contiene a sus detalles.
      */
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
     @NotNull(message = "Estos detalles no tienen un usuario asignado.")
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
@@ -0,0 +1,72 @@
+package com.astralz.project_notes_back.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad UserNoteDay: notas creadas por un usuario en un día, calculadas de
+ * antemano (una fila por usuario y día con notas).
+ *
+ * @Entity: Declara que esta clase es una entidad JPA.
+ * @Table: Mapea esta clase a la tabla 'users_note_days' en la base de datos.
+ * @IdClass: Clave primaria compuesta (user_id, note_date).
+ *
+ * 🧠 Se mantiene junto con UserNoteStats (UserNoteStatsService): los
+ * histogramas de actividad leen estas filas en lugar de agrupar las notas,
+ * así su costo depende de los días del rango y no del número de notas.
+ *
+ * ⚠️ Sin clave foránea hacia users, igual que UserNoteStats.
+ *
+ *                    Lombok:
+ * @Data: Genera getters, setters, toString, equals y hashCode.
+ * @NoArgsConstructor: Genera constructor vacío.
+ * @AllArgsConstructor: Genera constructor con todos los campos.
+ */
+@Entity
+@Table(name = "users_note_days")
+@IdClass(UserNoteDay.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserNoteDay {
+
+    /**
+     * ID del usuario.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Fecha de creación de las notas.
+     */
+    @Id
+    @Column(name = "note_date")
+    private LocalDate noteDate;
+
+    /**
+     * Notas del usuario creadas ese día.
+     */
+    @Column(nullable = false)
+    private long noteCount;
+
+    /**
+     * Clave primaria de UserNoteDay.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate noteDate;
+    }
+}
@@ -0,0 +1,57 @@
+package com.astralz.project_notes_back.models;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad UserNoteStats: estadísticas de las notas de un usuario, calculadas
+ * de antemano (una fila por usuario).
+ *
+ * @Entity: Declara que esta clase es una entidad JPA.
+ * @Table: Mapea esta clase a la tabla 'users_note_stats' en la base de datos.
+ *
+ * 🧠 Se mantiene al escribir (UserNoteStatsService): cada alta o baja de
+ * notas suma o resta en la misma transacción, así leerla es una búsqueda por
+ * clave primaria en lugar de un COUNT(*) o de cargar User.notes.
+ *
+ * ⚠️ Sin clave foránea hacia users: la fila se crea y se borra junto con el
+ * usuario, y la reconciliación periódica elimina las huérfanas.
+ *
+ *                    Lombok:
+ * @Data: Genera getters, setters, toString, equals y hashCode.
+ * @NoArgsConstructor: Genera constructor vacío.
+ * @AllArgsConstructor: Genera constructor con todos los campos.
+ */
+@Entity
+@Table(name = "users_note_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserNoteStats {
+
+    /**
+     * ID del usuario (clave primaria, asignada: es la del usuario).
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Número de notas del usuario.
+     */
+    @Column(nullable = false)
+    private long noteCount;
+
+    /**
+     * Fecha de creación de la nota más reciente (null = sin notas).
+     */
+    private LocalDate latestNoteDate;
+
+}
@@ -0,0 +1,54 @@
+package com.astralz.project_notes_back.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 📦 BaseRepository
+ *
+ * @NoRepositoryBean: Indica que Spring Data no debe crear una instancia de
+ *                    esta interfaz (solo de las que la extienden).
+ * @JpaRepository: Extiende JpaRepository con las consultas comunes a todas
+ *                 las entidades.
+ * @M: Tipo de entidad.
+ * @ID: Tipo de identificador de la entidad.
+ */
+@NoRepositoryBean
+public interface BaseRepository<M, ID> extends JpaRepository<M, ID> {
+
+    /**
+     * Versión actual de una M (columna @Version), sin cargarla.
+     * 
+     * Tras un UPDATE condicionado que no afectó filas distingue "no existe"
+     * (vacío) de "otro cliente la cambió" (versión actual).
+     * 
+     * @param id ID de la M.
+     * @return Versión actual, vacío si la M no existe.
+     */
+    @Query("select e.version from #{#entityName} e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") ID id);
+
+    /**
+     * Elimina una M por su ID en una sola sentencia, sin cargarla antes
+     * (deleteById de JpaRepository la lee para luego borrarla).
+     *
+     * @Modifying: Sentencia DELETE (devuelve las filas afectadas).
+     * @Transactional: Las consultas declaradas no tienen transacción propia.
+     * #{#entityName}: Spring Data lo reemplaza por la entidad de cada repositorio.
+     *
+     * ⚠️ No aplica cascadas de JPA: las filas hijas deben borrarse antes.
+     *
+     * @param id ID de la M.
+     * @return Filas afectadas (0 = la M no existe).
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from #{#entityName} e where e.id = :id")
+    int deleteRowById(@Param("id") ID id);
+}
@@ -1,19 +1,43 @@
 package com.astralz.project_notes_back.repositories;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.astralz.project_notes_back.dto.NoteExportRow;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.dto.UserNoteCount;
+import com.astralz.project_notes_back.dto.ViewVersion;
 import com.astralz.project_notes_back.models.Note;
-import org.springframework.data.jpa.repository.JpaRepository;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * 📦 NoteRepository
  * 
  * @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
- * @JpaRepository: Extiende JpaRepository para manejar la persistencia de datos de las notas.
+ * @BaseRepository: Extiende BaseRepository (JpaRepository + paginación por cursor)
+ *                  para manejar la persistencia de datos de las notas.
  * @Note: Entidad que representa una nota.
  * @Long: Tipo de dato del identificador de la nota.
  * 
  * Repositorio de acceso a datos (DAO) para la entidad {@link Note}.
- * Esta interfaz extiende {@link JpaRepository}, lo que le proporciona:
+ * Esta interfaz extiende {@link BaseRepository}, lo que le proporciona:
  * - Métodos CRUD (crear, leer, actualizar, eliminar).
+ * - Paginación por cursor sobre la clave primaria.
  * - Soporte para paginación, ordenamiento y consultas personalizadas.
  * 
  * 🧠 ¿Qué es un repositorio en Spring?
@@ -25,5 +49,290 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * ya que Spring Data JPA detecta automáticamente las interfaces que
  * extienden de JpaRepository.
  */
-public interface NoteRepository extends JpaRepository<Note, Long> {
+public interface NoteRepository extends BaseRepository<Note, Long> {
+
+    /**
+     * Página de vistas de notas posteriores al cursor (paginación por cursor).
+     * 
+     * @Query: Una sola sentencia con JOIN al usuario; no hidrata entidades.
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de vistas ordenadas por ID.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteView(n.id, n.title, n.content, n.creationDate, u.id, u.username, n.version) "
+            + "from Note n join n.user u where n.id > :after order by n.id")
+    List<NoteView> findViewsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Resúmenes de notas (sin el contenido TEXT ni JOIN al usuario).
+     */
+    String SELECT_SUMMARY = "select new com.astralz.project_notes_back.dto.NoteSummaryView("
+            + "n.id, n.title, n.creationDate, n.user.id, n.preview, n.version) ";
+
+    /**
+     * Página de resúmenes de notas posteriores al cursor.
+     * 
+     * @Query: Solo columnas cortas de users_notes (la vista previa en lugar
+     *         del contenido TEXT), sin JOIN al usuario.
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de resúmenes ordenados por ID.
+     */
+    @Query(SELECT_SUMMARY + "from Note n where n.id > :after order by n.id")
+    List<NoteSummaryView> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Página de resúmenes de las notas creadas en un rango de fechas, de la
+     * más reciente a la más antigua (paginación por cursor sobre
+     * (creation_date, id)).
+     * 
+     * @Query: Recorre el índice IX_users_notes_creation (creation_date, id)
+     *         en orden inverso: sin ordenar en memoria. "creationDate <= :date"
+     *         acota el rango del índice; el OR descarta las notas de esa fecha
+     *         que ya se devolvieron.
+     * 
+     * @param from  Primer día del rango.
+     * @param date  Fecha de la última nota de la página anterior (o el último
+     *              día del rango en la primera página).
+     * @param id    ID de la última nota de la página anterior (o
+     *              Long.MAX_VALUE en la primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Resúmenes ordenados por fecha de creación e ID (descendente).
+     */
+    @Query(SELECT_SUMMARY + "from Note n where n.creationDate >= :from and n.creationDate <= :date "
+            + "and (n.creationDate < :date or n.id < :id) order by n.creationDate desc, n.id desc")
+    List<NoteSummaryView> findSummariesBetween(@Param("from") LocalDate from, @Param("date") LocalDate date,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Igual que findSummariesBetween, solo con las notas de un usuario.
+     * 
+     * @Query: Recorre el índice IX_users_notes_user_creation (user_id,
+     *         creation_date, id) en orden inverso.
+     * 
+     * @param userId ID del usuario.
+     * @param from   Primer día del rango.
+     * @param date   Fecha de la última nota de la página anterior (o el último
+     *               día del rango en la primera página).
+     * @param id     ID de la última nota de la página anterior (o
+     *               Long.MAX_VALUE en la primera página).
+     * @param limit  Máximo de filas a leer.
+     * @return Resúmenes ordenados por fecha de creación e ID (descendente).
+     */
+    @Query(SELECT_SUMMARY + "from Note n where n.user.id = :userId and n.creationDate >= :from "
+            + "and n.creationDate <= :date and (n.creationDate < :date or n.id < :id) "
+            + "order by n.creationDate desc, n.id desc")
+    List<NoteSummaryView> findSummariesByUserBetween(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    /**
+     * Vista de una nota por su ID.
+     * 
+     * @param id ID de la nota.
+     * @return Vista de la nota.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteView(n.id, n.title, n.content, n.creationDate, u.id, u.username, n.version) "
+            + "from Note n join n.user u where n.id = :id")
+    Optional<NoteView> findViewById(@Param("id") Long id);
+
+    /**
+     * Última modificación de la vista de una nota: la más reciente entre la
+     * nota y su usuario (la vista incluye el username).
+     */
+    String VIEW_UPDATED_AT = "case when n.updatedAt > u.updatedAt then n.updatedAt else u.updatedAt end";
+
+    /**
+     * Versión de la vista de una nota (para el ETag), sin leer el contenido.
+     * 
+     * @param id ID de la nota.
+     * @return Última modificación de la vista.
+     */
+    @Query("select " + VIEW_UPDATED_AT + " from Note n join n.user u where n.id = :id")
+    Optional<Instant> findViewUpdatedAt(@Param("id") Long id);
+
+    /**
+     * Versiones de la página de vistas posterior al cursor (para el ETag).
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Versiones ordenadas por ID.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.ViewVersion(n.id, " + VIEW_UPDATED_AT + ") "
+            + "from Note n join n.user u where n.id > :after order by n.id")
+    List<ViewVersion<Long>> findViewVersionsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * IDs de las notas de un usuario.
+     * 
+     * @Query: Solo lee el índice de la clave foránea user_id.
+     * 
+     * @param userId ID del usuario.
+     * @return IDs de sus notas.
+     */
+    @Query("select n.id from Note n where n.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Actualiza el título y el contenido (con su vista previa) de una nota en
+     * una sola sentencia, sin leerla antes.
+     * 
+     * @Modifying: Sentencia UPDATE (devuelve las filas afectadas).
+     * @Transactional: Las consultas declaradas no tienen transacción propia.
+     * 
+     * ⚠️ No pasa por @UpdateTimestamp ni @Version: updatedAt se indica y la
+     * versión se incrementa explícitamente.
+     * 
+     * @param id        ID de la nota.
+     * @param version   Versión que leyó el cliente (null = sin comprobar).
+     * @param title     Nuevo título.
+     * @param content   Nuevo contenido.
+     * @param preview   Vista previa del nuevo contenido (Note.previewOf).
+     * @param updatedAt Última modificación.
+     * @return Filas afectadas (0 = la nota no existe o cambió de versión).
+     */
+    @Modifying
+    @Transactional
+    @Query("update Note n set n.title = :title, n.content = :content, n.preview = :preview, "
+            + "n.updatedAt = :updatedAt, n.version = n.version + 1 "
+            + "where n.id = :id and (:version is null or n.version = :version)")
+    int updateContent(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+            @Param("content") String content, @Param("preview") String preview,
+            @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Carga varias notas con su usuario (y los detalles de este) en una sola
+     * consulta, para modificarlas y escribirlas por lotes.
+     * 
+     * @join fetch: Evita una consulta por usuario (y por detalles) al cargar
+     *              las relaciones EAGER.
+     * 
+     * @param ids IDs de las notas.
+     * @return Notas encontradas (los IDs inexistentes se omiten).
+     */
+    @Query("select n from Note n join fetch n.user u left join fetch u.userDetails where n.id in :ids")
+    List<Note> findAllWithOwnerById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Nota con su dueño y los detalles de este (?expand=user), en una
+     * consulta (los detalles se cargan siempre con el usuario, ver
+     * UserRepository.findWithDetailsById).
+     * 
+     * @param id ID de la nota.
+     * @return Nota con su usuario cargado.
+     */
+    @Query("select n from Note n join fetch n.user u left join fetch u.userDetails where n.id = :id")
+    Optional<Note> findWithOwnerById(@Param("id") Long id);
+
+    /**
+     * Página de notas con su dueño posteriores al cursor.
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Notas ordenadas por ID, con su usuario cargado.
+     */
+    @Query("select n from Note n join fetch n.user u left join fetch u.userDetails where n.id > :after order by n.id")
+    List<Note> findWithOwnerAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Vistas de las notas de varios usuarios (?expand=notes en una página de
+     * usuarios: una consulta para toda la página).
+     * 
+     * @param userIds IDs de los usuarios.
+     * @return Vistas ordenadas por ID.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteView(n.id, n.title, n.content, n.creationDate, u.id, u.username, n.version) "
+            + "from Note n join n.user u where u.id in :userIds order by n.id")
+    List<NoteView> findViewsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Notas por usuario y fecha de creación entre las indicadas (para
+     * descontarlas de sus estadísticas antes de eliminarlas).
+     * 
+     * @param ids IDs de las notas.
+     * @return Número de notas de cada usuario y día (vacío si no existen).
+     */
+    @Query("select new com.astralz.project_notes_back.dto.UserNoteCount(n.user.id, n.creationDate, count(n)) "
+            + "from Note n where n.id in :ids group by n.user.id, n.creationDate")
+    List<UserNoteCount> countByUserAndDayIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Elimina varias notas por ID en una sola sentencia, sin cargarlas.
+     * 
+     * @param ids IDs de las notas.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Note n where n.id in :ids")
+    int deleteRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Elimina todas las notas de un usuario en una sola sentencia, sin
+     * cargarlas.
+     * 
+     * @param userId ID del usuario.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Note n where n.user.id = :userId")
+    int deleteRowsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Columnas que usa el índice de búsqueda de una nota.
+     * 
+     * @param id ID de la nota.
+     * @return Fila de la nota.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteExportRow(n.id, n.title, n.content, n.creationDate, u.id) "
+            + "from Note n join n.user u where n.id = :id")
+    Optional<NoteExportRow> findIndexRow(@Param("id") Long id);
+
+    /**
+     * Títulos que ya existen entre los indicados (restricción única de title).
+     * 
+     * @param titles Títulos a comprobar.
+     * @return Títulos ya usados.
+     */
+    @Query("select n.title from Note n where n.title in :titles")
+    Set<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    /**
+     * Filas que el driver JDBC trae por cada viaje a la base de datos al
+     * recorrer streamAllForExport (requiere useCursorFetch=true en MySQL).
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Recorre las líneas de la exportación de todas las notas con un cursor de
+     * solo avance.
+     * 
+     * @Query: Proyección directa a NoteExportRow; n.user.id es la clave
+     *         foránea de la nota, sin JOIN a usuarios ni a sus detalles ni
+     *         entidades que hidratar.
+     * @QueryHints: Tamaño de lectura JDBC.
+     * 
+     * ⚠️ Debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+     * 
+     * @return Stream de filas ordenadas por ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.astralz.project_notes_back.dto.NoteExportRow(n.id, n.title, n.content, n.creationDate, "
+            + "n.user.id) from Note n order by n.id")
+    Stream<NoteExportRow> streamAllForExport();
+
+    /**
+     * Recorre las columnas que usa el índice de búsqueda de todas las notas,
+     * sin hidratar entidades.
+     * 
+     * ⚠️ Debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+     * 
+     * @return Stream de filas ordenadas por ID.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.astralz.project_notes_back.dto.NoteExportRow(n.id, n.title, n.content, n.creationDate, u.id) "
+            + "from Note n join n.user u order by n.id")
+    Stream<NoteExportRow> streamIndexRows();
 }
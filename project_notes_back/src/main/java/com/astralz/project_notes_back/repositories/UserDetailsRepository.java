@@ -1,7 +1,11 @@
 package com.astralz.project_notes_back.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.astralz.project_notes_back.models.UserDetails;
 
@@ -16,4 +20,18 @@ import com.astralz.project_notes_back.models.UserDetails;
  */
 @Repository
 public interface UserDetailsRepository extends JpaRepository<UserDetails, Long> {
+
+    /**
+     * Elimina los detalles de un usuario en una sola sentencia, sin cargarlos.
+     * 
+     * @Modifying: Sentencia DELETE (devuelve las filas afectadas).
+     * @Transactional: Las consultas declaradas no tienen transacción propia.
+     * 
+     * @param userId ID del usuario.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserDetails d where d.user.id = :userId")
+    int deleteRowsByUserId(@Param("userId") Long userId);
 }
@@ -0,0 +1,142 @@
+package com.astralz.project_notes_back.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.astralz.project_notes_back.dto.NoteActivityBucket;
+import com.astralz.project_notes_back.models.UserNoteDay;
+
+/**
+ * 📦 UserNoteDayRepository
+ *
+ * @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
+ * @JpaRepository: Extiende JpaRepository para manejar la persistencia de las
+ *                 notas por usuario y día.
+ * @UserNoteDay: Entidad con las notas de un usuario en un día.
+ * @UserNoteDay.Key: Tipo de dato del identificador (usuario y fecha).
+ *
+ * 🧠 Igual que UserNoteStatsRepository: las escrituras suman o restan sobre
+ * el valor de la base de datos, sin cargar la fila.
+ */
+@Repository
+public interface UserNoteDayRepository extends JpaRepository<UserNoteDay, UserNoteDay.Key> {
+
+    /**
+     * Notas por día de un usuario dentro de un rango (rango de la clave
+     * primaria).
+     *
+     * @param userId ID del usuario.
+     * @param from   Primer día.
+     * @param to     Último día.
+     * @return Días con notas, en orden.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteActivityBucket(d.noteDate, d.noteCount) "
+            + "from UserNoteDay d where d.userId = :userId and d.noteDate between :from and :to "
+            + "and d.noteCount > 0 order by d.noteDate")
+    List<NoteActivityBucket> findByUser(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Notas por día de todos los usuarios dentro de un rango.
+     *
+     * @Query: Recorre el índice IX_users_note_days_date (note_date,
+     *         note_count), que ya trae lo que suma: no lee la tabla.
+     *
+     * @param from Primer día.
+     * @param to   Último día.
+     * @return Días con notas, en orden.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.NoteActivityBucket(d.noteDate, sum(d.noteCount)) "
+            + "from UserNoteDay d where d.noteDate between :from and :to "
+            + "group by d.noteDate having sum(d.noteCount) > 0 order by d.noteDate")
+    List<NoteActivityBucket> findAllUsers(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Suma notas nuevas de un usuario en un día (crea la fila si no existe).
+     *
+     * @Query: INSERT ... ON DUPLICATE KEY UPDATE (MySQL, y H2 en modo MySQL):
+     *         dos altas a la vez el mismo día no chocan por la clave.
+     *
+     * @param userId ID del usuario.
+     * @param date   Fecha de creación de las notas.
+     * @param count  Notas creadas.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "insert into users_note_days (user_id, note_date, note_count) values (:userId, :date, :count) "
+            + "on duplicate key update note_count = note_count + :count", nativeQuery = true)
+    int addNotes(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("count") long count);
+
+    /**
+     * Resta notas eliminadas de un usuario en un día (la fila queda en cero
+     * hasta la siguiente reconciliación).
+     *
+     * @param userId ID del usuario.
+     * @param date   Fecha de creación de las notas.
+     * @param count  Notas eliminadas.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserNoteDay d set d.noteCount = case when d.noteCount > :count "
+            + "then d.noteCount - :count else 0 end "
+            + "where d.userId = :userId and d.noteDate = :date")
+    int removeNotes(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("count") long count);
+
+    /**
+     * Crea las filas de los usuarios que aún no tienen ninguna, calculadas
+     * desde sus notas (usa el índice IX_users_notes_user_creation).
+     *
+     * @param userIds IDs de los usuarios.
+     * @return Filas insertadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("insert into UserNoteDay (userId, noteDate, noteCount) "
+            + "select n.user.id, n.creationDate, count(n) from Note n "
+            + "where n.user.id in :userIds and n.creationDate is not null "
+            + "and not exists (select 1 from UserNoteDay d where d.userId = n.user.id) "
+            + "group by n.user.id, n.creationDate")
+    int insertMissing(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Elimina las filas de un usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Filas eliminadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserNoteDay d where d.userId = :userId")
+    int deleteRowsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Elimina las filas de varios usuarios (para recalcularlas).
+     *
+     * @param userIds IDs de los usuarios.
+     * @return Filas eliminadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserNoteDay d where d.userId in :userIds")
+    int deleteRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Elimina las filas de usuarios que ya no existen (reconciliación).
+     *
+     * @return Filas eliminadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserNoteDay d where not exists (select 1 from User u where u.id = d.userId)")
+    int deleteOrphans();
+}
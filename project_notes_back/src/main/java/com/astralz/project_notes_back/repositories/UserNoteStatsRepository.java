@@ -0,0 +1,157 @@
+package com.astralz.project_notes_back.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.astralz.project_notes_back.dto.UserNoteStatsView;
+import com.astralz.project_notes_back.models.UserNoteStats;
+
+/**
+ * 📦 UserNoteStatsRepository
+ *
+ * @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
+ * @JpaRepository: Extiende JpaRepository para manejar la persistencia de las
+ *                 estadísticas de notas por usuario.
+ * @UserNoteStats: Entidad con las estadísticas de un usuario.
+ * @Long: Tipo de dato del identificador (el ID del usuario).
+ *
+ * 🧠 Las escrituras son sentencias sueltas (sin cargar la fila): suman o
+ * restan sobre el valor de la base de datos, así dos escrituras a la vez no
+ * se pisan.
+ */
+@Repository
+public interface UserNoteStatsRepository extends JpaRepository<UserNoteStats, Long> {
+
+    /**
+     * Estadísticas de los usuarios indicados (búsqueda por clave primaria).
+     *
+     * @param userIds IDs de los usuarios.
+     * @return Estadísticas de los que tienen fila.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.UserNoteStatsView(s.userId, s.noteCount, s.latestNoteDate) "
+            + "from UserNoteStats s where s.userId in :userIds")
+    List<UserNoteStatsView> findViewsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Crea la fila de los usuarios que aún no la tienen, calculada desde sus
+     * notas (usuarios nuevos o previos a las estadísticas).
+     *
+     * @Modifying: Sentencia INSERT ... SELECT (devuelve las filas insertadas).
+     * @Transactional: Las consultas declaradas no tienen transacción propia.
+     *
+     * @param userIds IDs de los usuarios (los inexistentes se ignoran).
+     * @return Filas insertadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("insert into UserNoteStats (userId, noteCount, latestNoteDate) "
+            + "select u.id, count(n.id), max(n.creationDate) from User u left join u.notes n "
+            + "where u.id in :userIds and not exists (select 1 from UserNoteStats s where s.userId = u.id) "
+            + "group by u.id")
+    int insertMissing(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Crea la fila de un usuario nuevo con valores ya conocidos.
+     *
+     * @param userId         ID del usuario.
+     * @param noteCount      Número de notas.
+     * @param latestNoteDate Fecha de la más reciente (null = sin notas).
+     * @return Filas insertadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("insert into UserNoteStats (userId, noteCount, latestNoteDate) "
+            + "values (:userId, :noteCount, :latestNoteDate)")
+    int insertRow(@Param("userId") Long userId, @Param("noteCount") long noteCount,
+            @Param("latestNoteDate") LocalDate latestNoteDate);
+
+    /**
+     * Suma notas nuevas a un usuario.
+     *
+     * @param userId ID del usuario.
+     * @param count  Notas creadas.
+     * @param date   Fecha de creación de las notas.
+     * @return Filas afectadas (0 = el usuario aún no tiene fila).
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserNoteStats s set s.noteCount = s.noteCount + :count, "
+            + "s.latestNoteDate = case when s.latestNoteDate is null or s.latestNoteDate < :date "
+            + "then :date else s.latestNoteDate end "
+            + "where s.userId = :userId")
+    int addNotes(@Param("userId") Long userId, @Param("count") long count, @Param("date") LocalDate date);
+
+    /**
+     * Resta notas eliminadas a un usuario. La fecha más reciente se vuelve a
+     * leer de sus notas (la eliminada podía ser la última; usa el índice de
+     * user_id).
+     *
+     * ⚠️ Debe ejecutarse después del DELETE, en la misma transacción.
+     *
+     * @param userId ID del usuario.
+     * @param count  Notas eliminadas.
+     * @return Filas afectadas (0 = el usuario no tiene fila).
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserNoteStats s set s.noteCount = case when s.noteCount > :count "
+            + "then s.noteCount - :count else 0 end, "
+            + "s.latestNoteDate = (select max(n.creationDate) from Note n where n.user.id = :userId) "
+            + "where s.userId = :userId")
+    int removeNotes(@Param("userId") Long userId, @Param("count") long count);
+
+    /**
+     * Deja a un usuario sin notas.
+     *
+     * @param userId ID del usuario.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserNoteStats s set s.noteCount = 0, s.latestNoteDate = null where s.userId = :userId")
+    int clearNotes(@Param("userId") Long userId);
+
+    /**
+     * Elimina la fila de un usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserNoteStats s where s.userId = :userId")
+    int deleteRowByUserId(@Param("userId") Long userId);
+
+    /**
+     * Vuelve a calcular desde las notas las filas de los usuarios indicados
+     * (reconciliación).
+     *
+     * @param userIds IDs de los usuarios.
+     * @return Filas afectadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserNoteStats s set "
+            + "s.noteCount = (select count(n) from Note n where n.user.id = s.userId), "
+            + "s.latestNoteDate = (select max(n.creationDate) from Note n where n.user.id = s.userId) "
+            + "where s.userId in :userIds")
+    int recompute(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Elimina las filas de usuarios que ya no existen (reconciliación).
+     *
+     * @return Filas eliminadas.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from UserNoteStats s where not exists (select 1 from User u where u.id = s.userId)")
+    int deleteOrphans();
+}
@@ -1,19 +1,149 @@
 package com.astralz.project_notes_back.repositories;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.astralz.project_notes_back.dto.UserView;
+import com.astralz.project_notes_back.dto.ViewVersion;
 import com.astralz.project_notes_back.models.User;
 
 /**
  * 📦 UserRepository
  * 
  * @Repository: Indica que esta interfaz es un repositorio de Spring Data JPA.
- * @JpaRepository: Extiende JpaRepository para manejar la persistencia de datos
+ * @BaseRepository: Extiende BaseRepository para manejar la persistencia de datos
  *                 de los usuarios.
  * @User: Entidad que representa un usuario.
  * @Long: Tipo de dato del identificador de un usuario.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends BaseRepository<User, Long> {
+
+    /**
+     * Página de vistas de usuarios posteriores al cursor (paginación por cursor).
+     * 
+     * @Query: Solo columnas de users; no carga detalles ni notas.
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de vistas ordenadas por ID.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.UserView(u.id, u.username, u.email, u.role, u.firstName, u.lastName, u.version) "
+            + "from User u where u.id > :after order by u.id")
+    List<UserView> findViewsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * IDs de usuario que existen entre los indicados.
+     * 
+     * @param ids IDs a comprobar.
+     * @return IDs existentes.
+     */
+    @Query("select u.id from User u where u.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Usuario con sus detalles (?expand=details), en una consulta.
+     * 
+     * 🧠 Los detalles son el lado inverso del 1:1 y Hibernate siempre los
+     * carga con el usuario: sin el join fetch sería una consulta extra por
+     * usuario.
+     * 
+     * @param id ID del usuario.
+     * @return Usuario con sus detalles cargados.
+     */
+    @Query("select u from User u left join fetch u.userDetails where u.id = :id")
+    Optional<User> findWithDetailsById(@Param("id") Long id);
+
+    /**
+     * Usuario con sus detalles y sus notas (?expand=notes), en una consulta.
+     * 
+     * @param id ID del usuario.
+     * @return Usuario con sus detalles y notas cargados.
+     */
+    @Query("select u from User u left join fetch u.userDetails left join fetch u.notes where u.id = :id")
+    Optional<User> findWithDetailsAndNotesById(@Param("id") Long id);
+
+    /**
+     * Página de usuarios con sus detalles posteriores al cursor.
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Usuarios ordenados por ID, con sus detalles cargados.
+     */
+    @Query("select u from User u left join fetch u.userDetails where u.id > :after order by u.id")
+    List<User> findWithDetailsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * IDs de usuario posteriores al cursor (paginación por cursor).
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return IDs ordenados.
+     */
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Vista de un usuario por su ID.
+     * 
+     * @param id ID del usuario.
+     * @return Vista del usuario.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.UserView(u.id, u.username, u.email, u.role, u.firstName, u.lastName, u.version) "
+            + "from User u where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") Long id);
+
+    /**
+     * Versión de la vista de un usuario (para el ETag).
+     * 
+     * @param id ID del usuario.
+     * @return Última modificación del usuario.
+     */
+    @Query("select u.updatedAt from User u where u.id = :id")
+    Optional<Instant> findViewUpdatedAt(@Param("id") Long id);
+
+    /**
+     * Versiones de la página de vistas posterior al cursor (para el ETag).
+     * 
+     * @param after Último ID de la página anterior (0 = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Versiones ordenadas por ID.
+     */
+    @Query("select new com.astralz.project_notes_back.dto.ViewVersion(u.id, u.updatedAt) "
+            + "from User u where u.id > :after order by u.id")
+    List<ViewVersion<Long>> findViewVersionsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Actualiza los datos de un usuario en una sola sentencia, sin leerlo
+     * antes (los detalles y las notas no cambian).
+     * 
+     * @Modifying: Sentencia UPDATE (devuelve las filas afectadas).
+     * @Transactional: Las consultas declaradas no tienen transacción propia.
+     * 
+     * ⚠️ No pasa por @UpdateTimestamp ni @Version: updatedAt se indica y la
+     * versión se incrementa explícitamente.
+     * 
+     * @param id        ID del usuario.
+     * @param user      Datos nuevos del usuario (su versión es la que leyó el
+     *                  cliente; null = sin comprobar).
+     * @param updatedAt Última modificación.
+     * @return Filas afectadas (0 = el usuario no existe o cambió de versión).
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.username = :#{#user.username}, u.email = :#{#user.email}, "
+            + "u.password = :#{#user.password}, u.role = :#{#user.role}, u.firstName = :#{#user.firstName}, "
+            + "u.lastName = :#{#user.lastName}, u.updatedAt = :updatedAt, u.version = u.version + 1 "
+            + "where u.id = :id and (:#{#user.version} is null or u.version = :#{#user.version})")
+    int updateProfile(@Param("id") Long id, @Param("user") User user, @Param("updatedAt") Instant updatedAt);
 }
@@ -2,13 +2,17 @@ package com.astralz.project_notes_back.seeders;
 
 import com.astralz.project_notes_back.repositories.NoteRepository;
 import com.astralz.project_notes_back.repositories.UserRepository;
+import com.astralz.project_notes_back.services.faker.BulkDataGenerator;
 import com.astralz.project_notes_back.services.faker.FakerService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +33,15 @@ public class DatabaseSeeder {
     // Faker es una clase que genera datos de prueba para las pruebas unitarias
     private final FakerService fakerService;
 
+    // Generador masivo para pruebas de capacidad (solo con app.generator.enabled)
+    private final BulkDataGenerator bulkDataGenerator;
+
+    // Ejecutor de Spring para generar los datos en segundo plano (app.seeder.async)
+    private final TaskExecutor taskExecutor;
+
+    // true: Genera los datos sin retrasar el arranque (perfil prod)
+    private final boolean async;
+
     // Logger para el seeder [Para mostrar errores o información en la consola]
     private final Logger logger = LoggerFactory.getLogger(DatabaseSeeder.class);
 
@@ -37,11 +50,20 @@ public class DatabaseSeeder {
      * 
      * @param fakerService: Servicio que genera datos de prueba para las pruebas
      *                      unitarias
+     * @param bulkDataGenerator: Generador masivo de datos (app.generator.*)
+     * @param taskExecutor: Ejecutor de Spring (applicationTaskExecutor)
+     * @param async: Genera los datos en segundo plano (app.seeder.async)
      * @Autowired(required = false): Indica que el faker es opcional (Para que no se
      *                     generen datos de prueba en la producción).
      */
-    public DatabaseSeeder(@Autowired(required = false) FakerService fakerService) {
+    public DatabaseSeeder(@Autowired(required = false) FakerService fakerService,
+            @Autowired(required = false) BulkDataGenerator bulkDataGenerator,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${app.seeder.async:false}") boolean async) {
         this.fakerService = fakerService;
+        this.bulkDataGenerator = bulkDataGenerator;
+        this.taskExecutor = taskExecutor;
+        this.async = async;
     }
 
     /**
@@ -57,32 +79,54 @@ public class DatabaseSeeder {
     public ApplicationRunner setDataFactory(UserRepository userRepository, NoteRepository noteRepository) {
         return args -> {
 
-            try {
+            // ? En segundo plano: la aplicación queda lista sin esperar los datos
+            if (this.async) {
+                this.taskExecutor.execute(() -> this.seed(userRepository));
+                return;
+            }
+
+            this.seed(userRepository);
+        };
+    }
+
+    /**
+     * Genera los datos de prueba (generador masivo o factory)
+     * 
+     * @param userRepository: Repositorio que maneja la persistencia de datos para
+     *                        usuarios
+     */
+    private void seed(UserRepository userRepository) {
+        try {
 
-                // Genera las notas obligatorias
-                // this.generateStaticNotes(noteRepository);
+            // Genera las notas obligatorias
+            // this.generateStaticNotes(noteRepository);
 
-                // Factory (only dev)
-                // Si hay menos de 6 usuarios, genera 15 usuarios de prueba (Para solo
-                // crear una vez)
-                if (this.fakerService != null && userRepository.count() <= 5) {
+            // Generador masivo (app.generator.enabled=true): reemplaza al factory
+            if (this.bulkDataGenerator != null) {
+                this.bulkDataGenerator.generate();
+                return;
+            }
 
-                    // Counts
-                    int amountUsers = 15;
-                    int amountNotes = 20;
+            // Factory (only dev)
+            // Si hay menos de 6 usuarios, genera 15 usuarios de prueba (Para solo
+            // crear una vez)
+            if (this.fakerService != null && userRepository.count() <= 5) {
 
-                    // Genera usuarios con detalles y notas
-                    this.fakerService.generateUsersWithDetailsAndNotes(amountUsers, amountNotes);
+                // Counts
+                int amountUsers = 15;
+                int amountNotes = 20;
 
-                    // Muestra el número de notas generadas
-                    logger.info("📄 EXITO: " + amountUsers + " usuarios aleatorios generados");
-                }
+                // Genera usuarios con detalles y notas
+                this.fakerService.generateUsersWithDetailsAndNotes(amountUsers, amountNotes);
 
-                // ! Error
-            } catch (Exception e) {
-                logger.error("❌ ERROR: Los datos no se han generado correctamente");
-                logger.error("❌ ERROR: " + e.getMessage());
+                // Muestra el número de notas generadas
+                logger.info("📄 EXITO: " + amountUsers + " usuarios aleatorios generados");
             }
-        };
+
+            // ! Error
+        } catch (Exception e) {
+            logger.error("❌ ERROR: Los datos no se han generado correctamente");
+            logger.error("❌ ERROR: " + e.getMessage());
+        }
     }
 }
@@ -0,0 +1,298 @@
+package com.astralz.project_notes_back.services.autosave;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.astralz.project_notes_back.dto.NotePatch;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.models.Note;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📦 NoteAutosaveBuffer
+ *
+ * Buffer en memoria del autoguardado de notas: guarda el último cambio
+ * pendiente de cada nota y NoteService lo escribe en la base de datos por
+ * lotes cada app.notes.autosave.flush-interval.
+ *
+ * @Component: Indica que esta clase es un componente de Spring.
+ *
+ * 🧠 Funcionamiento:
+ * - Cada ráfaga de autoguardados de una nota se combina en una sola entrada
+ *   (los campos nuevos pisan a los anteriores): N peticiones = 1 UPDATE.
+ * - ConcurrentHashMap bloquea por segmento (bin), así que escrituras de
+ *   notas distintas no compiten entre sí. La combinación no hace E/S.
+ * - Las lecturas de NoteService aplican el cambio pendiente sobre lo leído
+ *   de la base de datos (applyTo).
+ * - Una entrada solo se quita si no cambió mientras se escribía (remove con
+ *   el valor escrito); si llegó otro autoguardado, queda para el siguiente
+ *   lote.
+ *
+ * ⚠️ Los cambios pendientes viven en memoria: se pierden si el proceso muere
+ * sin apagarse (kill -9). Al apagarse, NoteService vacía el buffer.
+ */
+@Component
+public class NoteAutosaveBuffer {
+
+    /**
+     * Cambio pendiente de una nota.
+     *
+     * @title: Título pendiente (null = sin cambios).
+     * @content: Contenido pendiente (null = sin cambios).
+     * @updatedAt: Momento del último autoguardado.
+     */
+    public record Pending(String title, String content, Instant updatedAt) {
+
+        /**
+         * Combina este cambio con uno más nuevo.
+         *
+         * @param newer Cambio más nuevo.
+         * @return Cambio combinado (los campos del nuevo mandan).
+         */
+        Pending merge(Pending newer) {
+            return new Pending(
+                    newer.title != null ? newer.title : title,
+                    newer.content != null ? newer.content : content,
+                    newer.updatedAt);
+        }
+    }
+
+    // Cambios pendientes por ID de nota
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // Autoguardados recibidos y filas escritas (su cociente es el ahorro)
+    private final Counter received;
+    private final Counter flushed;
+
+    private final boolean enabled;
+    private final int maxPending;
+
+    /**
+     * Constructor con la configuración del buffer.
+     *
+     * @param meterRegistry Registro de métricas.
+     * @param enabled       Activa el buffer (app.notes.autosave.enabled).
+     * @param maxPending    Máximo de notas pendientes; con el buffer lleno los
+     *                      autoguardados de notas nuevas se escriben directo.
+     */
+    public NoteAutosaveBuffer(MeterRegistry meterRegistry,
+            @Value("${app.notes.autosave.enabled:false}") boolean enabled,
+            @Value("${app.notes.autosave.max-pending:10000}") int maxPending) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.received = Counter.builder("app.notes.autosave.received")
+                .description("Autoguardados recibidos en el buffer")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("app.notes.autosave.flushed")
+                .description("Notas escritas en la base de datos desde el buffer")
+                .register(meterRegistry);
+        Gauge.builder("app.notes.autosave.pending", pending, Map::size)
+                .description("Notas con cambios pendientes de escribir")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si el buffer está activado.
+     *
+     * @return true si los autoguardados se acumulan en memoria.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indica si no hay cambios pendientes.
+     *
+     * @return true si el buffer está vacío.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Indica si una nota tiene cambios pendientes.
+     *
+     * @param id ID de la nota.
+     * @return true si hay un cambio pendiente.
+     */
+    public boolean contains(Long id) {
+        return pending.containsKey(id);
+    }
+
+    /**
+     * Indica si un cambio leído antes sigue siendo el pendiente de la nota
+     * (no lo descartó un PUT o PATCH ni llegó otro encima).
+     *
+     * @param id       ID de la nota.
+     * @param expected Cambio leído (p. ej. de snapshot).
+     * @return true si sigue vigente.
+     */
+    public boolean isCurrent(Long id, Pending expected) {
+        return expected != null && expected.equals(pending.get(id));
+    }
+
+    /**
+     * Acumula un autoguardado.
+     *
+     * @param id    ID de la nota.
+     * @param patch Campos a cambiar.
+     * @return true si se acumuló, false si el buffer está desactivado o lleno
+     *         (el llamador debe escribir directo).
+     */
+    public boolean offer(Long id, NotePatch patch) {
+
+        // ? Desactivado, o lleno y la nota no tenía nada pendiente
+        if (!enabled || (pending.size() >= maxPending && !pending.containsKey(id))) {
+            return false;
+        }
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        pending.merge(id, new Pending(patch.title(), patch.content(), now), Pending::merge);
+        received.increment();
+        return true;
+    }
+
+    /**
+     * Cambio pendiente de una nota.
+     *
+     * @param id ID de la nota.
+     * @return Cambio pendiente, vacío si no hay.
+     */
+    public Optional<Pending> get(Long id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    /**
+     * Descarta el cambio pendiente de una nota (una escritura explícita, PUT
+     * o PATCH, es más nueva y manda). Se llama solo cuando esa escritura
+     * afectó la fila, dentro de su transacción.
+     *
+     * @param id ID de la nota.
+     */
+    public void discard(Long id) {
+        pending.remove(id);
+    }
+
+    /**
+     * Copia de los cambios pendientes, para escribirlos por lotes.
+     *
+     * @return Cambios pendientes por ID.
+     */
+    public Map<Long, Pending> snapshot() {
+        return new HashMap<>(pending);
+    }
+
+    /**
+     * Quita un cambio ya escrito, salvo que haya llegado otro mientras tanto.
+     *
+     * @param id      ID de la nota.
+     * @param written Cambio escrito.
+     */
+    public void written(Long id, Pending written) {
+        pending.remove(id, written);
+        flushed.increment();
+    }
+
+    /**
+     * Descarta un cambio que la base de datos rechazó, salvo que haya llegado
+     * otro mientras tanto.
+     *
+     * @param id       ID de la nota.
+     * @param rejected Cambio rechazado.
+     */
+    public void rejected(Long id, Pending rejected) {
+        pending.remove(id, rejected);
+    }
+
+    /**
+     * Aplica el cambio pendiente sobre una nota leída de la base de datos.
+     *
+     * @param note Nota leída.
+     * @return La misma nota, con el cambio pendiente aplicado.
+     */
+    public Note applyTo(Note note) {
+        Pending change = pending.get(note.getId());
+
+        // ? Sin cambios pendientes
+        if (change == null) {
+            return note;
+        }
+
+        if (change.title() != null) {
+            note.setTitle(change.title());
+        }
+        if (change.content() != null) {
+            note.setContent(change.content());
+        }
+        note.setUpdatedAt(change.updatedAt());
+        return note;
+    }
+
+    /**
+     * Aplica el cambio pendiente sobre una vista leída de la base de datos.
+     *
+     * @param view Vista leída.
+     * @return Vista con el cambio pendiente aplicado.
+     */
+    public NoteView applyTo(NoteView view) {
+        Pending change = pending.get(view.id());
+
+        // ? Sin cambios pendientes
+        if (change == null) {
+            return view;
+        }
+
+        return new NoteView(view.id(),
+                change.title() != null ? change.title() : view.title(),
+                change.content() != null ? change.content() : view.content(),
+                view.creationDate(), view.userId(), view.username(), view.version());
+    }
+
+    /**
+     * Aplica el cambio pendiente sobre un resumen leído de la base de datos
+     * (la vista previa se recalcula desde el contenido pendiente).
+     *
+     * @param summary Resumen leído.
+     * @return Resumen con el cambio pendiente aplicado.
+     */
+    public NoteSummaryView applyTo(NoteSummaryView summary) {
+        Pending change = pending.get(summary.id());
+
+        // ? Sin cambios pendientes
+        if (change == null) {
+            return summary;
+        }
+
+        return new NoteSummaryView(summary.id(),
+                change.title() != null ? change.title() : summary.title(),
+                summary.creationDate(), summary.userId(),
+                change.content() != null ? Note.previewOf(change.content()) : summary.preview(),
+                summary.version());
+    }
+
+    /**
+     * Última modificación de una nota contando el cambio pendiente.
+     *
+     * @param id     ID de la nota.
+     * @param stored Última modificación leída de la base de datos (null si
+     *               se desconoce).
+     * @return La más reciente de las dos.
+     */
+    public Instant latest(Long id, Instant stored) {
+        Pending change = pending.get(id);
+        return change != null && (stored == null || change.updatedAt().isAfter(stored))
+                ? change.updatedAt()
+                : stored;
+    }
+}
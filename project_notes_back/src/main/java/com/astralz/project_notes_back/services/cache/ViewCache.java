@@ -0,0 +1,154 @@
+package com.astralz.project_notes_back.services.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.astralz.project_notes_back.dto.CacheStatsView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * 📦 ViewCache
+ *
+ * Caché en memoria de vistas por ID, acotada por tamaño y por tiempo.
+ * LINK: https://github.com/ben-manes/caffeine
+ *
+ * @Caffeine: Política W-TinyLFU (conserva las entradas más usadas cuando se
+ *            llena) con expiración tras escritura y contadores de aciertos,
+ *            fallos y desalojos.
+ * @ID: Tipo de identificador.
+ * @V: Tipo de vista cacheada (inmutable).
+ *
+ * ⚠️ Solo cachea resultados presentes: un ID inexistente siempre consulta la
+ * base de datos.
+ *
+ * 🧠 La carga se hace fuera de Caffeine (getIfPresent + put) y no con
+ * cache.get(id, loader): ese loader se ejecuta dentro de
+ * ConcurrentHashMap.compute, que bloquea con synchronized, y con hilos
+ * virtuales la consulta a la base de datos fijaría el hilo a su portador.
+ */
+public class ViewCache<ID, V> {
+
+    /**
+     * Nombre de la caché (tipo de entidad).
+     */
+    private final String name;
+
+    /**
+     * Caché de Caffeine.
+     */
+    private final Cache<ID, V> cache;
+
+    /**
+     * Cuenta las invalidaciones; una carga solo se guarda si no hubo ninguna
+     * mientras consultaba la base de datos (evita guardar un valor viejo).
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructor de la caché.
+     *
+     * @param name    Nombre de la caché.
+     * @param maxSize Máximo de entradas.
+     * @param ttl     Tiempo de vida de cada entrada desde que se escribe.
+     */
+    public ViewCache(String name, long maxSize, Duration ttl) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtiene la vista de la caché o la carga.
+     *
+     * Dos hilos que fallan a la vez en el mismo ID cargan los dos (sin bloqueo
+     * entre ellos); el resultado es el mismo.
+     *
+     * @param id     ID a buscar.
+     * @param loader Carga desde la base de datos.
+     * @return Vista encontrada.
+     */
+    public Optional<V> get(ID id, Function<ID, Optional<V>> loader) {
+        V cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = invalidations.get();
+        Optional<V> loaded = loader.apply(id);
+
+        // ? Sin invalidaciones durante la carga: el valor sigue vigente
+        if (loaded.isPresent() && invalidations.get() == generation) {
+            cache.put(id, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalida un ID y cuenta la invalidación.
+     *
+     * @param id ID a invalidar.
+     */
+    private void invalidate(ID id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalida un ID.
+     *
+     * Si hay una transacción activa se vuelve a invalidar al terminarla, para
+     * no conservar un valor leído por otro hilo antes del commit.
+     *
+     * @param id ID a invalidar.
+     */
+    public void evict(ID id) {
+        invalidate(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void evictAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Contadores de la caché.
+     *
+     * @return Estadísticas de aciertos, fallos y desalojos.
+     */
+    public CacheStatsView stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsView(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    /**
+     * Nombre de la caché.
+     *
+     * @return Nombre de la caché.
+     */
+    public String getName() {
+        return name;
+    }
+}
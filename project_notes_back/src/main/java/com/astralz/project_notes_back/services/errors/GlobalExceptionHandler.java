@@ -3,11 +3,16 @@ package com.astralz.project_notes_back.services.errors;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * 📦 GlobalExceptionHandler
@@ -48,6 +53,68 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Captura errores con un código HTTP explícito (lanzados por los servicios).
+     * 
+     * @ResponseStatusException: Excepción que indica el código HTTP a devolver.
+     * 
+     * @param ex Excepción con código HTTP.
+     * @return Mapa con el motivo del error.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> handleResponseStatus(ResponseStatusException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getReason());
+        return new ResponseEntity<>(error, ex.getStatusCode());
+    }
+
+    /**
+     * Captura los conflictos de versión (otro cliente cambió la entidad desde
+     * que este la leyó).
+     * 
+     * @VersionConflictException: UPDATE condicionado sin filas afectadas.
+     * @OptimisticLockingFailureException: Conflicto detectado por Hibernate
+     *                                     (merge con @Version); no se conoce
+     *                                     la versión actual.
+     * 
+     * @param ex Excepción de conflicto.
+     * @return 409 con el motivo y la versión actual (si se conoce).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionConflict(OptimisticLockingFailureException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", "La entidad cambió desde que la leíste, vuelve a cargarla.");
+
+        // ? Conflicto de un UPDATE condicionado: se conoce la versión actual
+        if (ex instanceof VersionConflictException conflict) {
+            error.put("currentVersion", conflict.getCurrentVersion());
+        }
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Captura la falta de conexiones libres en el pool JDBC (se agotó
+     * spring.datasource.hikari.connection-timeout) o la caída de la base de
+     * datos.
+     * 
+     * @CannotCreateTransactionException: No se obtuvo conexión al abrir la
+     *                                    transacción.
+     * @DataAccessResourceFailureException: No se obtuvo conexión dentro de una
+     *                                      consulta.
+     * 
+     * @param ex Excepción de acceso a datos.
+     * @return 503 con Retry-After para que el cliente reintente.
+     */
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+    public ResponseEntity<Map<String, String>> handleDatabaseUnavailable(Exception ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Servicio saturado, inténtalo de nuevo en unos segundos.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     /**
      * Captura errores generales (opcional, útil para debugging).
      * 
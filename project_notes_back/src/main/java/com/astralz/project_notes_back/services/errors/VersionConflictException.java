@@ -0,0 +1,72 @@
+package com.astralz.project_notes_back.services.errors;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * 📦 VersionConflictException
+ * 
+ * Un UPDATE condicionado a la versión no afectó filas porque otro cliente
+ * cambió la entidad antes. GlobalExceptionHandler la convierte en 409 con la
+ * versión actual para que el cliente vuelva a leer y reintente.
+ * 
+ * @OptimisticLockingFailureException: Misma familia que los conflictos que
+ *                                     detecta Hibernate al hacer merge.
+ */
+public class VersionConflictException extends OptimisticLockingFailureException {
+
+    /**
+     * Entidad en conflicto (p. ej. notes).
+     */
+    private final String entity;
+
+    /**
+     * ID de la entidad en conflicto.
+     */
+    private final Object id;
+
+    /**
+     * Versión actual en la base de datos.
+     */
+    private final Long currentVersion;
+
+    /**
+     * Constructor con los datos del conflicto.
+     * 
+     * @param entity         Entidad en conflicto.
+     * @param id             ID de la entidad.
+     * @param currentVersion Versión actual en la base de datos.
+     */
+    public VersionConflictException(String entity, Object id, Long currentVersion) {
+        super("La entidad " + entity + "/" + id + " cambió (versión actual " + currentVersion + ").");
+        this.entity = entity;
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Entidad en conflicto.
+     * 
+     * @return Nombre de la entidad.
+     */
+    public String getEntity() {
+        return entity;
+    }
+
+    /**
+     * ID de la entidad en conflicto.
+     * 
+     * @return ID de la entidad.
+     */
+    public Object getId() {
+        return id;
+    }
+
+    /**
+     * Versión actual en la base de datos.
+     * 
+     * @return Versión actual.
+     */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
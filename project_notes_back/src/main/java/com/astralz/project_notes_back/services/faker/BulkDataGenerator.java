@@ -0,0 +1,445 @@
+package com.astralz.project_notes_back.services.faker;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.astralz.project_notes_back.enums.Role;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.github.javafaker.Faker;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 📦 BulkDataGenerator
+ *
+ * Generador de datos masivo para pruebas de capacidad (millones de usuarios
+ * y notas). Lo ejecuta DatabaseSeeder al arrancar si
+ * app.generator.enabled=true (en lugar de los 15 usuarios de FakerService).
+ *
+ * @Service: Indica que esta clase es un servicio.
+ * @ConditionalOnProperty: Solo existe con app.generator.enabled=true.
+ *
+ * 🧠 Funcionamiento:
+ * - Los usuarios se reparten en bloques de app.generator.chunk-size; cada
+ *   bloque (usuarios, detalles y notas) es una transacción independiente: un
+ *   bloque que falla se registra y el resto sigue.
+ * - app.generator.threads hilos generan y escriben bloques en paralelo. Cada
+ *   hilo toma un Faker del pool compartido mientras arma su bloque (Faker no
+ *   es seguro entre hilos y crearlo es caro).
+ * - Se escribe con JdbcTemplate.batchUpdate (lotes JDBC; en MySQL
+ *   rewriteBatchedStatements los convierte en INSERT multi-fila), sin
+ *   entidades ni contexto de persistencia.
+ * - Los IDs salen de los mismos generadores de Hibernate (@SequenceGenerator),
+ *   así la aplicación sigue insertando sin choques después.
+ * - Los campos únicos (username, email, teléfono, título) llevan el ID para
+ *   no repetirse.
+ * - Títulos y contenidos se arman con el vocabulario lorem de Faker cargado
+ *   una vez: faker.lorem().paragraph() resuelve plantillas en cada llamada y
+ *   era la mayor parte del tiempo (~0,6 ms por nota).
+ *
+ * ⚠️ Escribe directo en las tablas: el índice de búsqueda se reconstruye al
+ * terminar el arranque (NoteSearchIndex) y las cachés arrancan vacías.
+ */
+@Service
+@ConditionalOnProperty(name = "app.generator.enabled", havingValue = "true")
+public class BulkDataGenerator {
+
+    /**
+     * Distribución de notas por usuario.
+     *
+     * @FIXED: Todos los usuarios tienen notes-per-user.max notas.
+     * @UNIFORM: Entre min y max con la misma probabilidad.
+     * @EXPONENTIAL: Muchos usuarios con pocas notas y pocos con muchas (media
+     *               notes-per-user.mean, acotada a [min, max]).
+     */
+    public enum Distribution {
+        FIXED, UNIFORM, EXPONENTIAL
+    }
+
+    /**
+     * Resultado de una generación.
+     *
+     * @users: Usuarios insertados (con sus detalles).
+     * @notes: Notas insertadas.
+     * @failedChunks: Bloques descartados por error.
+     * @elapsed: Duración total.
+     */
+    public record Report(long users, long notes, int failedChunks, Duration elapsed) {
+
+        /**
+         * Filas insertadas por segundo (usuarios + detalles + notas).
+         *
+         * @return Filas por segundo.
+         */
+        public double rowsPerSecond() {
+            double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+            return (users * 2 + notes) / seconds;
+        }
+    }
+
+    // Sentencias de inserción (columnas según el mapeo de los modelos)
+    private static final String INSERT_USER = "insert into users "
+            + "(id, username, email, password, role, first_name, last_name, updated_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_DETAILS = "insert into users_details "
+            + "(id, phone_number, birth_date, address, user_id, version) "
+            + "values (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_NOTE = "insert into users_notes "
+            + "(id, title, content, creation_date, updated_at, user_id, preview, version) "
+            + "values (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_STATS = "insert into users_note_stats "
+            + "(user_id, note_count, latest_note_date) "
+            + "values (?, ?, ?)";
+    private static final String INSERT_DAYS = "insert into users_note_days "
+            + "(user_id, note_date, note_count) "
+            + "values (?, ?, ?)";
+
+    // Límites de las columnas (ver models/*)
+    private static final int USERNAME_LENGTH = 30;
+    private static final int EMAIL_LENGTH = 50;
+    private static final int NAME_LENGTH = 120;
+    private static final int ADDRESS_LENGTH = 120;
+    private static final int TITLE_LENGTH = 120;
+    private static final int CONTENT_LENGTH = 2400;
+
+    private final Logger logger = LoggerFactory.getLogger(BulkDataGenerator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final long users;
+    private final int chunkSize;
+    private final int threads;
+    private final Distribution distribution;
+    private final int minNotes;
+    private final int maxNotes;
+    private final double meanNotes;
+    private final int minContent;
+    private final int maxContent;
+    private final int creationDays;
+
+    // Vocabulario lorem de Faker (para títulos y contenidos)
+    private final String[] words;
+
+    /**
+     * Constructor con la configuración del generador.
+     *
+     * @param jdbcTemplate         Escritura por lotes JDBC.
+     * @param transactionManager   Gestor de transacciones (una por bloque).
+     * @param entityManagerFactory Generadores de IDs de Hibernate.
+     * @param users                Usuarios a generar.
+     * @param chunkSize            Usuarios por transacción.
+     * @param threads              Hilos de generación (0 = núcleos).
+     * @param distribution         Distribución de notas por usuario.
+     * @param minNotes             Mínimo de notas por usuario.
+     * @param maxNotes             Máximo de notas por usuario.
+     * @param meanNotes            Media de notas por usuario (EXPONENTIAL).
+     * @param minContent           Longitud mínima del contenido.
+     * @param maxContent           Longitud máxima del contenido.
+     * @param creationDays         Días hacia atrás en los que se reparten las
+     *                             fechas de creación.
+     */
+    public BulkDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.generator.users:100000}") long users,
+            @Value("${app.generator.chunk-size:500}") int chunkSize,
+            @Value("${app.generator.threads:0}") int threads,
+            @Value("${app.generator.notes-per-user.distribution:exponential}") String distribution,
+            @Value("${app.generator.notes-per-user.min:0}") int minNotes,
+            @Value("${app.generator.notes-per-user.max:200}") int maxNotes,
+            @Value("${app.generator.notes-per-user.mean:20}") double meanNotes,
+            @Value("${app.generator.content.min-length:40}") int minContent,
+            @Value("${app.generator.content.max-length:1200}") int maxContent,
+            @Value("${app.generator.creation-days:365}") int creationDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class)
+                .unwrap(SessionFactoryImplementor.class);
+        this.users = users;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.distribution = Distribution.valueOf(distribution.trim().toUpperCase(Locale.ROOT));
+        this.minNotes = Math.max(0, minNotes);
+        this.maxNotes = Math.max(this.minNotes, maxNotes);
+        this.meanNotes = meanNotes;
+        this.minContent = Math.max(3, Math.min(minContent, CONTENT_LENGTH));
+        this.maxContent = Math.max(this.minContent, Math.min(maxContent, CONTENT_LENGTH));
+        this.creationDays = Math.max(1, creationDays);
+        this.words = new Faker().lorem().words(2_000).stream().distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Genera app.generator.users usuarios con sus detalles y notas.
+     *
+     * @return Resultado de la generación.
+     */
+    public Report generate() {
+        return generate(users);
+    }
+
+    /**
+     * Genera usuarios con sus detalles y notas en bloques paralelos.
+     *
+     * @param amountUsers Usuarios a generar.
+     * @return Resultado de la generación.
+     */
+    public Report generate(long amountUsers) {
+        int chunks = (int) ((amountUsers + chunkSize - 1) / chunkSize);
+        int workers = (int) Math.max(1, Math.min(threads, chunks));
+
+        // Pool de Faker compartido: uno por hilo, se toma y se devuelve por bloque
+        BlockingQueue<Faker> fakers = new ArrayBlockingQueue<>(workers);
+        for (int i = 0; i < workers; i++) {
+            fakers.add(new Faker());
+        }
+
+        AtomicLong insertedUsers = new AtomicLong();
+        AtomicLong insertedNotes = new AtomicLong();
+        AtomicInteger doneChunks = new AtomicInteger();
+        AtomicInteger failedChunks = new AtomicInteger();
+        int logEvery = Math.max(1, chunks / 10);
+
+        logger.info("🏭 Generando {} usuarios en {} bloques con {} hilos", amountUsers, chunks, workers);
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int size = (int) Math.min(chunkSize, amountUsers - (long) chunk * chunkSize);
+
+                executor.execute(() -> {
+                    try {
+                        int notes = writeChunk(size, fakers);
+                        insertedUsers.addAndGet(size);
+                        insertedNotes.addAndGet(notes);
+
+                        // ! Error: el bloque se descarta (su transacción hizo rollback)
+                    } catch (Exception e) {
+                        failedChunks.incrementAndGet();
+                        logger.error("❌ ERROR: Bloque de {} usuarios descartado: {}", size, e.getMessage());
+                    }
+
+                    // ? Progreso cada 10 % de los bloques
+                    int done = doneChunks.incrementAndGet();
+                    if (done % logEvery == 0 || done == chunks) {
+                        double seconds = (System.nanoTime() - start) / 1e9;
+                        logger.info("🏭 {}/{} bloques: {} usuarios, {} notas ({} filas/s)", done, chunks,
+                                insertedUsers.get(), insertedNotes.get(),
+                                Math.round((insertedUsers.get() * 2 + insertedNotes.get()) / seconds));
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        Report report = new Report(insertedUsers.get(), insertedNotes.get(), failedChunks.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("📊 Generados {} usuarios y {} notas en {} ms ({} filas/s, {} bloques con error)",
+                report.users(), report.notes(), report.elapsed().toMillis(),
+                Math.round(report.rowsPerSecond()), report.failedChunks());
+        return report;
+    }
+
+    /**
+     * Arma y escribe un bloque de usuarios en su propia transacción.
+     *
+     * @param size   Usuarios del bloque.
+     * @param fakers Pool de Faker.
+     * @return Notas insertadas.
+     */
+    private int writeChunk(int size, BlockingQueue<Faker> fakers) throws InterruptedException {
+        List<Object[]> userRows = new ArrayList<>(size);
+        List<Object[]> detailRows = new ArrayList<>(size);
+        List<Object[]> noteRows = new ArrayList<>(size * (int) Math.max(1, meanNotes));
+        List<Object[]> statsRows = new ArrayList<>(size);
+        List<Object[]> dayRows = new ArrayList<>(size);
+
+        Faker faker = fakers.take();
+        try (StatelessSession ids = sessionFactory.openStatelessSession()) {
+            Timestamp now = Timestamp.from(Instant.now());
+
+            for (int i = 0; i < size; i++) {
+                long userId = nextId(ids, User.class);
+                long detailsId = nextId(ids, UserDetails.class);
+                userRows.add(userRow(faker, userId, now));
+                detailRows.add(detailRow(faker, detailsId, userId));
+
+                int notes = notesPerUser();
+                Date latest = null;
+                Map<Date, Integer> days = new HashMap<>();
+                for (int n = 0; n < notes; n++) {
+                    Object[] note = noteRow(faker, nextId(ids, Note.class), userId);
+                    noteRows.add(note);
+                    latest = latest == null || latest.before((Date) note[3]) ? (Date) note[3] : latest;
+                    days.merge((Date) note[3], 1, Integer::sum);
+                }
+
+                // Estadísticas ya calculadas (UserNoteStatsService)
+                statsRows.add(new Object[] { userId, notes, latest });
+                days.forEach((date, count) -> dayRows.add(new Object[] { userId, date, count }));
+            }
+        } finally {
+            fakers.add(faker);
+        }
+
+        chunkTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+            jdbcTemplate.batchUpdate(INSERT_DETAILS, detailRows);
+            jdbcTemplate.batchUpdate(INSERT_NOTE, noteRows);
+            jdbcTemplate.batchUpdate(INSERT_STATS, statsRows);
+            jdbcTemplate.batchUpdate(INSERT_DAYS, dayRows);
+        });
+        return noteRows.size();
+    }
+
+    /**
+     * Reserva el siguiente ID de una entidad con su generador de Hibernate
+     * (optimizador pooled: una consulta cada allocationSize IDs).
+     */
+    private long nextId(StatelessSession session, Class<?> entity) {
+        IdentifierGenerator generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entity)
+                .getGenerator();
+        return ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+    }
+
+    /**
+     * Fila de users.
+     */
+    private Object[] userRow(Faker faker, long id, Timestamp now) {
+        String suffix = "." + Long.toString(id, 36);
+        String username = fit(faker.name().username(), suffix, USERNAME_LENGTH);
+        String email = fit(faker.name().username(), suffix + "@" + faker.internet().domainName(), EMAIL_LENGTH);
+        return new Object[] {
+                id, username, email, faker.internet().password(8, 16), Role.PUBLIC_USER.name(),
+                fit(faker.name().firstName(), "", NAME_LENGTH), fit(faker.name().lastName(), "", NAME_LENGTH),
+                now };
+    }
+
+    /**
+     * Fila de users_details (teléfono de 12 dígitos único derivado del ID).
+     */
+    private Object[] detailRow(Faker faker, long id, long userId) {
+        LocalDate birthDate = faker.date().birthday().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        return new Object[] {
+                id, String.format("55%010d", id % 10_000_000_000L), Date.valueOf(birthDate),
+                fit(faker.address().fullAddress(), "", ADDRESS_LENGTH), userId };
+    }
+
+    /**
+     * Fila de users_notes (fecha de creación al azar en los últimos
+     * creation-days días).
+     */
+    private Object[] noteRow(Faker faker, long id, long userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String title = fit(sentence(new StringBuilder(), random.nextInt(3, 7)).toString(), " #" + id,
+                TITLE_LENGTH);
+        LocalDate creationDate = LocalDate.now().minusDays(random.nextInt(creationDays));
+        Instant updatedAt = creationDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
+                .plusSeconds(random.nextLong(86_400));
+        String content = content(random.nextInt(minContent, maxContent + 1));
+        return new Object[] {
+                id, title, content, Date.valueOf(creationDate), Timestamp.from(updatedAt), userId,
+                Note.previewOf(content) };
+    }
+
+    /**
+     * Contenido de lorem ipsum de la longitud indicada (párrafos de 3 a 7
+     * frases).
+     */
+    private String content(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder content = new StringBuilder(length + 120);
+        int sentences = random.nextInt(3, 8);
+
+        while (content.length() < length) {
+
+            // ? Fin de párrafo
+            if (sentences-- == 0) {
+                content.append('\n');
+                sentences = random.nextInt(3, 8);
+            }
+            sentence(content, random.nextInt(5, 13)).append(". ");
+        }
+        content.setLength(length);
+        return content.toString().strip();
+    }
+
+    /**
+     * Agrega una frase de palabras lorem (la primera en mayúscula, sin punto).
+     */
+    private StringBuilder sentence(StringBuilder text, int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String first = words[random.nextInt(words.length)];
+        text.append(Character.toUpperCase(first.charAt(0))).append(first, 1, first.length());
+        for (int i = 1; i < length; i++) {
+            text.append(' ').append(words[random.nextInt(words.length)]);
+        }
+        return text;
+    }
+
+    /**
+     * Notas de un usuario según la distribución configurada.
+     */
+    private int notesPerUser() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int notes = switch (distribution) {
+            case FIXED -> maxNotes;
+            case UNIFORM -> random.nextInt(minNotes, maxNotes + 1);
+            case EXPONENTIAL -> (int) Math.round(-meanNotes * Math.log(1 - random.nextDouble()));
+        };
+        return Math.max(minNotes, Math.min(notes, maxNotes));
+    }
+
+    /**
+     * Recorta un texto para que, con su sufijo, quepa en la columna.
+     */
+    private static String fit(String text, String suffix, int max) {
+        int room = max - suffix.length();
+        return (text.length() > room ? text.substring(0, room) : text) + suffix;
+    }
+}
@@ -1,6 +1,8 @@
 package com.astralz.project_notes_back.services.faker;
 
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -92,18 +94,25 @@ public class FakerService {
     /**
      * Genera notas de prueba
      * 
+     * Se guardan juntas con saveAll para que Hibernate las envíe en lotes JDBC
+     * (hibernate.jdbc.batch_size).
+     * 
      * @param amount: Cantidad de notas a generar
      * @param user: Usuario
      */
     public void generateNotes(int amount, User user) {
+        List<Note> notes = new ArrayList<>(amount);
+
         // Genera notas de prueba
         for (int i = 0; i < amount; i++) {
             Note note = new Note();
             note.setTitle(faker.lorem().sentence(3, 6));
             note.setContent(faker.lorem().paragraph());
             note.setUser(user);
-            noteRepository.save(note);
+            notes.add(note);
         }
+
+        noteRepository.saveAll(notes);
     }
 
     /**
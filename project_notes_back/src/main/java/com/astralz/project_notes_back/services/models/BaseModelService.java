@@ -1,27 +1,130 @@
 package com.astralz.project_notes_back.services.models;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.astralz.project_notes_back.dto.CacheStatsView;
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.ViewVersion;
 import com.astralz.project_notes_back.interfaces.IBaseService;
+import com.astralz.project_notes_back.interfaces.IIdentifiable;
+import com.astralz.project_notes_back.repositories.BaseRepository;
+import com.astralz.project_notes_back.services.cache.ViewCache;
+import com.astralz.project_notes_back.services.errors.VersionConflictException;
+import com.astralz.project_notes_back.services.routing.ReplicaRouting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * 📦 BaseService
  * 
  * @M: Tipo de entidad que maneja la lógica de negocio.
+ * @V: Tipo de vista (proyección) que se expone en las lecturas.
  * @ID: Tipo de identificador de la entidad.
+ * 
+ * 🧠 Las lecturas expuestas (findPage, findViewById) devuelven vistas armadas
+ * en una sola consulta; las subclases indican cómo con loadViewsAfter y
+ * loadView. Las entidades quedan para la escritura.
+ * 
+ * 🧠 Caché opcional por tipo de entidad: si la subclase indica un nombre y
+ * app.cache.{nombre}.enabled=true, findViewById se sirve desde una caché en
+ * memoria (ViewCache) que se invalida en save, update y deleteById.
+ * 
+ * 🧠 ETags: findETag y findPageETag derivan el ETag de la última modificación
+ * de cada vista (loadViewUpdatedAt, loadViewVersionsAfter), sin cargar ni
+ * serializar la vista; así un If-None-Match que coincide cuesta una consulta
+ * sobre columnas indexadas.
+ * 
+ * 🧠 update no lee la M: un solo UPDATE (updateById) y el número de filas
+ * afectadas decide entre encontrada y no encontrada.
+ * 
+ * 🧠 Métricas: cada método de IBaseService se mide con el timer app.service
+ * (etiquetas entity, method, outcome y exception) y las lecturas de listas
+ * registran sus filas en app.service.rows. outcome vale found / not_found
+ * en las búsquedas por ID, success en el resto y error si hubo excepción.
+ * 
+ * 🧠 Réplica de lectura: con app.datasource.replica.enabled=true las lecturas
+ * (findAll, findById, findPage, findViewById y los ETags) corren en una
+ * transacción readOnly y ReplicaRouting las envía a la réplica. Sin réplica
+ * no se abre transacción extra. Las cargas de la caché de vistas leen de la
+ * primaria: una vista atrasada quedaría cacheada hasta la siguiente
+ * escritura.
+ * 
+ * @EnvironmentAware: Spring entrega el Environment para leer la configuración
+ *                    de la caché.
  */
-public abstract class BaseModelService<M, ID> implements IBaseService<M, ID> {
+public abstract class BaseModelService<M extends IIdentifiable<ID>, V extends IIdentifiable<ID>, ID>
+        implements IBaseService<M, V, ID>, EnvironmentAware {
+
+    /**
+     * Tamaño de página cuando el cliente no indica ?limit.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Tamaño de página máximo permitido, sin importar lo que pida el cliente.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
 
     /**
      * Obtiene el repositorio de la entidad.
      * 
      * @return Repositorio de la entidad.
      */
-    protected final JpaRepository<M, ID> repository;
+    protected final BaseRepository<M, ID> repository;
+
+    /**
+     * Nombre de la caché de vistas (null = sin caché).
+     */
+    private final String cacheName;
 
+    /**
+     * Etiqueta entity de las métricas.
+     */
+    private final String entityName;
+
+    /**
+     * Registro de métricas (Spring entrega el de Actuator).
+     */
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Caché de vistas por ID (null si está desactivada).
+     */
+    private ViewCache<ID, V> viewCache;
+
+    /**
+     * Enrutado a la réplica (null si no hay réplica).
+     */
+    private ReplicaRouting replicaRouting;
+
+    /**
+     * Transacción de solo lectura para las lecturas que van a la réplica.
+     */
+    private TransactionTemplate readOnlyTransaction;
 
     /**
      * Constructor con inyección de dependencia del repositorio M.
@@ -29,8 +132,258 @@ public abstract class BaseModelService<M, ID> implements IBaseService<M, ID> {
      * @param repository Repositorio que maneja la persistencia de datos para la
      *                   entidad M.
      */
-    public BaseModelService(JpaRepository<M, ID> repository) {
+    public BaseModelService(BaseRepository<M, ID> repository) {
+        this(repository, null);
+    }
+
+    /**
+     * Constructor con inyección de dependencia del repositorio M y caché
+     * opcional.
+     * 
+     * @param repository Repositorio que maneja la persistencia de datos para la
+     *                   entidad M.
+     * @param cacheName  Nombre de la caché de vistas, se activa con
+     *                   app.cache.{cacheName}.enabled=true.
+     */
+    public BaseModelService(BaseRepository<M, ID> repository, String cacheName) {
         this.repository = repository;
+        this.cacheName = cacheName;
+        this.entityName = cacheName != null ? cacheName : getClass().getSimpleName();
+    }
+
+    /**
+     * Recibe el registro de métricas de la aplicación.
+     * 
+     * @param meterRegistry Registro de métricas.
+     */
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Recibe el enrutado a la réplica, solo si app.datasource.replica.enabled.
+     * 
+     * @param replicaRouting     Enrutado de lecturas.
+     * @param transactionManager Gestor de transacciones.
+     */
+    @Autowired(required = false)
+    public void setReplicaRouting(ReplicaRouting replicaRouting, PlatformTransactionManager transactionManager) {
+        this.replicaRouting = replicaRouting;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Ejecuta una lectura en una transacción readOnly si puede ir a la réplica;
+     * si no (sin réplica, caída o el cliente acaba de escribir) la ejecuta tal
+     * cual, sin transacción extra.
+     * 
+     * @param read Lectura.
+     * @return Resultado de la lectura.
+     */
+    protected <T> T read(Supplier<T> read) {
+
+        // ? Iría a la primaria de todos modos
+        if (replicaRouting == null || !replicaRouting.readsFromReplica()) {
+            return read.get();
+        }
+
+        return readOnlyTransaction.execute(status -> read.get());
+    }
+
+    /**
+     * Ejecuta una lectura en la primaria aunque haya réplica (p. ej. para
+     * llenar la caché).
+     * 
+     * @param read Lectura.
+     * @return Resultado de la lectura.
+     */
+    protected <T> T readPrimary(Supplier<T> read) {
+        return replicaRouting == null ? read.get() : replicaRouting.onPrimary(read);
+    }
+
+    /**
+     * Ejecuta una operación midiendo su duración en app.service.
+     * 
+     * Los conflictos de versión se etiquetan con outcome=conflict y además se
+     * cuentan en app.service.conflicts (tasa de contención por entidad).
+     * 
+     * @param method  Nombre del método (etiqueta method).
+     * @param call    Operación a medir.
+     * @param outcome Resultado de la operación a partir de lo que devuelve.
+     * @return Lo que devuelve la operación.
+     */
+    protected <T> T observe(String method, Supplier<T> call, Function<T, String> outcome) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.get();
+            sample.stop(timer(method, outcome.apply(result), "none"));
+            return result;
+        } catch (OptimisticLockingFailureException e) {
+            sample.stop(timer(method, "conflict", e.getClass().getSimpleName()));
+            Counter.builder("app.service.conflicts")
+                    .description("Escrituras rechazadas porque otro cliente cambió la entidad antes")
+                    .tag("entity", entityName)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } catch (RuntimeException e) {
+            sample.stop(timer(method, "error", e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    /**
+     * Timer app.service para una combinación de etiquetas.
+     */
+    private Timer timer(String method, String outcome, String exception) {
+        return Timer.builder("app.service")
+                .description("Duración de las operaciones de los servicios de modelo")
+                .tag("entity", entityName)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra las filas devueltas por una lectura de listas.
+     * 
+     * @param method Nombre del método (etiqueta method).
+     * @param rows   Filas devueltas.
+     */
+    protected void recordRows(String method, int rows) {
+        DistributionSummary.builder("app.service.rows")
+                .description("Filas devueltas por las lecturas de listas")
+                .baseUnit("rows")
+                .tag("entity", entityName)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Resultado de una búsqueda por ID (etiqueta outcome).
+     */
+    private static String found(Optional<?> result) {
+        return result.isPresent() ? "found" : "not_found";
+    }
+
+    /**
+     * Resultado de una operación sin búsqueda (etiqueta outcome).
+     */
+    private static String success(Object result) {
+        return "success";
+    }
+
+    /**
+     * Crea la caché de vistas si está activada en la configuración.
+     * 
+     * app.cache.{cacheName}.enabled: Activa la caché [false].
+     * app.cache.{cacheName}.max-size: Máximo de entradas [10000].
+     * app.cache.{cacheName}.ttl: Tiempo de vida de cada entrada [10m].
+     * 
+     * @param environment Configuración de la aplicación.
+     */
+    @Override
+    public void setEnvironment(Environment environment) {
+        String prefix = "app.cache." + cacheName;
+
+        // ? Sin caché para esta entidad
+        if (cacheName == null || !environment.getProperty(prefix + ".enabled", Boolean.class, false)) {
+            return;
+        }
+
+        this.viewCache = new ViewCache<>(cacheName,
+                environment.getProperty(prefix + ".max-size", Long.class, 10_000L),
+                environment.getProperty(prefix + ".ttl", Duration.class, Duration.ofMinutes(10)));
+    }
+
+    /**
+     * Contadores de la caché de vistas.
+     * 
+     * @return Estadísticas de la caché, vacío si está desactivada.
+     */
+    public Optional<CacheStatsView> cacheStats() {
+        return Optional.ofNullable(viewCache).map(ViewCache::stats);
+    }
+
+    /**
+     * Indica si la caché de vistas está activa.
+     * 
+     * @return true si findViewById se sirve desde la caché.
+     */
+    protected boolean isCacheEnabled() {
+        return viewCache != null;
+    }
+
+    /**
+     * Invalida la vista cacheada de una M (sin efecto si no hay caché).
+     * 
+     * Las subclases deben llamarlo cuando modifican una M sin pasar por save,
+     * update o deleteById de esta clase.
+     * 
+     * @param id ID de la M.
+     */
+    protected void evictCached(ID id) {
+        if (viewCache != null && id != null) {
+            viewCache.evict(id);
+        }
+    }
+
+    /**
+     * Explica un UPDATE condicionado que no afectó filas: si la M sigue
+     * existiendo es que otro cliente cambió su versión.
+     * 
+     * @param id ID de la M.
+     * @throws VersionConflictException si la M existe (con su versión actual).
+     */
+    protected void throwIfConflict(ID id) {
+        Optional<Long> current = repository.findVersionById(id);
+
+        // ? La M existe: conflicto de versión
+        if (current.isPresent()) {
+            throw new VersionConflictException(entityName, id, current.get());
+        }
+    }
+
+    /**
+     * Elimina la fila de una M con un solo DELETE, sin cargarla. Las subclases
+     * lo sobrescriben si antes deben borrar filas hijas.
+     * 
+     * @param id ID de la M.
+     * @return Filas afectadas (0 = la M no existe).
+     */
+    protected int deleteRow(ID id) {
+        return repository.deleteRowById(id);
+    }
+
+    /**
+     * Se ejecuta después de guardar una M (sin efecto por defecto). Las
+     * subclases lo usan para mantener datos derivados.
+     * 
+     * @param saved M guardada.
+     */
+    protected void afterSave(M saved) {
+    }
+
+    /**
+     * Se ejecuta después de actualizar una M con updateById (sin efecto por
+     * defecto). Solo recibe el ID: la M no se vuelve a leer.
+     * 
+     * @param id ID de la M actualizada.
+     */
+    protected void afterUpdate(ID id) {
+    }
+
+    /**
+     * Se ejecuta después de eliminar una M (sin efecto por defecto).
+     * 
+     * @param id ID de la M eliminada.
+     */
+    protected void afterDelete(ID id) {
     }
 
     /**
@@ -39,8 +392,309 @@ public abstract class BaseModelService<M, ID> implements IBaseService<M, ID> {
      * @return Lista de M.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<M> findAll() {
-        return repository.findAll();
+        return observe("findAll", () -> {
+            List<M> all = repository.findAll();
+            recordRows("findAll", all.size());
+            return all;
+        }, BaseModelService::success);
+    }
+
+    /**
+     * Carga las vistas posteriores al cursor, ordenadas por ID.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de vistas.
+     */
+    protected abstract List<V> loadViewsAfter(ID after, Limit limit);
+
+    /**
+     * Carga la vista de una M por su ID.
+     * 
+     * @param id ID de la M.
+     * @return Vista encontrada.
+     */
+    protected abstract Optional<V> loadView(ID id);
+
+    /**
+     * Actualiza las columnas editables de una M con una sola sentencia
+     * (UPDATE ... WHERE id = ? AND version = ?), sin leerla antes. Debe
+     * incrementar la versión; si la M no trae versión no se comprueba.
+     * 
+     * La implementación debe asignar el ID (y la última modificación y la
+     * nueva versión) a la M recibida, que es la que devuelve update.
+     * 
+     * @param id     ID de la M.
+     * @param entity Datos nuevos de la M (con la versión que leyó el cliente).
+     * @return Filas afectadas (0 = la M no existe o cambió de versión).
+     */
+    protected abstract int updateById(ID id, M entity);
+
+    /**
+     * Carga la última modificación de la vista de una M.
+     * 
+     * @param id ID de la M.
+     * @return Última modificación, vacío si la M no existe.
+     */
+    protected abstract Optional<Instant> loadViewUpdatedAt(ID id);
+
+    /**
+     * Carga las versiones de las vistas posteriores al cursor, ordenadas por ID.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de versiones.
+     */
+    protected abstract List<ViewVersion<ID>> loadViewVersionsAfter(ID after, Limit limit);
+
+    /**
+     * Obtiene el ETag (fuerte) de la vista de una M.
+     * 
+     * @param id ID de la M.
+     * @return ETag entre comillas, vacío si la M no existe.
+     */
+    @Override
+    public Optional<String> findETag(ID id) {
+        return observe("findETag",
+                () -> read(() -> loadViewUpdatedAt(id)).map(updatedAt -> "\"" + id + "-" + toStamp(updatedAt) + "\""),
+                BaseModelService::found);
+    }
+
+    /**
+     * Obtiene el ETag (fuerte) de una página de vistas.
+     * 
+     * Se calcula con los IDs y versiones de las mismas filas que leería
+     * findPage (size + 1), así cambia si se crea, modifica o elimina cualquier
+     * elemento de la página o cambia el cursor siguiente.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return ETag entre comillas.
+     */
+    @Override
+    public String findPageETag(ID after, Integer limit) {
+        return findPageETag(after, limit, null);
+    }
+
+    /**
+     * Obtiene el ETag (fuerte) de otra representación de la misma página
+     * (p. ej. resúmenes): mismas filas, pero el nombre de la representación
+     * entra en la clave, así dos cuerpos distintos nunca comparten ETag.
+     * 
+     * @param after          Cursor: último ID de la página anterior (null =
+     *                       primera).
+     * @param limit          Tamaño de página solicitado (null = por defecto).
+     * @param representation Nombre de la representación (null = vistas).
+     * @return ETag entre comillas.
+     */
+    public String findPageETag(ID after, Integer limit, String representation) {
+        return observe("findPageETag", () -> pageETag(after, limit, representation), BaseModelService::success);
+    }
+
+    /**
+     * Calcula el ETag de una página (ver findPageETag).
+     */
+    private String pageETag(ID after, Integer limit, String representation) {
+        int size = clampPageSize(limit);
+        StringBuilder key = new StringBuilder();
+        if (representation != null) {
+            key.append(representation).append(':');
+        }
+        key.append(after).append('/').append(size);
+
+        List<ViewVersion<ID>> versions = read(() -> loadViewVersionsAfter(after, Limit.of(size + 1)));
+        for (ViewVersion<ID> version : versions) {
+            key.append('|').append(version.id()).append(':').append(toStamp(version.updatedAt()));
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Convierte una última modificación en texto corto (microsegundos en hex).
+     * 
+     * @param updatedAt Última modificación (null = desconocida).
+     * @return Marca de versión.
+     */
+    private static String toStamp(Instant updatedAt) {
+        if (updatedAt == null) {
+            return "0";
+        }
+        return Long.toHexString(updatedAt.getEpochSecond() * 1_000_000L + updatedAt.getNano() / 1_000);
+    }
+
+    /**
+     * Obtiene una página de vistas buscando por el índice de la clave primaria.
+     * 
+     * Se lee una fila extra para saber si existe una página siguiente sin
+     * necesidad de un COUNT.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return Página de vistas con el cursor de la siguiente.
+     */
+    @Override
+    public CursorPage<V, ID> findPage(ID after, Integer limit) {
+        return observe("findPage", () -> {
+            CursorPage<V, ID> page = page(after, limit);
+            recordRows("findPage", page.items().size());
+            return page;
+        }, BaseModelService::success);
+    }
+
+    /**
+     * Lee una página de vistas (ver findPage).
+     */
+    private CursorPage<V, ID> page(ID after, Integer limit) {
+        int size = clampPageSize(limit);
+
+        // ? Lee size + 1 filas para detectar si hay más
+        List<V> rows = read(() -> loadViewsAfter(after, Limit.of(size + 1)));
+
+        // ? Es la última página
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, size);
+        }
+
+        List<V> items = rows.subList(0, size);
+        return new CursorPage<>(items, items.get(size - 1).getId(), size);
+    }
+
+    /**
+     * Obtiene la vista de una M por su ID.
+     * 
+     * @param id ID de la M.
+     * @return Vista encontrada.
+     */
+    @Override
+    public Optional<V> findViewById(ID id) {
+        return observe("findViewById", () -> {
+
+            // ? Sin caché: siempre a la base de datos
+            if (viewCache == null) {
+                return read(() -> loadView(id));
+            }
+
+            // ? Lo cacheado se lee de la primaria
+            return viewCache.get(id, key -> readPrimary(() -> loadView(key)));
+        }, BaseModelService::found);
+    }
+
+    /**
+     * Relaciones que el cliente puede pedir con ?expand= (ninguna por
+     * defecto: cualquier ?expand= responde 400 antes de llegar a
+     * loadExpanded).
+     * 
+     * @return Nombres de las relaciones.
+     */
+    public Set<String> expansions() {
+        return Set.of();
+    }
+
+    /**
+     * Carga la vista de una M con las relaciones pedidas, en una consulta.
+     * 
+     * ⚠️ Solo recibe relaciones de expansions(); un servicio sin relaciones
+     * puede devolver Optional.empty().
+     * 
+     * @param id     ID de la M.
+     * @param expand Relaciones pedidas (ya validadas, no vacías).
+     * @return Vista con las relaciones, vacío si la M no existe.
+     */
+    protected abstract Optional<? extends IIdentifiable<ID>> loadExpanded(ID id, Set<String> expand);
+
+    /**
+     * Carga las vistas posteriores al cursor con las relaciones pedidas,
+     * ordenadas por ID.
+     * 
+     * @param after  Cursor: último ID de la página anterior (null = primera).
+     * @param limit  Máximo de filas a leer.
+     * @param expand Relaciones pedidas (ya validadas, no vacías).
+     * @return Lista de vistas con las relaciones.
+     */
+    protected abstract List<? extends IIdentifiable<ID>> loadExpandedAfter(ID after, Limit limit,
+            Set<String> expand);
+
+    /**
+     * Obtiene una M por su ID con las relaciones pedidas en ?expand=.
+     * 
+     * 🧠 Cada combinación de relaciones tiene su consulta (join fetch): la
+     * respuesta sale de una sola consulta, sin cargas perezosas (N+1) al
+     * armarla.
+     * 
+     * ⚠️ No usa la caché de vistas.
+     * 
+     * @param id     ID de la M.
+     * @param expand Relaciones pedidas.
+     * @return Vista con las relaciones, vacío si la M no existe.
+     * @throws ResponseStatusException 400 si alguna relación no existe.
+     */
+    public Optional<? extends IIdentifiable<ID>> findExpandedById(ID id, Set<String> expand) {
+        checkExpand(expand);
+        return observe("findExpandedById", () -> read(() -> loadExpanded(id, expand)), BaseModelService::found);
+    }
+
+    /**
+     * Obtiene una página de vistas con las relaciones pedidas en ?expand=
+     * (mismo cursor y tamaño que findPage).
+     * 
+     * @param after  Cursor: último ID de la página anterior (null = primera).
+     * @param limit  Tamaño de página solicitado (null = por defecto).
+     * @param expand Relaciones pedidas.
+     * @return Página de vistas con el cursor de la siguiente.
+     * @throws ResponseStatusException 400 si alguna relación no existe.
+     */
+    public CursorPage<? extends IIdentifiable<ID>, ID> findExpandedPage(ID after, Integer limit,
+            Set<String> expand) {
+        checkExpand(expand);
+        return observe("findExpandedPage", () -> {
+            int size = clampPageSize(limit);
+
+            // ? Lee size + 1 filas para detectar si hay más
+            List<? extends IIdentifiable<ID>> rows = read(() -> loadExpandedAfter(after, Limit.of(size + 1), expand));
+            recordRows("findExpandedPage", Math.min(rows.size(), size));
+
+            // ? Es la última página
+            if (rows.size() <= size) {
+                return new CursorPage<>(rows, null, size);
+            }
+
+            List<? extends IIdentifiable<ID>> items = rows.subList(0, size);
+            return new CursorPage<>(items, items.get(size - 1).getId(), size);
+        }, BaseModelService::success);
+    }
+
+    /**
+     * Comprueba que las relaciones pedidas existan.
+     * 
+     * @param expand Relaciones pedidas.
+     * @throws ResponseStatusException 400 si alguna no existe.
+     */
+    private void checkExpand(Set<String> expand) {
+        Set<String> allowed = expansions();
+        for (String relation : expand) {
+
+            // ? Relación desconocida
+            if (!allowed.contains(relation)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se puede expandir '" + relation
+                        + "'. Permitidas: " + (allowed.isEmpty() ? "ninguna" : String.join(", ", new TreeSet<>(allowed))) + ".");
+            }
+        }
+    }
+
+    /**
+     * Ajusta el tamaño de página solicitado al rango [1, MAX_PAGE_SIZE].
+     * 
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return Tamaño de página a aplicar.
+     */
+    protected int clampPageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     /**
@@ -50,8 +704,9 @@ public abstract class BaseModelService<M, ID> implements IBaseService<M, ID> {
      * @return M encontrada.
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<M> findById(ID id) {
-        return repository.findById(id);
+        return observe("findById", () -> repository.findById(id), BaseModelService::found);
     }
 
     /**
@@ -62,47 +717,64 @@ public abstract class BaseModelService<M, ID> implements IBaseService<M, ID> {
      */
     @Override
     public M save(M entity) {
-        return repository.save(entity);
+        return observe("save", () -> {
+            M saved = repository.save(entity);
+            evictCached(saved.getId());
+            afterSave(saved);
+            return saved;
+        }, BaseModelService::success);
     }
 
     /**
-     * Actualiza una M.
+     * Actualiza una M con un UPDATE condicionado a la versión que trae (sin
+     * bloquear la fila). Sin versión, el último en escribir gana.
+     * 
+     * @Transactional: Sin versión del cliente, la nueva se lee después del
+     *                 UPDATE; en la misma transacción la fila sigue bloqueada
+     *                 y se lee la versión escrita, no la de otro cliente.
      * 
      * @param id ID de la M.
      * @param entity M a actualizar.
-     * @return M actualizada.
+     * @return M actualizada (con su nueva versión), vacío si no existe.
+     * @throws VersionConflictException si otro cliente la cambió antes.
      */
     @Override
+    @Transactional
     public Optional<M> update(ID id, M entity) {
+        return observe("update", () -> {
 
-        // ? Si la M existe, la actualiza y retorna la M actualizada
-        if (repository.existsById(id)) {
+            // ? Ninguna fila afectada: la M no existe (o cambió de versión)
+            if (updateById(id, entity) == 0) {
+                throwIfConflict(id);
+                return Optional.<M>empty();
+            }
 
-            // ? Actualiza la M
-            return Optional.of(repository.save(entity));
-        }
-
-        // ? Si la M no existe, retorna empty
-        return Optional.empty();
+            evictCached(id);
+            afterUpdate(id);
+            return Optional.of(entity);
+        }, BaseModelService::found);
     }
 
     /**
-     * Elimina una M por su ID.
+     * Elimina una M por su ID con un solo DELETE (ver deleteRow): el número de
+     * filas afectadas indica si existía, sin SELECT previo.
      * 
      * @param id ID de la M.
      * @return true si la M fue eliminada, false en caso contrario.
      */
     @Override
     public boolean deleteById(ID id) {
+        return observe("deleteById", () -> {
 
-        // ? Si la M existe, la elimina y retorna true
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
+            // ? Ninguna fila afectada: la M no existe
+            if (deleteRow(id) == 0) {
+                return false;
+            }
+
+            evictCached(id);
+            afterDelete(id);
             return true;
-        }
-        
-        // ? Si la M no existe, retorna false
-        return false;
+        }, deleted -> deleted ? "found" : "not_found");
     }
 
 }
@@ -1,53 +1,1135 @@
 package com.astralz.project_notes_back.services.models;
 
+import com.astralz.project_notes_back.dto.BatchItemResult;
+import com.astralz.project_notes_back.dto.BatchResult;
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.DateRange;
+import com.astralz.project_notes_back.dto.NoteExpandedView;
+import com.astralz.project_notes_back.dto.NoteExportRow;
+import com.astralz.project_notes_back.dto.NotePatch;
+import com.astralz.project_notes_back.dto.NoteSearchHit;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.dto.UserNoteCount;
+import com.astralz.project_notes_back.dto.ViewVersion;
 import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
 import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.repositories.UserRepository;
+import com.astralz.project_notes_back.services.autosave.NoteAutosaveBuffer;
+import com.astralz.project_notes_back.services.search.NoteSearchIndex;
+import com.astralz.project_notes_back.services.stats.UserNoteStatsService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Interfaz que define los métodos para manejar las notas.
  * 
  * @NoteService: Interfaz que define los métodos para manejar las notas.
  * @Note: Entidad que representa una nota.
+ * @NoteView: Vista de lectura de una nota.
  * @Long: Tipo de dato del identificador de la nota.
  */
 @Service
-public class NoteService extends BaseModelService<Note, Long> {
+public class NoteService extends BaseModelService<Note, NoteView, Long> {
+
+    /**
+     * Cada cuántas filas exportadas se envían los bytes al cliente.
+     */
+    private static final int EXPORT_FLUSH_EVERY = Integer.parseInt(NoteRepository.EXPORT_FETCH_SIZE);
+
+    /**
+     * Resultados de búsqueda cuando el cliente no indica ?limit.
+     */
+    public static final int DEFAULT_SEARCH_RESULTS = 20;
+
+    /**
+     * Máximo de resultados de búsqueda por petición.
+     */
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    // Relaciones de ?expand=
+    private static final String EXPAND_USER = "user";
+    private static final String EXPAND_USER_DETAILS = "user.details";
+    private static final Set<String> EXPANSIONS = Set.of(EXPAND_USER, EXPAND_USER_DETAILS);
+
+    /**
+     * Logger del servicio [Para mostrar errores o información en la consola].
+     */
+    private final Logger logger = LoggerFactory.getLogger(NoteService.class);
+
+    /**
+     * Repositorio que maneja la persistencia de datos para notas.
+     */
+    private final NoteRepository noteRepository;
+
+    /**
+     * EntityManager compartido, para persistir los lotes sin cargar usuarios.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Writer de Jackson reutilizable para las líneas de exportación.
+     */
+    private final ObjectWriter exportWriter;
+
+    /**
+     * Repositorio de usuarios, para comprobar los dueños de las notas por lotes.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Validador de Bean Validation, para validar cada nota de un lote por separado.
+     */
+    private final Validator validator;
+
+    /**
+     * Plantilla de transacción: cada bloque de un lote se guarda en su propia
+     * transacción.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Índice de búsqueda de texto, se actualiza en cada alta, cambio o baja.
+     */
+    private final NoteSearchIndex searchIndex;
+
+    /**
+     * Buffer del autoguardado (último cambio pendiente de cada nota).
+     */
+    private final NoteAutosaveBuffer autosaveBuffer;
+
+    /**
+     * Estadísticas de notas por usuario, se mantienen en cada alta o baja.
+     */
+    private final UserNoteStatsService noteStats;
+
+    /**
+     * Evita que dos vaciados del buffer (el periódico y el del apagado)
+     * escriban a la vez. ReentrantLock y no synchronized: hace E/S.
+     */
+    private final ReentrantLock autosaveFlushLock = new ReentrantLock();
+
+    /**
+     * Notas que se guardan por transacción en saveBatch.
+     */
+    private final int batchChunkSize;
+
+    /**
+     * Máximo de notas aceptadas en una sola petición de saveBatch.
+     */
+    private final int batchMaxItems;
 
     /**
      * Constructor con inyección de dependencia del repositorio NoteRepository.
      * 
-     * @param noteRepository Repositorio que maneja la persistencia de datos para
-     *                       notas.
+     * @param noteRepository     Repositorio que maneja la persistencia de datos
+     *                           para notas.
+     * @param userRepository     Repositorio que maneja la persistencia de datos
+     *                           para usuarios.
+     * @param entityManager      EntityManager compartido.
+     * @param objectMapper       ObjectMapper configurado por Spring.
+     * @param validator          Validador de Bean Validation.
+     * @param transactionManager Gestor de transacciones.
+     * @param searchIndex        Índice de búsqueda de texto.
+     * @param autosaveBuffer     Buffer del autoguardado.
+     * @param noteStats          Estadísticas de notas por usuario.
+     * @param batchChunkSize     Notas por transacción en saveBatch.
+     * @param batchMaxItems      Máximo de notas por petición en saveBatch.
+     */
+    public NoteService(NoteRepository noteRepository, UserRepository userRepository, EntityManager entityManager,
+            ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager,
+            NoteSearchIndex searchIndex, NoteAutosaveBuffer autosaveBuffer, UserNoteStatsService noteStats,
+            @Value("${app.notes.batch.chunk-size:100}") int batchChunkSize,
+            @Value("${app.notes.batch.max-items:1000}") int batchMaxItems) {
+        super(noteRepository, "notes");
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.exportWriter = objectMapper.writerFor(NoteExportRow.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchIndex = searchIndex;
+        this.autosaveBuffer = autosaveBuffer;
+        this.noteStats = noteStats;
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxItems = batchMaxItems;
+    }
+
+    /**
+     * Carga las vistas de notas posteriores al cursor (con los autoguardados
+     * pendientes aplicados).
+     * 
+     * @param after Cursor (null = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de vistas de notas.
+     */
+    @Override
+    protected List<NoteView> loadViewsAfter(Long after, Limit limit) {
+        List<NoteView> views = noteRepository.findViewsAfter(after == null ? 0L : after, limit);
+        return autosaveBuffer.isEmpty() ? views : views.stream().map(autosaveBuffer::applyTo).toList();
+    }
+
+    /**
+     * Carga la vista de una nota (con su autoguardado pendiente aplicado).
+     * 
+     * @param id ID de la nota.
+     * @return Vista de la nota.
+     */
+    @Override
+    protected Optional<NoteView> loadView(Long id) {
+        return noteRepository.findViewById(id).map(autosaveBuffer::applyTo);
+    }
+
+    /**
+     * Carga la versión de la vista de una nota (un autoguardado pendiente
+     * también la cambia).
+     * 
+     * @param id ID de la nota.
+     * @return Última modificación de la vista.
+     */
+    @Override
+    protected Optional<Instant> loadViewUpdatedAt(Long id) {
+        return noteRepository.findViewUpdatedAt(id).map(stored -> autosaveBuffer.latest(id, stored));
+    }
+
+    /**
+     * Carga las versiones de las vistas posteriores al cursor (contando los
+     * autoguardados pendientes).
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de versiones.
+     */
+    @Override
+    protected List<ViewVersion<Long>> loadViewVersionsAfter(Long after, Limit limit) {
+        List<ViewVersion<Long>> versions = noteRepository.findViewVersionsAfter(after == null ? 0L : after, limit);
+        return autosaveBuffer.isEmpty() ? versions
+                : versions.stream()
+                        .map(v -> new ViewVersion<>(v.id(), autosaveBuffer.latest(v.id(), v.updatedAt())))
+                        .toList();
+    }
+
+    /**
+     * Relaciones de ?expand=: user (el dueño) y user.details (el dueño con
+     * sus detalles).
+     * 
+     * @return Nombres de las relaciones.
+     */
+    @Override
+    public Set<String> expansions() {
+        return EXPANSIONS;
+    }
+
+    /**
+     * Carga una nota con su dueño en una consulta (con su autoguardado
+     * pendiente aplicado).
+     * 
+     * @param id     ID de la nota.
+     * @param expand Relaciones pedidas.
+     * @return Vista de la nota con su dueño.
      */
-    public NoteService(NoteRepository noteRepository) {
-        super(noteRepository);
+    @Override
+    protected Optional<NoteExpandedView> loadExpanded(Long id, Set<String> expand) {
+        return noteRepository.findWithOwnerById(id).map(note -> expandedView(note, expand));
+    }
+
+    /**
+     * Carga las notas posteriores al cursor con su dueño en una consulta.
+     * 
+     * @param after  Cursor (null = primera página).
+     * @param limit  Máximo de filas a leer.
+     * @param expand Relaciones pedidas.
+     * @return Lista de vistas con su dueño.
+     */
+    @Override
+    protected List<NoteExpandedView> loadExpandedAfter(Long after, Limit limit, Set<String> expand) {
+        return noteRepository.findWithOwnerAfter(after == null ? 0L : after, limit).stream()
+                .map(note -> expandedView(note, expand))
+                .toList();
+    }
+
+    /**
+     * Arma la vista expandida de una nota ya cargada.
+     */
+    private NoteExpandedView expandedView(Note note, Set<String> expand) {
+        boolean details = expand.contains(EXPAND_USER_DETAILS);
+        return NoteExpandedView.from(autosaveBuffer.applyTo(note), details || expand.contains(EXPAND_USER), details);
     }
 
     /**
-     * Obtiene todas las notas.
+     * Obtiene una nota por su ID (con su autoguardado pendiente aplicado).
      * 
-     * @return Lista de notas.
+     * @param id ID de la nota.
+     * @return Nota encontrada.
      */
     @Override
-    public Optional<Note> update(Long id, Note updatedNote) {
+    public Optional<Note> findById(Long id) {
+        return super.findById(id).map(autosaveBuffer::applyTo);
+    }
+
+    /**
+     * Obtiene una página de resúmenes de notas (mismo cursor y tamaño que
+     * findPage), con los autoguardados pendientes aplicados.
+     *
+     * 🧠 No lee la columna TEXT del contenido ni une al usuario: cada fila
+     * trae columnas cortas y la vista previa guardada. El contenido completo
+     * se obtiene con findViewById.
+     *
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto).
+     * @return Página de resúmenes con el cursor de la siguiente.
+     */
+    public CursorPage<NoteSummaryView, Long> findSummaryPage(Long after, Integer limit) {
+        return observe("findSummaryPage", () -> {
+            int size = clampPageSize(limit);
+
+            // ? Lee size + 1 filas para detectar si hay más
+            List<NoteSummaryView> rows = read(
+                    () -> noteRepository.findSummariesAfter(after == null ? 0L : after, Limit.of(size + 1)));
+            recordRows("findSummaryPage", Math.min(rows.size(), size));
+
+            List<NoteSummaryView> items = rows.size() <= size ? rows : rows.subList(0, size);
+            if (!autosaveBuffer.isEmpty()) {
+                items = items.stream().map(autosaveBuffer::applyTo).toList();
+            }
+
+            // ? Es la última página
+            return new CursorPage<>(items, rows.size() <= size ? null : items.get(size - 1).id(), size);
+        }, page -> "success");
+    }
+
+    /**
+     * Obtiene una página de resúmenes de las notas de un usuario, de la más
+     * reciente a la más antigua (con los autoguardados pendientes aplicados).
+     *
+     * 🧠 El cursor es "fecha_id" de la última nota de la página (p. ej.
+     * "2024-02-29_123"): cada página es un rango del índice (user_id,
+     * creation_date, id), sin OFFSET ni ordenar en memoria. La existencia del
+     * usuario solo se consulta si la página sale vacía.
+     *
+     * ⚠️ Las notas sin fecha de creación (escritas por fuera de JPA) no se
+     * pueden paginar con este cursor.
+     *
+     * @param userId ID del usuario.
+     * @param after  Cursor devuelto en `next` por la página anterior (null =
+     *               primera).
+     * @param limit  Tamaño de página solicitado (null = por defecto).
+     * @return Página de resúmenes, vacío si el usuario no existe.
+     * @throws ResponseStatusException 400 si el cursor no es válido.
+     */
+    public Optional<CursorPage<NoteSummaryView, String>> findUserPage(Long userId, String after, Integer limit) {
+        int size = clampPageSize(limit);
+        DateCursor cursor = parseDateCursor(after, DateRange.MAX);
 
-        // ? Existe la nota
-        if (repository.existsById(id)) {
+        return observe("findUserPage", () -> read(() -> {
 
-            // ? Actualiza la nota
-            return super.findById(id).map(existingNote -> {
-                existingNote.setTitle(updatedNote.getTitle());
-                existingNote.setContent(updatedNote.getContent());
-                return repository.save(existingNote);
+            // ? Lee size + 1 filas para detectar si hay más
+            List<NoteSummaryView> rows = noteRepository.findSummariesByUserBetween(userId, DateRange.MIN,
+                    cursor.creationDate(), cursor.id(), Limit.of(size + 1));
+            recordRows("findUserPage", Math.min(rows.size(), size));
+
+            // ? Sin notas: puede que el usuario no exista
+            if (rows.isEmpty() && !userRepository.existsById(userId)) {
+                return Optional.<CursorPage<NoteSummaryView, String>>empty();
+            }
+
+            return Optional.of(toDatePage(rows, size));
+        }), page -> page.isPresent() ? "found" : "not_found");
+    }
+
+    /**
+     * Obtiene una página de resúmenes de las notas creadas en un rango de
+     * fechas (de todos los usuarios o de uno), de la más reciente a la más
+     * antigua.
+     *
+     * 🧠 Mismo cursor "fecha_id" que findUserPage: cada página es un rango
+     * del índice (creation_date, id), o (user_id, creation_date, id) con
+     * userId, sin leer las notas fuera del rango.
+     *
+     * @param range  Rango de fechas de creación (ambos extremos incluidos).
+     * @param userId ID del usuario (null = todos; un usuario inexistente
+     *               devuelve una página vacía).
+     * @param after  Cursor devuelto en `next` por la página anterior (null =
+     *               primera).
+     * @param limit  Tamaño de página solicitado (null = por defecto).
+     * @return Página de resúmenes.
+     * @throws ResponseStatusException 400 si el cursor no es válido.
+     */
+    public CursorPage<NoteSummaryView, String> findRangePage(DateRange range, Long userId, String after,
+            Integer limit) {
+        int size = clampPageSize(limit);
+        DateCursor cursor = parseDateCursor(after, range.to());
+
+        return observe("findRangePage", () -> read(() -> {
+
+            // ? Lee size + 1 filas para detectar si hay más
+            List<NoteSummaryView> rows = userId == null
+                    ? noteRepository.findSummariesBetween(range.from(), cursor.creationDate(), cursor.id(),
+                            Limit.of(size + 1))
+                    : noteRepository.findSummariesByUserBetween(userId, range.from(), cursor.creationDate(),
+                            cursor.id(), Limit.of(size + 1));
+            recordRows("findRangePage", Math.min(rows.size(), size));
+
+            return toDatePage(rows, size);
+        }), page -> "success");
+    }
+
+    /**
+     * Arma una página de findUserPage o findRangePage (size + 1 filas leídas)
+     * con los autoguardados pendientes aplicados.
+     *
+     * @param rows Filas leídas.
+     * @param size Tamaño de página.
+     * @return Página con el cursor "fecha_id" de la siguiente.
+     */
+    private CursorPage<NoteSummaryView, String> toDatePage(List<NoteSummaryView> rows, int size) {
+        List<NoteSummaryView> items = rows.size() <= size ? rows : rows.subList(0, size);
+        if (!autosaveBuffer.isEmpty()) {
+            items = items.stream().map(autosaveBuffer::applyTo).toList();
+        }
+
+        // ? Es la última página
+        if (rows.size() <= size) {
+            return new CursorPage<>(items, null, size);
+        }
+
+        NoteSummaryView last = items.get(size - 1);
+        return new CursorPage<>(items, last.creationDate() + "_" + last.id(), size);
+    }
+
+    /**
+     * Cursor de findUserPage y findRangePage: fecha e ID de la última nota
+     * leída.
+     */
+    private record DateCursor(LocalDate creationDate, Long id) {
+    }
+
+    /**
+     * Lee el cursor de findUserPage y findRangePage ("fecha_id").
+     *
+     * @param after Cursor recibido (null = primera página).
+     * @param to    Último día del rango.
+     * @return Fecha e ID de la última nota leída (en la primera página, el
+     *         último día del rango y Long.MAX_VALUE: incluye todas sus notas).
+     * @throws ResponseStatusException 400 si el cursor no es válido.
+     */
+    private static DateCursor parseDateCursor(String after, LocalDate to) {
+        if (after == null || after.isBlank()) {
+            return new DateCursor(to, Long.MAX_VALUE);
+        }
+
+        int separator = after.indexOf('_');
+        DateCursor cursor;
+        try {
+            cursor = new DateCursor(LocalDate.parse(after.substring(0, Math.max(separator, 0))),
+                    Long.parseLong(after.substring(separator + 1)));
+
+            // ! Error: cursor mal formado
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + after);
+        }
+
+        // ? Cursor posterior al rango: se empieza por su último día
+        return cursor.creationDate().isAfter(to) ? new DateCursor(to, Long.MAX_VALUE) : cursor;
+    }
+
+    /**
+     * Crea una nota (el ID recibido se ignora: siempre es un INSERT).
+     * 
+     * El usuario del cuerpo solo trae su ID: se enlaza una referencia
+     * (getReference) para que el INSERT use la clave foránea sin consultar al
+     * usuario. Solo si el INSERT falla se comprueba si el dueño existe.
+     * 
+     * La nota y las estadísticas de su usuario se escriben en la misma
+     * transacción.
+     * 
+     * @param note Nota a crear.
+     * @return Nota creada.
+     * @throws ResponseStatusException 400 si el usuario no existe.
+     */
+    @Override
+    public Note save(Note note) {
+        User owner = note.getUser();
+
+        // ? Sin ID de usuario
+        if (owner == null || owner.getId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El usuario no existe.");
+        }
+
+        note.setId(null);
+        note.setUser(entityManager.getReference(User.class, owner.getId()));
+        try {
+            return transactionTemplate.execute(status -> {
+                Note saved = super.save(note);
+                noteStats.added(owner.getId(), 1, saved.getCreationDate());
+                return saved;
             });
+        } catch (DataIntegrityViolationException e) {
+
+            // ! Clave foránea rota: el dueño no existe
+            if (!userRepository.existsById(owner.getId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El usuario no existe.");
+            }
+            throw e;
+        } finally {
 
+            // ? La respuesta lleva el usuario recibido, no la referencia sin cargar
+            note.setUser(owner);
         }
+    }
+
+    /**
+     * Mantiene el índice de búsqueda al guardar una nota.
+     * 
+     * @param saved Nota guardada.
+     */
+    @Override
+    protected void afterSave(Note saved) {
+        searchIndex.index(saved);
+    }
+
+    /**
+     * Invalida las vistas cacheadas de las notas de un usuario que cambió o se
+     * eliminó (la vista lleva su username y el ETag su última modificación).
+     * 
+     * 🧠 Solo las de ese usuario: sus IDs salen del índice de user_id y el
+     * resto de la caché se conserva.
+     * 
+     * @param userId ID del usuario.
+     */
+    public void evictOwnerViews(Long userId) {
+
+        // ? Sin caché no hay nada que invalidar (ni que consultar)
+        if (!isCacheEnabled()) {
+            return;
+        }
+
+        noteRepository.findIdsByUserId(userId).forEach(this::evictCached);
+    }
+
+    /**
+     * Elimina una nota y la descuenta de las estadísticas de su usuario, en
+     * una transacción (el dueño y la fecha se leen antes del DELETE por clave
+     * primaria).
+     * 
+     * @param id ID de la nota.
+     * @return Filas afectadas (0 = la nota no existe).
+     */
+    @Override
+    protected int deleteRow(Long id) {
+        return transactionTemplate.execute(status -> {
+            List<UserNoteCount> counts = noteRepository.countByUserAndDayIn(List.of(id));
 
-        return Optional.empty();
+            // ? La nota no existe
+            if (counts.isEmpty()) {
+                return 0;
+            }
+
+            int rows = super.deleteRow(id);
+            if (rows > 0) {
+                noteStats.removed(counts);
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * Quita la nota del índice de búsqueda al eliminarla.
+     * 
+     * @param id ID de la nota eliminada.
+     */
+    @Override
+    protected void afterDelete(Long id) {
+        searchIndex.delete(id);
+    }
+
+    /**
+     * Busca notas por título y contenido, ordenadas por relevancia.
+     * 
+     * @param text   Texto a buscar.
+     * @param userId Limita la búsqueda a las notas del usuario (null = todas).
+     * @param limit  Máximo de resultados (null = por defecto).
+     * @return Resultados ordenados por relevancia.
+     */
+    public List<NoteSearchHit> search(String text, Long userId, Integer limit) {
+        return searchIndex.search(text, userId, clampSearchLimit(limit));
+    }
+
+    /**
+     * Ajusta el máximo de resultados de búsqueda al rango [1, MAX_SEARCH_RESULTS].
+     * 
+     * @param limit Máximo solicitado (null = por defecto).
+     * @return Máximo a aplicar.
+     */
+    private static int clampSearchLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_SEARCH_RESULTS;
+        }
+        return Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    /**
+     * Guarda muchas notas a la vez, en bloques de batchChunkSize.
+     * 
+     * 🧠 Cada nota se valida por separado y cada bloque se guarda en su propia
+     * transacción (con flush/clear al terminar), así una nota inválida o con
+     * título repetido no hace fallar al resto del lote.
+     * 
+     * @param notes Notas a guardar.
+     * @return Resultado de cada nota, en el orden recibido.
+     * @throws ResponseStatusException 400 si el lote supera batchMaxItems.
+     */
+    public BatchResult saveBatch(List<Note> notes) {
+
+        // ? Lote demasiado grande
+        if (notes.size() > batchMaxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El lote no puede tener más de " + batchMaxItems + " notas.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[notes.size()];
+        List<Integer> pending = new ArrayList<>(notes.size());
+        Set<String> titles = new HashSet<>();
+
+        // Valida cada nota y detecta títulos repetidos dentro del mismo lote
+        for (int i = 0; i < notes.size(); i++) {
+            Note note = notes.get(i);
+            Set<ConstraintViolation<Note>> violations = note == null ? Set.of() : validator.validate(note);
+
+            if (note == null) {
+                results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID,
+                        Map.of("note", "La nota no puede ser nula."));
+            } else if (!violations.isEmpty()) {
+                results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID, toErrors(violations));
+            } else if (note.getUser().getId() == null) {
+                results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID,
+                        Map.of("user", "Esta nota no tiene un usuario asignado."));
+            } else if (!titles.add(note.getTitle())) {
+                results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.DUPLICATE,
+                        Map.of("title", "El título está repetido dentro del lote."));
+            } else {
+                pending.add(i);
+            }
+        }
+
+        // Guarda las notas válidas por bloques
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + batchChunkSize, pending.size()));
+            saveChunk(notes, chunk, results);
+
+            // Indexa las notas creadas del bloque
+            searchIndex.indexAll(chunk.stream()
+                    .filter(i -> results[i].status() == BatchItemResult.Status.CREATED)
+                    .map(notes::get)
+                    .toList());
+        }
+
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Guarda un bloque de notas en una sola transacción.
+     * 
+     * Si la base de datos rechaza el bloque (p. ej. otro cliente insertó el
+     * mismo título entre la comprobación y el INSERT), se reintenta nota por
+     * nota para aislar a la culpable.
+     * 
+     * @param notes   Notas del lote completo.
+     * @param chunk   Posiciones del bloque dentro del lote.
+     * @param results Resultados por posición (se completan aquí).
+     */
+    private void saveChunk(List<Note> notes, List<Integer> chunk, BatchItemResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> existingTitles = noteRepository.findExistingTitles(
+                        chunk.stream().map(i -> notes.get(i).getTitle()).toList());
+                Set<Long> existingUsers = userRepository.findExistingIds(
+                        chunk.stream().map(i -> notes.get(i).getUser().getId()).collect(Collectors.toSet()));
+
+                List<Integer> accepted = new ArrayList<>(chunk.size());
+                for (int i : chunk) {
+                    Note note = notes.get(i);
+
+                    if (existingTitles.contains(note.getTitle())) {
+                        results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.DUPLICATE,
+                                Map.of("title", "Ya existe una nota con este título."));
+                    } else if (!existingUsers.contains(note.getUser().getId())) {
+                        results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.INVALID,
+                                Map.of("user", "El usuario no existe."));
+                    } else {
+                        persistNew(note);
+                        accepted.add(i);
+                    }
+                }
+
+                // ? Envía los INSERT en lotes JDBC y vacía el contexto
+                entityManager.flush();
+                entityManager.clear();
+                noteStats.addedAll(accepted.stream().map(notes::get).toList());
+
+                accepted.forEach(i -> results[i] = BatchItemResult.created(i, notes.get(i).getId()));
+            });
+
+            // ! Error: se reintenta nota por nota (el flush explícito lanza la
+            // excepción de JPA sin traducir, no una DataAccessException)
+        } catch (DataAccessException | PersistenceException e) {
+            for (int i : chunk) {
+
+                // ? Ya rechazada antes de intentar guardarla
+                if (results[i] != null && results[i].status() != BatchItemResult.Status.CREATED) {
+                    continue;
+                }
+
+                Note note = notes.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        persistNew(note);
+                        noteStats.added(note.getUser().getId(), 1, note.getCreationDate());
+                    });
+                    results[i] = BatchItemResult.created(i, note.getId());
+                } catch (DataAccessException | PersistenceException itemError) {
+                    results[i] = BatchItemResult.rejected(i, BatchItemResult.Status.FAILED,
+                            Map.of("error", NestedExceptionUtils.getMostSpecificCause(itemError).getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Persiste una nota nueva del lote.
+     * 
+     * El ID recibido se ignora (siempre es un INSERT) y el usuario se enlaza
+     * por referencia, sin cargarlo.
+     * 
+     * @param note Nota a persistir.
+     */
+    private void persistNew(Note note) {
+        note.setId(null);
+        note.setUser(entityManager.getReference(User.class, note.getUser().getId()));
+        entityManager.persist(note);
+    }
+
+    /**
+     * Convierte las violaciones de validación en un mapa campo -> mensaje.
+     * 
+     * @param violations Violaciones de Bean Validation.
+     * @return Mapa de errores.
+     */
+    private static Map<String, String> toErrors(Set<ConstraintViolation<Note>> violations) {
+        Map<String, String> errors = new HashMap<>();
+        violations.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+        return errors;
+    }
+
+    /**
+     * Escribe todas las notas en formato NDJSON (una nota JSON por línea).
+     * 
+     * @Transactional(readOnly = true): El cursor JDBC vive mientras dure la
+     *                         transacción; solo lectura evita el dirty checking.
+     * 
+     * 🧠 La memoria se mantiene constante: el cursor trae filas planas (sin
+     * entidades en el contexto de persistencia ni usuarios) que se escriben
+     * según llegan, y cada EXPORT_FLUSH_EVERY filas se envían los bytes al
+     * cliente.
+     * 
+     * @param out Stream de salida de la respuesta HTTP.
+     * @return Número de notas exportadas.
+     * @throws IOException si el cliente cierra la conexión.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+
+        try (Stream<NoteExportRow> rows = noteRepository.streamAllForExport();
+                JsonGenerator generator = exportWriter.createGenerator(out)) {
+
+            // ? Sin separador entre valores raíz: el salto de línea se escribe a mano
+            generator.setRootValueSeparator(null);
+
+            Iterator<NoteExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                // ? Envía el bloque al cliente
+                if (++count % EXPORT_FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Actualiza el título y el contenido de una nota con un solo UPDATE (el
+     * dueño no cambia).
+     * 
+     * Si el UPDATE afecta la fila se descarta el autoguardado pendiente (la
+     * escritura explícita manda); un 404 o un 409 lo conservan.
+     * 
+     * @param id          ID de la nota.
+     * @param updatedNote Nota con los nuevos datos.
+     * @return Filas afectadas (0 = la nota no existe o cambió de versión).
+     */
+    @Override
+    protected int updateById(Long id, Note updatedNote) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Long version = updatedNote.getVersion();
+        int rows = noteRepository.updateContent(id, version, updatedNote.getTitle(), updatedNote.getContent(),
+                Note.previewOf(updatedNote.getContent()), now);
+        updatedNote.setId(id);
+        updatedNote.setUpdatedAt(now);
+
+        // ? Sin versión del cliente no se sabe a cuál subió: se lee
+        if (rows > 0) {
+            autosaveBuffer.discard(id);
+            updatedNote.setVersion(version != null ? version + 1 : noteRepository.findVersionById(id).orElse(null));
+        }
+        return rows;
+    }
+
+    /**
+     * Vuelve a indexar la nota actualizada (se lee tras el commit, en
+     * segundo plano).
+     * 
+     * @param id ID de la nota actualizada.
+     */
+    @Override
+    protected void afterUpdate(Long id) {
+        searchIndex.reindex(id);
+    }
+
+    /**
+     * Actualiza solo las columnas que vienen en el cambio (UPDATE dinámico):
+     * cambiar el título no reescribe el contenido TEXT (el contenido se
+     * escribe junto con su vista previa).
+     * 
+     * @CriteriaUpdate: Arma el SET con los campos presentes.
+     * @Transactional: executeUpdate necesita una transacción.
+     * 
+     * @param id    ID de la nota.
+     * @param patch Cambios a aplicar.
+     * @return true si la nota existe (y se actualizó), false si no.
+     * @throws ResponseStatusException 400 si el cambio no trae ningún campo.
+     * @throws VersionConflictException si trae versión y la nota cambió.
+     */
+    @Transactional
+    public boolean patch(Long id, NotePatch patch) {
+
+        // ? Nada que cambiar
+        if (patch.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cambio no trae ningún campo.");
+        }
+
+        return observe("patch", () -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaUpdate<Note> update = cb.createCriteriaUpdate(Note.class);
+            Root<Note> note = update.from(Note.class);
+
+            if (patch.title() != null) {
+                update.set(note.<String>get("title"), patch.title());
+            }
+            if (patch.content() != null) {
+                update.set(note.<String>get("content"), patch.content());
+                update.set(note.<String>get("preview"), Note.previewOf(patch.content()));
+            }
+            update.set(note.<Instant>get("updatedAt"), Instant.now().truncatedTo(ChronoUnit.MICROS));
+            update.set(note.<Long>get("version"), cb.sum(note.<Long>get("version"), 1L));
+            update.where(patch.version() == null
+                    ? cb.equal(note.get("id"), id)
+                    : cb.and(cb.equal(note.get("id"), id), cb.equal(note.get("version"), patch.version())));
+
+            // ? Ninguna fila afectada: la nota no existe (o cambió de versión)
+            if (entityManager.createQuery(update).executeUpdate() == 0) {
+                throwIfConflict(id);
+                return false;
+            }
+
+            // ? Escrito: el autoguardado pendiente ya no manda
+            autosaveBuffer.discard(id);
+            evictCached(id);
+            afterUpdate(id);
+            return true;
+        }, updated -> updated ? "found" : "not_found");
+    }
+
+    /**
+     * Elimina varias notas por ID sin cargarlas: un DELETE ... IN por bloque de
+     * batchChunkSize IDs, cada bloque en su propia transacción (junto con el
+     * descuento en las estadísticas de sus usuarios, contadas antes con un
+     * GROUP BY).
+     * 
+     * @param ids IDs de las notas (los repetidos o inexistentes se ignoran).
+     * @return Notas eliminadas.
+     * @throws ResponseStatusException 400 si hay más de batchMaxItems IDs.
+     */
+    public int deleteMany(Collection<Long> ids) {
+
+        // ? Demasiados IDs
+        if (ids.size() > batchMaxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "No se pueden eliminar más de " + batchMaxItems + " notas por petición.");
+        }
+
+        return observe("deleteMany", () -> {
+            List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+            int deleted = 0;
+
+            for (int from = 0; from < distinct.size(); from += batchChunkSize) {
+                List<Long> chunk = distinct.subList(from, Math.min(from + batchChunkSize, distinct.size()));
+                deleted += transactionTemplate.execute(status -> {
+                    List<UserNoteCount> counts = noteRepository.countByUserAndDayIn(chunk);
+                    int rows = noteRepository.deleteRowsByIds(chunk);
+                    noteStats.removed(counts);
+                    return rows;
+                });
+                chunk.forEach(this::evictCached);
+                searchIndex.deleteAll(chunk);
+            }
+
+            return deleted;
+        }, deleted -> deleted > 0 ? "found" : "not_found");
+    }
+
+    /**
+     * Elimina todas las notas de un usuario con un solo DELETE, sin cargarlas
+     * (y deja sus estadísticas en cero en la misma transacción).
+     * 
+     * @Transactional: Sus vistas cacheadas se invalidan antes del DELETE,
+     *                 cuando aún se pueden leer sus IDs, y otra vez al
+     *                 terminar la transacción.
+     * 
+     * @param userId ID del usuario.
+     * @return Notas eliminadas.
+     */
+    @Transactional
+    public int deleteByUser(Long userId) {
+        return observe("deleteByUser", () -> {
+            evictOwnerViews(userId);
+            int deleted = noteRepository.deleteRowsByUserId(userId);
+
+            // ? Deja sus estadísticas en cero y quita sus notas del índice de búsqueda
+            if (deleted > 0) {
+                noteStats.cleared(userId);
+                searchIndex.deleteByUser(userId);
+            }
+
+            return deleted;
+        }, deleted -> deleted > 0 ? "found" : "not_found");
+    }
+
+    /**
+     * Autoguarda los campos enviados de una nota.
+     * 
+     * Con app.notes.autosave.enabled=true el cambio se acumula en memoria y
+     * se escribe en el siguiente lote (flushAutosave); sin buffer (o con el
+     * buffer lleno) se escribe directo, como un PATCH.
+     * 
+     * ⚠️ No comprueba versiones: entre autoguardados gana el último.
+     * 
+     * @param id    ID de la nota.
+     * @param patch Campos a cambiar (la versión se ignora).
+     * @return true si quedó en el buffer, false si se escribió directo.
+     * @throws ResponseStatusException 400 si no trae campos, 404 si la nota
+     *                                 no existe.
+     */
+    public boolean autosave(Long id, NotePatch patch) {
+
+        // ? Nada que cambiar
+        if (patch.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El cambio no trae ningún campo.");
+        }
+
+        NotePatch change = new NotePatch(patch.title(), patch.content(), null);
+        boolean buffered = observe("autosave", () -> {
+
+            // ? La nota ya está en el buffer: no se consulta la base de datos
+            if (autosaveBuffer.contains(id) && autosaveBuffer.offer(id, change)) {
+                evictCached(id);
+                return true;
+            }
+
+            // ? La nota no existe
+            if (noteRepository.findVersionById(id).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "La nota no existe.");
+            }
+
+            // ? Buffer desactivado o lleno: se escribe directo
+            if (!autosaveBuffer.offer(id, change)) {
+                return false;
+            }
+
+            evictCached(id);
+            return true;
+        }, done -> done ? "buffered" : "written");
+
+        // ? Escritura directa (fuera de observe para no medirla dos veces)
+        if (!buffered && !transactionTemplate.execute(status -> patch(id, change))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "La nota no existe.");
+        }
+        return buffered;
+    }
+
+    /**
+     * Escribe los autoguardados pendientes por lotes.
+     * 
+     * Carga las notas pendientes con una consulta (IN), les aplica los
+     * cambios y Hibernate las escribe en lotes JDBC (hibernate.jdbc.batch_size)
+     * en una sola transacción. Si el lote falla (p. ej. un título repetido),
+     * se reintenta nota por nota para aislar a la culpable.
+     * 
+     * @Scheduled: Se ejecuta cada app.notes.autosave.flush-interval (contado
+     *             desde el final del anterior).
+     */
+    @Scheduled(fixedDelayString = "${app.notes.autosave.flush-interval:2s}")
+    public void flushAutosave() {
+
+        // ? Nada pendiente (caso normal con el buffer desactivado)
+        if (autosaveBuffer.isEmpty()) {
+            return;
+        }
+
+        autosaveFlushLock.lock();
+        try {
+            Map<Long, NoteAutosaveBuffer.Pending> pending = autosaveBuffer.snapshot();
+            observe("flushAutosave", () -> {
+                List<Long> ids = new ArrayList<>(pending.keySet());
+                for (int from = 0; from < ids.size(); from += batchChunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + batchChunkSize, ids.size()));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> writePending(chunk, pending));
+                    } catch (DataAccessException e) {
+                        chunk.forEach(id -> flushOne(id, pending));
+                        continue;
+                    }
+                    chunk.forEach(id -> afterAutosaveWritten(id, pending.get(id)));
+                }
+                return pending.size();
+            }, written -> "success");
+        } finally {
+            autosaveFlushLock.unlock();
+        }
+    }
+
+    /**
+     * Vacía el buffer al apagar la aplicación (antes de cerrar el pool JDBC).
+     */
+    @PreDestroy
+    public void flushAutosaveOnShutdown() {
+        flushAutosave();
+        if (!autosaveBuffer.isEmpty()) {
+            logger.error("❌ Autoguardados sin escribir al apagar: {}", autosaveBuffer.snapshot().keySet());
+        }
+    }
+
+    /**
+     * Aplica los cambios pendientes a las notas y deja que Hibernate las
+     * escriba al confirmar la transacción.
+     * 
+     * @param ids     IDs de las notas.
+     * @param pending Cambios pendientes por ID.
+     */
+    private void writePending(List<Long> ids, Map<Long, NoteAutosaveBuffer.Pending> pending) {
+        for (Note note : noteRepository.findAllWithOwnerById(ids)) {
+            NoteAutosaveBuffer.Pending change = pending.get(note.getId());
+
+            // ? Un PUT o PATCH lo descartó mientras tanto (aunque después
+            // llegara otro autoguardado): su escritura manda
+            if (!autosaveBuffer.isCurrent(note.getId(), change)) {
+                continue;
+            }
+
+            if (change.title() != null) {
+                note.setTitle(change.title());
+            }
+            if (change.content() != null) {
+                note.setContent(change.content());
+            }
+        }
+    }
+
+    /**
+     * Escribe el autoguardado de una sola nota (tras fallar su lote).
+     * 
+     * Si la base de datos lo rechaza (p. ej. título repetido) se descarta;
+     * otros errores (p. ej. conexión) lo dejan para el siguiente intento.
+     * 
+     * @param id      ID de la nota.
+     * @param pending Cambios pendientes por ID.
+     */
+    private void flushOne(Long id, Map<Long, NoteAutosaveBuffer.Pending> pending) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writePending(List.of(id), pending));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("⚠️ Autoguardado de la nota {} descartado: {}", id, e.getMostSpecificCause().getMessage());
+            autosaveBuffer.rejected(id, pending.get(id));
+            return;
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Autoguardado de la nota {} pendiente de reintento: {}", id, e.getMessage());
+            return;
+        }
+        afterAutosaveWritten(id, pending.get(id));
+    }
+
+    /**
+     * Quita del buffer un autoguardado ya escrito y mantiene los datos
+     * derivados (caché de vistas e índice de búsqueda).
+     * 
+     * @param id      ID de la nota.
+     * @param written Cambio escrito.
+     */
+    private void afterAutosaveWritten(Long id, NoteAutosaveBuffer.Pending written) {
+        autosaveBuffer.written(id, written);
+        evictCached(id);
+        afterUpdate(id);
     }
 
 }
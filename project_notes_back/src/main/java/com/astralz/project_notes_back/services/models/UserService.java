@@ -1,15 +1,30 @@
 package com.astralz.project_notes_back.services.models;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.dto.UserExpandedView;
+import com.astralz.project_notes_back.dto.UserView;
+import com.astralz.project_notes_back.dto.ViewVersion;
 import com.astralz.project_notes_back.models.Note;
 import com.astralz.project_notes_back.models.User;
 import com.astralz.project_notes_back.models.UserDetails;
 import com.astralz.project_notes_back.repositories.NoteRepository;
 import com.astralz.project_notes_back.repositories.UserDetailsRepository;
 import com.astralz.project_notes_back.repositories.UserRepository;
+import com.astralz.project_notes_back.services.autosave.NoteAutosaveBuffer;
+import com.astralz.project_notes_back.services.search.NoteSearchIndex;
+import com.astralz.project_notes_back.services.stats.UserNoteStatsService;
 
 import jakarta.transaction.Transactional;
 
@@ -21,7 +36,12 @@ import jakarta.transaction.Transactional;
  *                  usuarios.
  */
 @Service
-public class UserService extends BaseModelService<User, Long> {
+public class UserService extends BaseModelService<User, UserView, Long> {
+
+    // Relaciones de ?expand=
+    private static final String EXPAND_DETAILS = "details";
+    private static final String EXPAND_NOTES = "notes";
+    private static final Set<String> EXPANSIONS = Set.of(EXPAND_DETAILS, EXPAND_NOTES);
 
     private final NoteRepository noteRepository;
 
@@ -35,6 +55,26 @@ public class UserService extends BaseModelService<User, Long> {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Índice de búsqueda de notas (las notas del usuario viven y mueren con él).
+     */
+    private final NoteSearchIndex searchIndex;
+
+    /**
+     * Servicio de notas (sus vistas cacheadas llevan el username del dueño).
+     */
+    private final NoteService noteService;
+
+    /**
+     * Estadísticas de notas por usuario (la fila nace y muere con él).
+     */
+    private final UserNoteStatsService noteStats;
+
+    /**
+     * Autoguardados pendientes (las notas de ?expand=notes los incluyen).
+     */
+    private final NoteAutosaveBuffer autosaveBuffer;
+
     /**
      * Constructor con inyección de dependencia del repositorio UserRepository.
      * 
@@ -45,13 +85,225 @@ public class UserService extends BaseModelService<User, Long> {
      *                              para detalles de usuarios.
      * @param noteRepository        Repositorio que maneja la persistencia de datos
      *                              para notas.
+     * @param searchIndex           Índice de búsqueda de notas.
+     * @param noteService           Servicio de notas.
+     * @param noteStats             Estadísticas de notas por usuario.
+     * @param autosaveBuffer        Buffer del autoguardado de notas.
      */
     public UserService(UserRepository userRepository, UserDetailsRepository userDetailsRepository,
-            NoteRepository noteRepository) {
-        super(userRepository);
+            NoteRepository noteRepository, NoteSearchIndex searchIndex, NoteService noteService,
+            UserNoteStatsService noteStats, NoteAutosaveBuffer autosaveBuffer) {
+        super(userRepository, "users");
         this.userRepository = userRepository;
         this.userDetailsRepository = userDetailsRepository;
         this.noteRepository = noteRepository;
+        this.searchIndex = searchIndex;
+        this.noteService = noteService;
+        this.noteStats = noteStats;
+        this.autosaveBuffer = autosaveBuffer;
+    }
+
+    /**
+     * Invalida las vistas cacheadas de sus notas: llevan el username anterior
+     * y su ETag ya cambió (incluye la última modificación del dueño).
+     * 
+     * @param id ID del usuario actualizado.
+     */
+    @Override
+    protected void afterUpdate(Long id) {
+        noteService.evictOwnerViews(id);
+    }
+
+    /**
+     * Actualiza los datos del usuario con un solo UPDATE (los detalles y las
+     * notas no cambian).
+     * 
+     * @param id   ID del usuario.
+     * @param user Usuario con los nuevos datos.
+     * @return Filas afectadas (0 = el usuario no existe o cambió de versión).
+     */
+    @Override
+    protected int updateById(Long id, User user) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Long version = user.getVersion();
+        int rows = userRepository.updateProfile(id, user, now);
+        user.setId(id);
+        user.setUpdatedAt(now);
+
+        // ? Sin versión del cliente no se sabe a cuál subió: se lee
+        if (rows > 0) {
+            user.setVersion(version != null ? version + 1 : userRepository.findVersionById(id).orElse(null));
+        }
+        return rows;
+    }
+
+    /**
+     * Elimina un usuario con sus notas y detalles, todo en una transacción.
+     * 
+     * @Transactional: deleteRow encadena cuatro DELETE que deben aplicarse
+     *                 juntos. Las vistas de sus notas se invalidan antes,
+     *                 cuando aún se pueden leer sus IDs, y otra vez al
+     *                 terminar la transacción.
+     * 
+     * @param id ID del usuario.
+     * @return true si el usuario fue eliminado, false si no existe.
+     */
+    @Override
+    @Transactional
+    public boolean deleteById(Long id) {
+        noteService.evictOwnerViews(id);
+        return super.deleteById(id);
+    }
+
+    /**
+     * Elimina las estadísticas, las notas, los detalles y el usuario con un
+     * DELETE por tabla, sin cargar ninguna entidad (la cascada de JPA los
+     * leería uno a uno).
+     * 
+     * @param id ID del usuario.
+     * @return Filas de usuario afectadas (0 = el usuario no existe).
+     */
+    @Override
+    protected int deleteRow(Long id) {
+        noteStats.deleted(id);
+        noteRepository.deleteRowsByUserId(id);
+        userDetailsRepository.deleteRowsByUserId(id);
+        return userRepository.deleteRowById(id);
+    }
+
+    /**
+     * Crea las estadísticas del usuario nuevo (calculadas desde las notas que
+     * traiga).
+     * 
+     * @param saved Usuario guardado.
+     */
+    @Override
+    protected void afterSave(User saved) {
+        noteStats.created(saved.getId());
+    }
+
+    /**
+     * Quita del índice de búsqueda las notas del usuario eliminado (se borran
+     * junto con él).
+     * 
+     * @param id ID del usuario eliminado.
+     */
+    @Override
+    protected void afterDelete(Long id) {
+        searchIndex.deleteByUser(id);
+    }
+
+    /**
+     * Relaciones de ?expand=: details (los detalles) y notes (las notas).
+     * 
+     * @return Nombres de las relaciones.
+     */
+    @Override
+    public Set<String> expansions() {
+        return EXPANSIONS;
+    }
+
+    /**
+     * Carga un usuario con las relaciones pedidas en una consulta.
+     * 
+     * @param id     ID del usuario.
+     * @param expand Relaciones pedidas.
+     * @return Vista del usuario con sus relaciones.
+     */
+    @Override
+    protected Optional<UserExpandedView> loadExpanded(Long id, Set<String> expand) {
+
+        // ? Sin notas: solo usuario y detalles
+        if (!expand.contains(EXPAND_NOTES)) {
+            return userRepository.findWithDetailsById(id)
+                    .map(user -> UserExpandedView.from(user, expand.contains(EXPAND_DETAILS), null));
+        }
+
+        return userRepository.findWithDetailsAndNotesById(id).map(user -> UserExpandedView.from(user,
+                expand.contains(EXPAND_DETAILS),
+                user.getNotes().stream()
+                        .sorted(Comparator.comparing(Note::getId))
+                        .map(note -> autosaveBuffer.applyTo(new NoteView(note.getId(), note.getTitle(),
+                                note.getContent(), note.getCreationDate(), user.getId(), user.getUsername(),
+                                note.getVersion())))
+                        .toList()));
+    }
+
+    /**
+     * Carga los usuarios posteriores al cursor con las relaciones pedidas.
+     * 
+     * 🧠 Con notas son dos consultas para toda la página (usuarios y notas de
+     * esos usuarios): un join fetch de la colección con LIMIT obligaría a
+     * Hibernate a paginar en memoria.
+     * 
+     * @param after  Cursor (null = primera página).
+     * @param limit  Máximo de filas a leer.
+     * @param expand Relaciones pedidas.
+     * @return Lista de vistas con sus relaciones.
+     */
+    @Override
+    protected List<UserExpandedView> loadExpandedAfter(Long after, Limit limit, Set<String> expand) {
+        List<User> users = userRepository.findWithDetailsAfter(after == null ? 0L : after, limit);
+        boolean details = expand.contains(EXPAND_DETAILS);
+
+        // ? Sin notas: una consulta
+        if (!expand.contains(EXPAND_NOTES) || users.isEmpty()) {
+            return users.stream().map(user -> UserExpandedView.from(user, details, null)).toList();
+        }
+
+        Map<Long, List<NoteView>> notes = noteRepository
+                .findViewsByUserIdIn(users.stream().map(User::getId).toList()).stream()
+                .map(autosaveBuffer::applyTo)
+                .collect(Collectors.groupingBy(NoteView::userId));
+        return users.stream()
+                .map(user -> UserExpandedView.from(user, details, notes.getOrDefault(user.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Carga las vistas de usuarios posteriores al cursor.
+     * 
+     * @param after Cursor (null = primera página).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de vistas de usuarios.
+     */
+    @Override
+    protected List<UserView> loadViewsAfter(Long after, Limit limit) {
+        return userRepository.findViewsAfter(after == null ? 0L : after, limit);
+    }
+
+    /**
+     * Carga la vista de un usuario.
+     * 
+     * @param id ID del usuario.
+     * @return Vista del usuario.
+     */
+    @Override
+    protected Optional<UserView> loadView(Long id) {
+        return userRepository.findViewById(id);
+    }
+
+    /**
+     * Carga la versión de la vista de un usuario.
+     * 
+     * @param id ID del usuario.
+     * @return Última modificación de la vista.
+     */
+    @Override
+    protected Optional<Instant> loadViewUpdatedAt(Long id) {
+        return userRepository.findViewUpdatedAt(id);
+    }
+
+    /**
+     * Carga las versiones de las vistas posteriores al cursor.
+     * 
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Máximo de filas a leer.
+     * @return Lista de versiones.
+     */
+    @Override
+    protected List<ViewVersion<Long>> loadViewVersionsAfter(Long after, Limit limit) {
+        return userRepository.findViewVersionsAfter(after == null ? 0L : after, limit);
     }
 
     /**
@@ -79,8 +331,14 @@ public class UserService extends BaseModelService<User, Long> {
                 note.setUser(savedUser);
             }
             noteRepository.saveAll(notes);
+
+            // Se indexan al confirmar la transacción
+            searchIndex.indexAll(notes);
         }
 
+        // Estadísticas del usuario con las notas recién guardadas
+        noteStats.created(savedUser.getId(), notes);
+
         return savedUser;
     }
 }
@@ -0,0 +1,72 @@
+package com.astralz.project_notes_back.services.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * 📦 ReadWriteRoutingDataSource
+ *
+ * DataSource que entrega conexiones de la primaria o de la réplica según
+ * ReplicaRouting.
+ *
+ * ⚠️ Debe ir envuelto en un LazyConnectionDataSourceProxy: el gestor de
+ * transacciones pide la conexión antes de marcar la transacción como readOnly,
+ * y el proxy retrasa la conexión real hasta la primera sentencia, cuando ya se
+ * sabe si es de solo lectura.
+ *
+ * 🧠 Si la réplica no entrega conexión se usa la primaria en la misma
+ * petición (sin error para el cliente).
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaRouting routing;
+
+    /**
+     * Constructor con los dos pools.
+     *
+     * @param primary Pool de la primaria.
+     * @param replica Pool de la réplica.
+     * @param routing Decide el destino de cada conexión.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouting routing) {
+        this.primary = primary;
+        this.replica = replica;
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        // ? Lectura que puede ir a la réplica
+        if (routing.route() == ReplicaRouting.Target.REPLICA) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                routing.replicaFailed(e);
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+
+        // ? Lectura que puede ir a la réplica
+        if (routing.route() == ReplicaRouting.Target.REPLICA) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                routing.replicaFailed(e);
+            }
+        }
+
+        return primary.getConnection(username, password);
+    }
+}
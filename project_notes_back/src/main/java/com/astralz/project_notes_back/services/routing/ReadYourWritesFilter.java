@@ -0,0 +1,76 @@
+package com.astralz.project_notes_back.services.routing;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 📦 ReadYourWritesFilter
+ *
+ * Marca en ReplicaRouting qué cliente hace cada petición, para que quien
+ * acaba de escribir lea de la primaria durante
+ * app.datasource.replica.read-your-writes.
+ *
+ * 🧠 El cliente se identifica con la cabecera X-Client-Id (p. ej. un ID de
+ * pestaña o de sesión del frontend) o, si no viene, con su IP.
+ *
+ * 🧠 Escritura = cualquier método distinto de GET, HEAD y OPTIONS que termina
+ * con un estado menor que 400. Mientras dura, sus propias lecturas (p. ej. el
+ * ETag de la respuesta del PUT) también van a la primaria.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * Cabecera con la clave del cliente.
+     */
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private final ReplicaRouting routing;
+
+    /**
+     * Constructor con el enrutado.
+     *
+     * @param routing Enrutado de lecturas.
+     */
+    public ReadYourWritesFilter(ReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        boolean write = isWrite(request);
+
+        routing.beginRequest(client, write);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            routing.endRequest(client, write && response.getStatus() < 400);
+        }
+    }
+
+    /**
+     * Clave del cliente: cabecera X-Client-Id o IP.
+     */
+    private static String clientKey(HttpServletRequest request) {
+        String header = request.getHeader(CLIENT_HEADER);
+        return header != null && !header.isBlank() ? header : request.getRemoteAddr();
+    }
+
+    /**
+     * Indica si el método de la petición modifica datos.
+     */
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method)
+                && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -0,0 +1,281 @@
+package com.astralz.project_notes_back.services.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📦 ReplicaRouting
+ *
+ * Decide a qué base de datos va cada conexión: las transacciones de solo
+ * lectura a la réplica y el resto (escrituras, lecturas sin transacción) a la
+ * primaria. La usa ReadWriteRoutingDataSource al pedir cada conexión.
+ *
+ * 🧠 La réplica se usa solo si:
+ * - La transacción actual es readOnly.
+ * - La última comprobación (checkReplica) la encontró disponible y con un
+ *   retraso menor que app.datasource.replica.max-lag.
+ * - El cliente de la petición no escribió en los últimos
+ *   app.datasource.replica.read-your-writes (ve sus propios cambios aunque la
+ *   réplica aún no los tenga). Lo marca ReadYourWritesFilter.
+ *
+ * ⚠️ Si pedir una conexión a la réplica falla se marca como no disponible y
+ * se usa la primaria hasta la siguiente comprobación correcta.
+ *
+ * 🧠 Arranca con la réplica no disponible: hasta la primera comprobación todo
+ * va a la primaria (la réplica puede no tener el esquema todavía).
+ */
+public class ReplicaRouting {
+
+    /**
+     * Base de datos de una conexión.
+     */
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    // Pool de la réplica (para las comprobaciones)
+    private final DataSource replica;
+
+    // Consulta que devuelve el retraso de la réplica en segundos (vacía = solo
+    // se comprueba la conexión)
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    // Clientes que escribieron hace menos de read-your-writes
+    private final Cache<String, Boolean> recentWriters;
+
+    // La petición del hilo actual debe leer de la primaria
+    private final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    // Resultado de la última comprobación
+    private volatile boolean replicaUsable = false;
+
+    // Conexiones por destino y motivo
+    private final Counter toReplica;
+    private final Counter writes;
+    private final Counter pinned;
+    private final Counter unavailable;
+
+    /**
+     * Constructor con la configuración del enrutado.
+     *
+     * @param replica        Pool de la réplica.
+     * @param meterRegistry  Registro de métricas.
+     * @param readYourWrites Tiempo que un cliente lee de la primaria después
+     *                       de escribir.
+     * @param maxLag         Retraso máximo aceptado de la réplica.
+     * @param lagQuery       Consulta del retraso en segundos (vacía = no se
+     *                       mide).
+     */
+    public ReplicaRouting(DataSource replica, MeterRegistry meterRegistry,
+            Duration readYourWrites, Duration maxLag, String lagQuery) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readYourWrites)
+                .build();
+        this.toReplica = routed(meterRegistry, Target.REPLICA, "read_only");
+        this.writes = routed(meterRegistry, Target.PRIMARY, "write");
+        this.pinned = routed(meterRegistry, Target.PRIMARY, "read_your_writes");
+        this.unavailable = routed(meterRegistry, Target.PRIMARY, "replica_unavailable");
+        Gauge.builder("app.datasource.replica.usable", this, routing -> routing.replicaUsable ? 1 : 0)
+                .description("1 si las lecturas pueden ir a la réplica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crea el contador de conexiones de un destino y motivo.
+     */
+    private static Counter routed(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("app.datasource.routed")
+                .description("Conexiones entregadas por destino y motivo")
+                .tag("target", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Elige la base de datos para una conexión nueva.
+     *
+     * @return Destino de la conexión.
+     */
+    public Target route() {
+
+        // ? Escritura o lectura sin transacción readOnly
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Target.PRIMARY;
+        }
+
+        // ? El cliente acaba de escribir (o la petición escribe)
+        if (Boolean.TRUE.equals(primaryPinned.get())) {
+            pinned.increment();
+            return Target.PRIMARY;
+        }
+
+        // ? Réplica caída o atrasada
+        if (!replicaUsable) {
+            unavailable.increment();
+            return Target.PRIMARY;
+        }
+
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+
+    /**
+     * Indica si una lectura del hilo actual iría a la réplica (para no abrir
+     * una transacción readOnly si igual acabaría en la primaria).
+     *
+     * @return true si la réplica está disponible para esta petición.
+     */
+    public boolean readsFromReplica() {
+        return replicaUsable && !Boolean.TRUE.equals(primaryPinned.get());
+    }
+
+    /**
+     * Ejecuta una lectura en la primaria aunque vaya en una transacción
+     * readOnly (datos que se guardan o derivan y no deben venir atrasados).
+     *
+     * @param read Lectura.
+     * @return Resultado de la lectura.
+     */
+    public <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = primaryPinned.get();
+        primaryPinned.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+
+            // ? Restaura el estado de la petición (si la había)
+            if (previous == null) {
+                primaryPinned.remove();
+            } else {
+                primaryPinned.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Indica si la última comprobación encontró la réplica disponible.
+     *
+     * @return true si la réplica está disponible.
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Marca la réplica como no disponible tras un fallo al conectar.
+     *
+     * @param error Error de la conexión.
+     */
+    public void replicaFailed(SQLException error) {
+        if (replicaUsable) {
+            logger.warn("Réplica no disponible, las lecturas van a la primaria: {}", error.getMessage());
+        }
+        replicaUsable = false;
+    }
+
+    /**
+     * Empieza una petición: si el cliente escribió hace poco, o la petición
+     * escribe, sus lecturas van a la primaria.
+     *
+     * @param client Clave del cliente.
+     * @param write  true si la petición modifica datos.
+     */
+    public void beginRequest(String client, boolean write) {
+        primaryPinned.set(write || recentWriters.getIfPresent(client) != null);
+    }
+
+    /**
+     * Termina una petición.
+     *
+     * @param client Clave del cliente.
+     * @param wrote  true si la petición modificó datos.
+     */
+    public void endRequest(String client, boolean wrote) {
+        if (wrote) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+        primaryPinned.remove();
+    }
+
+    /**
+     * Comprueba la réplica: conexión y, si hay lag-query, su retraso.
+     *
+     * @Scheduled: Se ejecuta cada app.datasource.replica.check-interval
+     *             (la primera vez al arrancar).
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval:2s}")
+    public void checkReplica() {
+        boolean usable;
+        String problem = null;
+
+        try (Connection connection = replica.getConnection()) {
+
+            // ? Sin consulta de retraso: basta con que responda
+            if (lagQuery.isEmpty()) {
+                usable = connection.isValid(1);
+                problem = usable ? null : "la conexión no es válida";
+            } else {
+                double lag = lagSeconds(connection);
+                usable = lag * 1000 <= maxLag.toMillis();
+                problem = usable ? null : "retraso de " + lag + " s";
+            }
+        } catch (SQLException e) {
+            usable = false;
+            problem = e.getMessage();
+        }
+
+        // ? Solo se registra el cambio de estado
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Réplica disponible, las lecturas readOnly van a la réplica");
+            } else {
+                logger.warn("Réplica no disponible, las lecturas van a la primaria: {}", problem);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    /**
+     * Ejecuta la consulta de retraso.
+     *
+     * @return Retraso en segundos (infinito si la consulta no devuelve valor).
+     */
+    private double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(lagQuery)) {
+
+            // ? Sin fila o NULL (p. ej. la replicación está parada)
+            if (!result.next()) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double lag = result.getDouble(1);
+            return result.wasNull() ? Double.POSITIVE_INFINITY : lag;
+        }
+    }
+}
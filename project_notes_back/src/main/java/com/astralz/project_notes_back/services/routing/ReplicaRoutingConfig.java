@@ -0,0 +1,128 @@
+package com.astralz.project_notes_back.services.routing;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 📦 ReplicaRoutingConfig
+ *
+ * Con app.datasource.replica.enabled=true reemplaza el DataSource de Spring
+ * Boot por dos pools (primaria y réplica) y un DataSource que enruta las
+ * transacciones readOnly a la réplica (ver ReplicaRouting).
+ *
+ * @Configuration: Indica que esta clase es una configuración de Spring.
+ * @ConditionalOnProperty: Solo se carga si la réplica está activada; si no,
+ *                         Spring Boot crea su DataSource de siempre.
+ *
+ * 🧠 Cada pool es un bean HikariDataSource (pools "primary" y "replica"), así
+ * que las métricas hikaricp_* salen por separado para cada uno.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Pool de la primaria, con spring.datasource.* y spring.datasource.hikari.*.
+     *
+     * @param properties Configuración spring.datasource.*.
+     * @return Pool de la primaria.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool de la réplica, con app.datasource.replica.* y
+     * app.datasource.replica.hikari.*. Usuario y contraseña por defecto los de
+     * la primaria.
+     *
+     * @param properties Configuración spring.datasource.* (driver).
+     * @param url        URL de la réplica.
+     * @param username   Usuario de la réplica.
+     * @param password   Contraseña de la réplica.
+     * @return Pool de la réplica (conexiones de solo lectura).
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * Enrutado de lecturas entre primaria y réplica.
+     *
+     * @param replica        Pool de la réplica.
+     * @param meterRegistry  Registro de métricas.
+     * @param readYourWrites Ventana de lectura desde la primaria tras escribir.
+     * @param maxLag         Retraso máximo aceptado de la réplica.
+     * @param lagQuery       Consulta del retraso de la réplica en segundos.
+     * @return Enrutado.
+     */
+    @Bean
+    public ReplicaRouting replicaRouting(@Qualifier("replicaDataSource") DataSource replica,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.read-your-writes:2s}") Duration readYourWrites,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery) {
+        return new ReplicaRouting(replica, meterRegistry, readYourWrites, maxLag, lagQuery);
+    }
+
+    /**
+     * DataSource de la aplicación (JPA, transacciones, Actuator).
+     *
+     * @Primary: Es el que se inyecta cuando se pide un DataSource.
+     *
+     * @param primary Pool de la primaria.
+     * @param replica Pool de la réplica.
+     * @param routing Enrutado de lecturas.
+     * @return DataSource enrutado (conexión real en la primera sentencia).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaRouting routing) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, routing));
+    }
+
+    /**
+     * Filtro que marca al cliente de cada petición (read-your-writes).
+     *
+     * @param routing Enrutado de lecturas.
+     * @return Filtro de Servlet (Spring Boot lo registra solo).
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRouting routing) {
+        return new ReadYourWritesFilter(routing);
+    }
+}
@@ -0,0 +1,539 @@
+package com.astralz.project_notes_back.services.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.astralz.project_notes_back.dto.NoteExportRow;
+import com.astralz.project_notes_back.dto.NoteSearchHit;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.routing.ReplicaRouting;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 📦 NoteSearchIndex
+ *
+ * Índice invertido (Lucene) sobre el título y el contenido de las notas.
+ * LINK: https://lucene.apache.org/core/
+ *
+ * @Component: Indica que esta clase es un componente de Spring.
+ *
+ * 🧠 Funcionamiento:
+ * - Cada nota es un documento con su ID, su usuario y su texto tokenizado
+ *   (minúsculas y sin acentos, así "título" encuentra "titulo").
+ * - NoteService lo mantiene al día en cada alta, cambio o baja (index,
+ *   reindex, delete). Si hay una transacción activa, el cambio se aplica tras
+ *   el commit.
+ * - Al arrancar se reconstruye desde la base de datos en segundo plano; las
+ *   notas que cambian mientras tanto no se sobrescriben con datos viejos.
+ * - Lee siempre de la primaria (también con réplica): una fila atrasada
+ *   quedaría indexada hasta el siguiente cambio de la nota.
+ * - Las búsquedas usan un searcher casi en tiempo real (SearcherManager), sin
+ *   tocar la base de datos. Un hilo aparte lo reabre (ver reopenThread): las
+ *   escrituras no esperan y cada búsqueda ve todo lo escrito antes de ella.
+ *
+ * ⚠️ El índice es un dato derivado: vive en disco (memoria mapeada) y se
+ * vuelve a crear en cada arranque.
+ */
+@Component
+public class NoteSearchIndex {
+
+    // Campos del documento
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_USER = "user_id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+
+    // Cada cuánto el hilo de reapertura publica las escrituras por su cuenta,
+    // sin esperar a una búsqueda (segundos)
+    private static final double REOPEN_INTERVAL_SEC = 1.0;
+
+    // Peso de cada campo en la relevancia
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(FIELD_TITLE, 2f, FIELD_CONTENT, 1f);
+
+    // Logger para el índice [Para mostrar errores o información en la consola]
+    private final Logger logger = LoggerFactory.getLogger(NoteSearchIndex.class);
+
+    // Analizador: tokenizador estándar + minúsculas + sin acentos
+    private final Analyzer analyzer = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    };
+
+    // Notas modificadas durante la reconstrucción (su versión en vivo manda)
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Usuarios cuyas notas se eliminaron durante la reconstrucción (no se
+    // conocen sus IDs: se descartan sus filas)
+    private final Set<Long> usersDeletedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    // Serializa "comprobar y escribir" entre la reconstrucción y los cambios en vivo.
+    // ReentrantLock y no synchronized: la escritura hace E/S y, con hilos
+    // virtuales, synchronized fijaría el hilo a su portador (pinning).
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final NoteRepository noteRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor taskExecutor;
+    private final Path indexPath;
+    private final boolean temporaryPath;
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Reabre el searcher en segundo plano. Una sola reapertura cubre todas
+    // las escrituras acumuladas, en vez de una por nota guardada en el hilo
+    // de la petición.
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    // Número de secuencia de la última escritura (lo que la búsqueda debe ver)
+    private final AtomicLong lastGeneration = new AtomicLong();
+
+    // true mientras se reconstruye el índice
+    private volatile boolean rebuilding;
+
+    // Enrutado a la réplica (null si no hay réplica)
+    private ReplicaRouting replicaRouting;
+
+    /**
+     * Constructor: abre (vacío) el índice en disco.
+     *
+     * @param noteRepository     Repositorio de notas, para reconstruir el índice.
+     * @param transactionManager Gestor de transacciones.
+     * @param taskExecutor       Ejecutor de tareas de Spring, para reconstruir en
+     *                           segundo plano.
+     * @param indexPath          Carpeta del índice (vacío = carpeta temporal).
+     * @throws IOException si no se puede crear el índice.
+     */
+    public NoteSearchIndex(NoteRepository noteRepository, PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${app.search.index-path:}") String indexPath) throws IOException {
+        this.noteRepository = noteRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.temporaryPath = indexPath.isBlank();
+        this.indexPath = temporaryPath ? Files.createTempDirectory("notes-search") : Path.of(indexPath);
+        this.directory = FSDirectory.open(this.indexPath);
+
+        // ? CREATE: descarta el índice anterior, se reconstruye al arrancar
+        this.writer = new IndexWriter(directory,
+                new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, REOPEN_INTERVAL_SEC,
+                REOPEN_INTERVAL_SEC);
+        this.reopenThread.setName("notes-search-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    /**
+     * Recibe el enrutado a la réplica, solo si app.datasource.replica.enabled.
+     *
+     * @param replicaRouting Enrutado de lecturas.
+     */
+    @Autowired(required = false)
+    public void setReplicaRouting(ReplicaRouting replicaRouting) {
+        this.replicaRouting = replicaRouting;
+    }
+
+    /**
+     * Reconstruye el índice desde la base de datos cuando la aplicación ya
+     * atiende peticiones (sin retrasar el arranque).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Reconstruye el índice recorriendo todas las notas con un cursor.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        long start = System.currentTimeMillis();
+
+        try {
+            long count = readPrimary(status -> {
+                long indexed = 0;
+                try (Stream<NoteExportRow> rows = noteRepository.streamIndexRows()) {
+                    for (NoteExportRow row : (Iterable<NoteExportRow>) rows::iterator) {
+
+                        rebuildLock.lock();
+                        try {
+
+                            // ? Cambió o se eliminó mientras se reconstruía: ya está al día
+                            if (!changedDuringRebuild.contains(row.id())
+                                    && !usersDeletedDuringRebuild.contains(row.userId())) {
+                                write(row.id(), row.userId(), row.title(), row.content());
+                                indexed++;
+                            }
+                        } finally {
+                            rebuildLock.unlock();
+                        }
+                    }
+                }
+                return indexed;
+            });
+
+            logger.info("🔎 Índice de búsqueda reconstruido: {} notas en {} ms", count,
+                    System.currentTimeMillis() - start);
+
+            // ! Error
+        } catch (RuntimeException e) {
+            logger.error("❌ ERROR: El índice de búsqueda no se ha reconstruido: " + e.getMessage());
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            usersDeletedDuringRebuild.clear();
+        }
+    }
+
+    /**
+     * Indica si el índice se está reconstruyendo (resultados parciales).
+     *
+     * @return true durante la reconstrucción.
+     */
+    public boolean isRebuilding() {
+        return rebuilding;
+    }
+
+    /**
+     * Agrega o reemplaza una nota en el índice.
+     *
+     * @param note Nota guardada.
+     */
+    public void index(Note note) {
+        afterCommit(() -> writeLive(note));
+    }
+
+    /**
+     * Vuelve a indexar una nota leyendo sus datos actuales de la base de datos
+     * (para cambios hechos con UPDATE directo, sin la entidad en memoria).
+     *
+     * Se ejecuta en segundo plano tras el commit: la petición que actualizó
+     * no espera la lectura. La lectura y la escritura van bajo el mismo
+     * candado, así la última tarea siempre escribe el estado más reciente.
+     *
+     * @param id ID de la nota.
+     */
+    public void reindex(Long id) {
+        afterCommit(() -> taskExecutor.execute(() -> {
+            rebuildLock.lock();
+            try {
+                markChanged(id);
+                Optional<NoteExportRow> row = readPrimary(status -> noteRepository.findIndexRow(id));
+
+                // ? La nota se eliminó mientras tanto
+                if (row.isEmpty()) {
+                    deleteDocuments(new Term(FIELD_ID, id.toString()));
+                } else {
+                    write(id, row.get().userId(), row.get().title(), row.get().content());
+                }
+            } catch (RuntimeException e) {
+                logger.error("❌ ERROR: La nota " + id + " no se ha reindexado: " + e.getMessage());
+            } finally {
+                rebuildLock.unlock();
+            }
+        }));
+    }
+
+    /**
+     * Agrega o reemplaza varias notas en el índice.
+     *
+     * @param notes Notas guardadas.
+     */
+    public void indexAll(List<Note> notes) {
+        afterCommit(() -> notes.forEach(this::writeLive));
+    }
+
+    /**
+     * Elimina una nota del índice.
+     *
+     * @param id ID de la nota.
+     */
+    public void delete(Long id) {
+        afterCommit(() -> {
+            rebuildLock.lock();
+            try {
+                markChanged(id);
+                deleteDocuments(new Term(FIELD_ID, id.toString()));
+            } finally {
+                rebuildLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Elimina varias notas del índice.
+     *
+     * @param ids IDs de las notas.
+     */
+    public void deleteAll(Collection<Long> ids) {
+        afterCommit(() -> {
+            rebuildLock.lock();
+            try {
+                for (Long id : ids) {
+                    markChanged(id);
+                    deleteDocuments(new Term(FIELD_ID, id.toString()));
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Elimina todas las notas de un usuario del índice.
+     *
+     * ⚠️ Las notas que el usuario cree después se escriben en vivo (marcadas
+     * como cambiadas), así que descartar sus filas en la reconstrucción no
+     * pierde ninguna.
+     *
+     * @param userId ID del usuario.
+     */
+    public void deleteByUser(Long userId) {
+        afterCommit(() -> {
+            rebuildLock.lock();
+            try {
+                if (rebuilding) {
+                    usersDeletedDuringRebuild.add(userId);
+                }
+                deleteDocuments(new Term(FIELD_USER, userId.toString()));
+            } finally {
+                rebuildLock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Busca notas por texto, ordenadas por relevancia.
+     *
+     * Sintaxis simple: palabras (todas obligatorias), "frases", prefijo*,
+     * -excluir y a | b.
+     *
+     * @param text   Texto a buscar.
+     * @param userId Limita la búsqueda a las notas del usuario (null = todas).
+     * @param limit  Máximo de resultados.
+     * @return Resultados ordenados por relevancia.
+     */
+    public List<NoteSearchHit> search(String text, Long userId, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+
+        // ? Sin términos buscables (p. ej. solo signos)
+        if (textQuery == null) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (userId != null) {
+            query.add(new TermQuery(new Term(FIELD_USER, userId.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        awaitWrites();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), limit);
+                StoredFields stored = searcher.storedFields();
+
+                List<NoteSearchHit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    Document doc = stored.document(scoreDoc.doc, Set.of(FIELD_ID, FIELD_TITLE));
+                    hits.add(new NoteSearchHit(Long.valueOf(doc.get(FIELD_ID)), doc.get(FIELD_TITLE),
+                            scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cierra el índice (y borra la carpeta si era temporal).
+     *
+     * @throws IOException si falla el cierre.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+
+        if (temporaryPath) {
+            try (Stream<Path> files = Files.walk(indexPath)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Escribe (agrega o reemplaza) el documento de una nota.
+     */
+    private void write(Long id, Long userId, String title, String content) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, id.toString(), Field.Store.YES));
+        doc.add(new StringField(FIELD_USER, userId.toString(), Field.Store.NO));
+        doc.add(new TextField(FIELD_TITLE, title, Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, content == null ? "" : content, Field.Store.NO));
+
+        try {
+            recordGeneration(writer.updateDocument(new Term(FIELD_ID, id.toString()), doc));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Elimina los documentos que coinciden con el término.
+     */
+    private void deleteDocuments(Term term) {
+        try {
+            recordGeneration(writer.deleteDocuments(term));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee en una transacción readOnly, siempre de la primaria.
+     */
+    private <T> T readPrimary(TransactionCallback<T> read) {
+        return replicaRouting == null
+                ? readOnlyTransaction.execute(read)
+                : replicaRouting.onPrimary(() -> readOnlyTransaction.execute(read));
+    }
+
+    /**
+     * Ejecuta el cambio tras el commit si hay una transacción activa (así un
+     * rollback no deja notas fantasma en el índice), o de inmediato si no.
+     */
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Escribe una nota cambiada en vivo (desde NoteService).
+     */
+    private void writeLive(Note note) {
+        rebuildLock.lock();
+        try {
+            markChanged(note.getId());
+            write(note.getId(), note.getUser().getId(), note.getTitle(), note.getContent());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Registra una nota cambiada en vivo mientras se reconstruye el índice.
+     */
+    private void markChanged(Long id) {
+        if (rebuilding) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    /**
+     * Registra el número de secuencia de una escritura para que las búsquedas
+     * siguientes esperen a verla.
+     */
+    private void recordGeneration(long generation) {
+        lastGeneration.accumulateAndGet(generation, Math::max);
+    }
+
+    /**
+     * Hace que el searcher incluya todas las escrituras hechas hasta ahora.
+     *
+     * 🧠 Si el hilo de reapertura aún no las publicó, la búsqueda reabre ella
+     * misma con maybeRefreshBlocking (ReentrantLock) y no con
+     * waitForGeneration, que espera con synchronized/wait y fijaría un hilo
+     * virtual a su portador. Las búsquedas simultáneas comparten la reapertura.
+     */
+    private void awaitWrites() {
+
+        // ? El searcher ya incluye la última escritura
+        if (reopenThread.getSearchingGen() >= lastGeneration.get()) {
+            return;
+        }
+
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.astralz.project_notes_back.services.serialization;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+
+/**
+ * 📦 CachedWriterJsonHttpMessageConverter
+ *
+ * Conversor JSON de Spring MVC que reutiliza un ObjectWriter por clase de
+ * respuesta (con su serializador raíz ya resuelto) en lugar de armar uno en
+ * cada petición.
+ *
+ * 🧠 El JSON se escribe directo en el stream de la respuesta (sin copiar a un
+ * byte[] intermedio): el buffer del JsonGenerator se recicla y el de Tomcat
+ * se envía por partes (chunked) en las listas grandes.
+ *
+ * ⚠️ Colecciones, mapas, arrays, Optional, MappingJacksonValue (vistas y
+ * filtros de Jackson) y text/event-stream siguen el camino de Spring: su
+ * ObjectWriter depende del tipo genérico declarado o de la petición.
+ */
+public class CachedWriterJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * ObjectWriter por clase de respuesta.
+     */
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor con el ObjectMapper de la aplicación.
+     *
+     * @param objectMapper ObjectMapper configurado por Spring Boot.
+     */
+    public CachedWriterJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+
+        // ? El ObjectWriter depende del tipo declarado o de la petición
+        if (!cacheable(object, contentType)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ObjectMapper objectMapper = getObjectMapper();
+        ObjectWriter writer = writers.computeIfAbsent(object.getClass(), objectMapper::writerFor);
+
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), getJsonEncoding(contentType))) {
+            writePrefix(generator, object);
+            writer.writeValue(generator, object);
+            writeSuffix(generator, object);
+            generator.flush();
+        } catch (InvalidDefinitionException ex) {
+            throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    /**
+     * Indica si la respuesta puede usar un ObjectWriter reutilizado.
+     */
+    private boolean cacheable(Object object, MediaType contentType) {
+        Class<?> type = object.getClass();
+        return !(object instanceof MappingJacksonValue)
+                && !(object instanceof Collection<?>)
+                && !(object instanceof Map<?, ?>)
+                && !(object instanceof Optional<?>)
+                && !type.isArray()
+                && (contentType == null || !contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                && getObjectMappersForType(type).isEmpty();
+    }
+}
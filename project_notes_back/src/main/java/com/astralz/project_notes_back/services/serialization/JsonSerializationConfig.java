@@ -0,0 +1,68 @@
+package com.astralz.project_notes_back.services.serialization;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * 📦 JsonSerializationConfig
+ *
+ * Camino rápido de serialización JSON de las respuestas
+ * (app.json.fast-path.enabled, activado por defecto).
+ *
+ * @Configuration: Indica que esta clase es una configuración de Spring.
+ * @ConditionalOnProperty: Con false queda la configuración de Jackson de
+ *                         Spring Boot sin cambios.
+ *
+ * 🧠 Piezas:
+ * - BlackbirdModule: accesores generados con LambdaMetafactory en lugar de
+ *   reflexión para todas las clases (entidades con getters de Lombok,
+ *   records, DTOs).
+ * - ViewSerializers: serializadores escritos a mano para NoteView y UserView
+ *   (las listas de GET /api/notes y GET /api/users).
+ * - CachedWriterJsonHttpMessageConverter: un ObjectWriter por clase de
+ *   respuesta, escribiendo directo en el stream de la respuesta.
+ *
+ * Spring Boot registra los beans Module en su ObjectMapper y usa el conversor
+ * en lugar del suyo. Comparativa: SerializationBenchmark (./mvnw test -Pjmh).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.json.fast-path.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonSerializationConfig {
+
+    /**
+     * Accesores generados en lugar de reflexión.
+     *
+     * @return Módulo Blackbird.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Serializadores de las vistas de lectura.
+     *
+     * @return Módulo con los serializadores.
+     */
+    @Bean
+    public Module viewSerializersModule() {
+        return ViewSerializers.module();
+    }
+
+    /**
+     * Conversor JSON de Spring MVC con ObjectWriter reutilizados.
+     *
+     * @param objectMapper ObjectMapper de Spring Boot (con los módulos).
+     * @return Conversor JSON.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachedWriterJsonHttpMessageConverter(objectMapper);
+    }
+}
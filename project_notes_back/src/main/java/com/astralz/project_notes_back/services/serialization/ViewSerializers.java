@@ -0,0 +1,208 @@
+package com.astralz.project_notes_back.services.serialization;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.dto.UserView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * 📦 ViewSerializers
+ *
+ * Serializadores escritos a mano para las vistas que devuelven las lecturas
+ * (NoteView, NoteSummaryView, UserView): escriben cada campo directo en el JsonGenerator, con
+ * los nombres ya codificados (SerializedString), sin recorrer propiedades ni
+ * buscar un serializador por campo.
+ *
+ * 🧠 El JSON es el mismo que el de Jackson por defecto (mismos nombres y
+ * orden de los componentes del record, fechas ISO-8601 "yyyy-MM-dd").
+ *
+ * 🧠 Las fechas ya escritas se guardan codificadas (DATES): las notas de una
+ * página suelen compartir pocas fechas y formatear cada una creaba un String
+ * por fila (la mayor parte de lo que se reservaba al escribir una página).
+ *
+ * ⚠️ Al agregar un componente a una de las vistas hay que agregarlo aquí
+ * (ViewSerializersTests compara con la salida por defecto).
+ */
+public final class ViewSerializers {
+
+    // Nombres de los campos ya codificados
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString CREATION_DATE = new SerializedString("creationDate");
+    private static final SerializedString PREVIEW = new SerializedString("preview");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString VERSION = new SerializedString("version");
+
+    // Fechas ya codificadas (se vacía al llegar a MAX_DATES)
+    private static final Map<LocalDate, SerializedString> DATES = new ConcurrentHashMap<>();
+    private static final int MAX_DATES = 4_096;
+
+    private ViewSerializers() {
+    }
+
+    /**
+     * Módulo de Jackson con los serializadores de las vistas.
+     *
+     * @return Módulo para registrar en el ObjectMapper.
+     */
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("ViewSerializers");
+        module.addSerializer(NoteView.class, new NoteViewSerializer());
+        module.addSerializer(NoteSummaryView.class, new NoteSummaryViewSerializer());
+        module.addSerializer(UserView.class, new UserViewSerializer());
+        return module;
+    }
+
+    /**
+     * Serializador de NoteView.
+     */
+    static final class NoteViewSerializer extends StdSerializer<NoteView> {
+
+        NoteViewSerializer() {
+            super(NoteView.class);
+        }
+
+        @Override
+        public void serialize(NoteView view, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(view);
+            writeNumber(generator, ID, view.id());
+            writeString(generator, TITLE, view.title());
+            writeString(generator, CONTENT, view.content());
+            writeDate(generator, provider, CREATION_DATE, view.creationDate());
+            writeNumber(generator, USER_ID, view.userId());
+            writeString(generator, USERNAME, view.username());
+            writeNumber(generator, VERSION, view.version());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializador de NoteSummaryView.
+     */
+    static final class NoteSummaryViewSerializer extends StdSerializer<NoteSummaryView> {
+
+        NoteSummaryViewSerializer() {
+            super(NoteSummaryView.class);
+        }
+
+        @Override
+        public void serialize(NoteSummaryView view, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(view);
+            writeNumber(generator, ID, view.id());
+            writeString(generator, TITLE, view.title());
+            writeDate(generator, provider, CREATION_DATE, view.creationDate());
+            writeNumber(generator, USER_ID, view.userId());
+            writeString(generator, PREVIEW, view.preview());
+            writeNumber(generator, VERSION, view.version());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializador de UserView.
+     */
+    static final class UserViewSerializer extends StdSerializer<UserView> {
+
+        UserViewSerializer() {
+            super(UserView.class);
+        }
+
+        @Override
+        public void serialize(UserView view, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(view);
+            writeNumber(generator, ID, view.id());
+            writeString(generator, USERNAME, view.username());
+            writeString(generator, EMAIL, view.email());
+
+            // ? Mismo criterio que el serializador de enums de Jackson
+            if (view.role() == null) {
+                generator.writeNullField(ROLE.getValue());
+            } else {
+                generator.writeFieldName(ROLE);
+                generator.writeString(provider.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+                        ? view.role().toString()
+                        : view.role().name());
+            }
+
+            writeString(generator, FIRST_NAME, view.firstName());
+            writeString(generator, LAST_NAME, view.lastName());
+            writeNumber(generator, VERSION, view.version());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Escribe un campo de texto (null si no hay valor).
+     */
+    private static void writeString(JsonGenerator generator, SerializedString name, String value)
+            throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    /**
+     * Escribe un campo numérico (null si no hay valor).
+     */
+    private static void writeNumber(JsonGenerator generator, SerializedString name, Long value)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    /**
+     * Escribe un campo de fecha: texto ISO-8601 o, si la aplicación pide fechas
+     * como números (WRITE_DATES_AS_TIMESTAMPS), el serializador de Jackson.
+     */
+    private static void writeDate(JsonGenerator generator, SerializerProvider provider, SerializedString name,
+            LocalDate value) throws IOException {
+
+        // ? Formato distinto al ISO: lo resuelve JavaTimeModule
+        if (value != null && provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeField(name.getValue(), value, generator);
+            return;
+        }
+
+        generator.writeFieldName(name);
+
+        // ? Sin fecha
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+
+        SerializedString date = DATES.get(value);
+        if (date == null) {
+
+            // ? Caché llena: se vacía (las fechas recientes vuelven enseguida)
+            if (DATES.size() >= MAX_DATES) {
+                DATES.clear();
+            }
+            date = new SerializedString(value.toString());
+            DATES.put(value, date);
+        }
+        generator.writeString(date);
+    }
+}
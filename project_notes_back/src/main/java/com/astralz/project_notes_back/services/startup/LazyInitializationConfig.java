@@ -0,0 +1,77 @@
+package com.astralz.project_notes_back.services.startup;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 📦 LazyInitializationConfig
+ *
+ * Beans que se crean al arrancar aunque spring.main.lazy-initialization esté
+ * activo (perfil prod).
+ *
+ * @Configuration: Indica que esta clase es una configuración de Spring.
+ *
+ * 🧠 Con la inicialización diferida cada bean se crea la primera vez que se
+ * usa (controladores, servicios, repositorios, Actuator...). Se excluyen:
+ * - DataSource, Flyway y EntityManagerFactory: las migraciones y la
+ *   validación del esquema siguen fallando al arrancar (y no en la primera
+ *   petición, con el pod ya marcado como listo).
+ * - Beans con métodos @Scheduled: sus tareas solo se programan al crearlos
+ *   (reconciliación de estadísticas, escritura del autoguardado, comprobación
+ *   de la réplica).
+ *
+ * ⚠️ Un bean nuevo que deba trabajar desde el arranque sin que nadie lo pida
+ * (p. ej. un consumidor de colas) tiene que agregarse aquí.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+    /**
+     * Tipos que se crean siempre al arrancar.
+     */
+    private static final List<Class<?>> EAGER_TYPES = List.of(DataSource.class, Flyway.class,
+            FlywayMigrationInitializer.class, EntityManagerFactory.class);
+
+    /**
+     * Filtro de los beans que no se difieren.
+     *
+     * @Bean static: Lo lee un BeanFactoryPostProcessor, antes de crear los
+     *              demás beans.
+     *
+     * @return Filtro de exclusión de la inicialización diferida.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType))
+                        || hasScheduledMethods(beanType));
+    }
+
+    /**
+     * Indica si una clase tiene métodos @Scheduled (propios o heredados).
+     *
+     * @param beanType Clase del bean.
+     * @return true si tiene alguna tarea periódica.
+     */
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
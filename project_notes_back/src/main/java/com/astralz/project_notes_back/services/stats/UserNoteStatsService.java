@@ -0,0 +1,395 @@
+package com.astralz.project_notes_back.services.stats;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.DateRange;
+import com.astralz.project_notes_back.dto.NoteActivityBucket;
+import com.astralz.project_notes_back.dto.UserNoteCount;
+import com.astralz.project_notes_back.dto.UserNoteStatsView;
+import com.astralz.project_notes_back.enums.HistogramBucket;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.repositories.UserNoteDayRepository;
+import com.astralz.project_notes_back.repositories.UserNoteStatsRepository;
+import com.astralz.project_notes_back.repositories.UserRepository;
+import com.astralz.project_notes_back.services.models.BaseModelService;
+
+/**
+ * 📦 UserNoteStatsService
+ *
+ * Estadísticas de las notas de cada usuario (número de notas y fecha de la
+ * más reciente), calculadas de antemano en la tabla users_note_stats, y
+ * notas por usuario y día (users_note_days) para los histogramas de
+ * actividad.
+ *
+ * @Service: Indica que esta clase es un servicio.
+ *
+ * 🧠 Funcionamiento:
+ * - Escrituras: NoteService y UserService avisan de cada alta o baja de
+ *   notas dentro de su transacción (added, removed, cleared...) y la fila
+ *   se actualiza con un UPDATE que suma o resta sobre la base de datos (y
+ *   la fila del día de las notas, con un INSERT ... ON DUPLICATE KEY UPDATE).
+ * - Lecturas: una búsqueda por clave primaria, sin COUNT(*) ni cargar
+ *   User.notes. Un usuario sin fila (creado antes de las estadísticas o por
+ *   otra vía) la obtiene calculada desde sus notas en la primera lectura.
+ *   Un histograma lee una fila por usuario y día, no las notas.
+ * - Reconciliación: cada app.users.stats.reconcile-interval se recalculan
+ *   todas las filas por bloques de usuarios y se eliminan las huérfanas.
+ *
+ * ⚠️ Las escrituras que no pasan por los servicios (SQL a mano, cargas
+ * masivas) desvían los contadores hasta la siguiente reconciliación.
+ */
+@Service
+public class UserNoteStatsService {
+
+    /**
+     * Usuarios que se recalculan por transacción al reconciliar.
+     */
+    private static final int RECONCILE_CHUNK = 1_000;
+
+    /**
+     * Logger del servicio [Para mostrar errores o información en la consola].
+     */
+    private final Logger logger = LoggerFactory.getLogger(UserNoteStatsService.class);
+
+    private final UserNoteStatsRepository statsRepository;
+    private final UserNoteDayRepository dayRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Transacción propia para crear filas al leer y para cada bloque de la
+     * reconciliación (un error no afecta a quien la llama).
+     */
+    private final TransactionTemplate ownTransaction;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param statsRepository    Repositorio de las estadísticas.
+     * @param dayRepository      Repositorio de las notas por día.
+     * @param userRepository     Repositorio de usuarios.
+     * @param transactionManager Gestor de transacciones.
+     */
+    public UserNoteStatsService(UserNoteStatsRepository statsRepository, UserNoteDayRepository dayRepository,
+            UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.dayRepository = dayRepository;
+        this.userRepository = userRepository;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Crea la fila de un usuario guardado, calculada desde las notas que ya
+     * tenga (no hace nada si ya la tiene).
+     *
+     * @param userId ID del usuario.
+     */
+    public void created(Long userId) {
+        statsRepository.insertMissing(List.of(userId));
+        dayRepository.insertMissing(List.of(userId));
+    }
+
+    /**
+     * Crea la fila de un usuario nuevo con las notas guardadas junto con él
+     * (sin volver a leerlas).
+     *
+     * @param userId ID del usuario.
+     * @param notes  Notas del usuario (null = ninguna).
+     */
+    public void created(Long userId, Collection<Note> notes) {
+        TreeMap<LocalDate, Long> days = new TreeMap<>();
+        if (notes != null) {
+            for (Note note : notes) {
+                days.merge(note.getCreationDate() != null ? note.getCreationDate() : LocalDate.now(), 1L, Long::sum);
+            }
+        }
+
+        statsRepository.insertRow(userId, notes == null ? 0 : notes.size(),
+                days.isEmpty() ? null : days.lastKey());
+        days.forEach((date, count) -> dayRepository.addNotes(userId, date, count));
+    }
+
+    /**
+     * Suma notas nuevas de un usuario.
+     *
+     * @param userId ID del usuario.
+     * @param count  Notas creadas.
+     * @param date   Fecha de creación (null = hoy).
+     */
+    public void added(Long userId, long count, LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now();
+
+        // ? Sin fila: se calculará completa (con sus días) en su primera lectura
+        if (count > 0 && statsRepository.addNotes(userId, count, day) > 0) {
+            dayRepository.addNotes(userId, day, count);
+        }
+    }
+
+    /**
+     * Suma notas nuevas, agrupadas por usuario y día (un UPDATE por usuario y
+     * uno por cada día de sus notas).
+     *
+     * @param notes Notas creadas (con su usuario).
+     */
+    public void addedAll(Collection<Note> notes) {
+        Map<Long, TreeMap<LocalDate, Long>> counts = new HashMap<>();
+
+        for (Note note : notes) {
+            LocalDate date = note.getCreationDate() != null ? note.getCreationDate() : LocalDate.now();
+            counts.computeIfAbsent(note.getUser().getId(), id -> new TreeMap<>()).merge(date, 1L, Long::sum);
+        }
+
+        counts.forEach((userId, days) -> {
+            long count = days.values().stream().mapToLong(Long::longValue).sum();
+
+            // ? Sin fila: se calculará completa (con sus días) en su primera lectura
+            if (statsRepository.addNotes(userId, count, days.lastKey()) > 0) {
+                days.forEach((date, notesOfDay) -> dayRepository.addNotes(userId, date, notesOfDay));
+            }
+        });
+    }
+
+    /**
+     * Resta notas eliminadas (llamar después del DELETE, en su transacción).
+     *
+     * @param counts Notas eliminadas por usuario y día.
+     */
+    public void removed(Collection<UserNoteCount> counts) {
+        Map<Long, Long> byUser = new HashMap<>();
+
+        for (UserNoteCount count : counts) {
+            if (count.count() > 0) {
+                byUser.merge(count.userId(), count.count(), Long::sum);
+
+                // ? Notas sin fecha (escritas por fuera de JPA): no tienen día
+                if (count.date() != null) {
+                    dayRepository.removeNotes(count.userId(), count.date(), count.count());
+                }
+            }
+        }
+
+        byUser.forEach(statsRepository::removeNotes);
+    }
+
+    /**
+     * Deja a un usuario sin notas.
+     *
+     * @param userId ID del usuario.
+     */
+    public void cleared(Long userId) {
+        statsRepository.clearNotes(userId);
+        dayRepository.deleteRowsByUserId(userId);
+    }
+
+    /**
+     * Elimina la fila de un usuario eliminado.
+     *
+     * @param userId ID del usuario.
+     */
+    public void deleted(Long userId) {
+        statsRepository.deleteRowByUserId(userId);
+        dayRepository.deleteRowsByUserId(userId);
+    }
+
+    /**
+     * Estadísticas de un usuario.
+     *
+     * @param userId ID del usuario.
+     * @return Estadísticas (vacío si el usuario no existe).
+     */
+    public Optional<UserNoteStatsView> find(Long userId) {
+        return findAll(List.of(userId)).stream().findFirst();
+    }
+
+    /**
+     * Estadísticas de varios usuarios, en el orden pedido.
+     *
+     * @param userIds IDs de los usuarios (los repetidos o inexistentes se
+     *                ignoran).
+     * @return Estadísticas de los usuarios que existen.
+     */
+    public List<UserNoteStatsView> findAll(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, UserNoteStatsView> found = new HashMap<>();
+        statsRepository.findViewsByUserIdIn(ids).forEach(view -> found.put(view.userId(), view));
+
+        // ? Usuarios sin fila: se crea desde sus notas (solo la primera vez)
+        if (found.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            fill(missing);
+            statsRepository.findViewsByUserIdIn(missing).forEach(view -> found.put(view.userId(), view));
+        }
+
+        List<UserNoteStatsView> views = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            UserNoteStatsView view = found.get(id);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Página de estadísticas por cursor (ID de usuario).
+     *
+     * @param after Cursor: último ID de la página anterior (null = primera).
+     * @param limit Tamaño de página solicitado (null = por defecto; máximo
+     *              BaseModelService.MAX_PAGE_SIZE).
+     * @return Página de estadísticas.
+     */
+    public CursorPage<UserNoteStatsView, Long> findPage(Long after, Integer limit) {
+        int size = limit == null ? BaseModelService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, BaseModelService.MAX_PAGE_SIZE));
+
+        // ? Lee size + 1 IDs para detectar si hay más
+        List<Long> ids = userRepository.findIdsAfter(after == null ? 0L : after, Limit.of(size + 1));
+        Long next = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            next = ids.get(size - 1);
+        }
+        return new CursorPage<>(findAll(ids), next, size);
+    }
+
+    /**
+     * Histograma de actividad: notas creadas por intervalo dentro de un rango,
+     * de un usuario o de todos.
+     *
+     * 🧠 Lee users_note_days (una fila por usuario y día con notas) y agrupa
+     * los días en semanas o meses en memoria: a lo sumo una fila por día del
+     * rango para un usuario, sin recorrer sus notas. El global suma sobre el
+     * índice (note_date, note_count): su costo crece con los pares usuario-día
+     * del rango, no con el número de notas.
+     *
+     * ⚠️ Los intervalos sin notas se omiten. El primero y el último pueden
+     * quedar cortados por el rango (p. ej. una semana que empieza antes de
+     * from solo cuenta desde from).
+     *
+     * @param userId ID del usuario (null = todos los usuarios).
+     * @param range  Rango de fechas de creación.
+     * @param bucket Tamaño de los intervalos.
+     * @return Intervalos en orden, vacío si el usuario no existe.
+     */
+    public Optional<List<NoteActivityBucket>> histogram(Long userId, DateRange range, HistogramBucket bucket) {
+        List<NoteActivityBucket> days;
+        if (userId == null) {
+            days = dayRepository.findAllUsers(range.from(), range.to());
+
+            // ? El usuario no existe (si no tenía fila, la lectura crea sus días)
+        } else if (find(userId).isEmpty()) {
+            return Optional.empty();
+        } else {
+            days = dayRepository.findByUser(userId, range.from(), range.to());
+        }
+
+        // ? Por día: ya viene agrupado de la base de datos
+        if (bucket == HistogramBucket.DAY) {
+            return Optional.of(days);
+        }
+
+        Map<LocalDate, Long> buckets = new TreeMap<>();
+        for (NoteActivityBucket day : days) {
+            buckets.merge(bucket.start(day.start()), day.notes(), Long::sum);
+        }
+        return Optional.of(buckets.entrySet().stream()
+                .map(entry -> new NoteActivityBucket(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    /**
+     * Crea las filas que faltan (estadísticas y días) en su propia
+     * transacción.
+     *
+     * @param userIds IDs de los usuarios sin fila.
+     */
+    private void fill(List<Long> userIds) {
+        try {
+            ownTransaction.executeWithoutResult(status -> {
+                statsRepository.insertMissing(userIds);
+                dayRepository.insertMissing(userIds);
+            });
+
+            // ? Otra petición la creó a la vez: se lee la suya
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Estadísticas creadas por otra petición: {}", userIds);
+        }
+    }
+
+    /**
+     * Recalcula todas las filas (estadísticas y días) desde las notas, por
+     * bloques de RECONCILE_CHUNK usuarios (cada uno en su transacción), y
+     * elimina las de usuarios que ya no existen.
+     *
+     * @Scheduled: Cada app.users.stats.reconcile-interval (contado desde el
+     *             final de la anterior; la primera, pasado ese tiempo).
+     *
+     * ⚠️ Una nota creada o eliminada mientras se recalcula su bloque puede
+     * quedar sin contar hasta la siguiente reconciliación.
+     */
+    @Scheduled(initialDelayString = "${app.users.stats.reconcile-interval:1h}",
+            fixedDelayString = "${app.users.stats.reconcile-interval:1h}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        long users = 0;
+        int failed = 0;
+        Long after = 0L;
+
+        while (true) {
+            List<Long> ids = userRepository.findIdsAfter(after, Limit.of(RECONCILE_CHUNK));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            try {
+                ownTransaction.executeWithoutResult(status -> {
+                    statsRepository.insertMissing(ids);
+                    statsRepository.recompute(ids);
+                    dayRepository.deleteRowsByUserIdIn(ids);
+                    dayRepository.insertMissing(ids);
+                });
+
+                // ! Error: el bloque queda para la siguiente reconciliación
+            } catch (DataAccessException e) {
+                failed++;
+                logger.warn("⚠️ Reconciliación de estadísticas: bloque tras el usuario {} omitido: {}", after,
+                        e.getMessage());
+            }
+
+            users += ids.size();
+            after = ids.getLast();
+        }
+
+        Integer orphans = ownTransaction.execute(status -> {
+            dayRepository.deleteOrphans();
+            return statsRepository.deleteOrphans();
+        });
+        logger.info("📊 Estadísticas de {} usuarios reconciliadas en {} ms ({} huérfanas, {} bloques con error)",
+                users, (System.nanoTime() - start) / 1_000_000, orphans, failed);
+    }
+}
@@ -0,0 +1,57 @@
+-- ----------------------------------------------------
+-- V1: Esquema inicial [H2, pruebas]
+--
+-- Mismo esquema que generaba Hibernate con ddl-auto=create (ver
+-- db/migration/mysql/V1__initial_schema.sql).
+-- ----------------------------------------------------
+
+create sequence users_seq start with 1 increment by 50;
+create sequence users_details_seq start with 1 increment by 50;
+create sequence users_notes_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    email varchar(50) not null unique,
+    first_name varchar(120) not null,
+    last_name varchar(120) not null,
+    password varchar(100) not null,
+    role enum ('ADMIN','DEVELOPER','PUBLIC_USER','SALE_PERSON','SUPER_ADMIN') not null,
+    updated_at timestamp(6) with time zone,
+    username varchar(30) not null unique,
+    version bigint,
+    primary key (id),
+    unique (email, username)
+);
+
+create table users_details (
+    id bigint not null,
+    address varchar(120),
+    birth_date date,
+    phone_number varchar(12) not null unique,
+    version bigint,
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table users_note_stats (
+    user_id bigint not null,
+    latest_note_date date,
+    note_count bigint not null,
+    primary key (user_id)
+);
+
+create table users_notes (
+    id bigint not null,
+    content TEXT,
+    creation_date date,
+    preview varchar(160),
+    title varchar(120) not null,
+    updated_at timestamp(6) with time zone,
+    version bigint,
+    user_id bigint not null,
+    primary key (id),
+    unique (title)
+);
+
+alter table users_details add constraint FKdsdvybgotfuw6xs6ygbwj740l foreign key (user_id) references users;
+alter table users_notes add constraint FK2iyofe4bwjc1ue3x36fpsvpxt foreign key (user_id) references users;
@@ -0,0 +1,7 @@
+-- ----------------------------------------------------
+-- V2: Índice de las notas de un usuario por fecha [H2, pruebas]
+--
+-- Ver db/migration/mysql/V2__users_notes_user_creation_index.sql.
+-- ----------------------------------------------------
+
+create index IX_users_notes_user_creation on users_notes (user_id, creation_date, id);
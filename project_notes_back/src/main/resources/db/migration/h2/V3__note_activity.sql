@@ -0,0 +1,23 @@
+-- ----------------------------------------------------
+-- V3: Consultas por rango de fechas e histogramas de actividad [H2, pruebas]
+--
+-- Ver db/migration/mysql/V3__note_activity.sql.
+-- ----------------------------------------------------
+
+create index IX_users_notes_creation on users_notes (creation_date, id);
+
+create table users_note_days (
+    note_count bigint not null,
+    note_date date not null,
+    user_id bigint not null,
+    primary key (user_id, note_date)
+);
+
+create index IX_users_note_days_date on users_note_days (note_date, note_count);
+
+insert into users_note_days (user_id, note_date, note_count)
+select n.user_id, n.creation_date, count(*)
+from users_notes n
+where n.creation_date is not null
+  and exists (select 1 from users_note_stats s where s.user_id = n.user_id)
+group by n.user_id, n.creation_date;
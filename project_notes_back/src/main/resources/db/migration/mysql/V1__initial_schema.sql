@@ -0,0 +1,73 @@
+-- ----------------------------------------------------
+-- V1: Esquema inicial [MySQL]
+--
+-- Mismo esquema que generaba Hibernate con ddl-auto=create (mismos nombres de
+-- restricciones). Las bases creadas así se toman como V1 sin ejecutarla
+-- (spring.flyway.baseline-on-migrate).
+-- ----------------------------------------------------
+
+create table users (
+    id bigint not null,
+    email varchar(50) not null,
+    first_name varchar(120) not null,
+    last_name varchar(120) not null,
+    password varchar(100) not null,
+    role enum ('ADMIN','DEVELOPER','PUBLIC_USER','SALE_PERSON','SUPER_ADMIN') not null,
+    updated_at datetime(6),
+    username varchar(30) not null,
+    version bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table users_details (
+    id bigint not null,
+    address varchar(120),
+    birth_date date,
+    phone_number varchar(12) not null,
+    version bigint,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users_note_stats (
+    user_id bigint not null,
+    latest_note_date date,
+    note_count bigint not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+create table users_notes (
+    id bigint not null,
+    content TEXT,
+    creation_date date,
+    preview varchar(160),
+    title varchar(120) not null,
+    updated_at datetime(6),
+    version bigint,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Secuencias de los IDs (MySQL no tiene secuencias: Hibernate las emula con
+-- una tabla de una fila)
+create table users_seq (next_val bigint) engine=InnoDB;
+insert into users_seq values (1);
+
+create table users_details_seq (next_val bigint) engine=InnoDB;
+insert into users_details_seq values (1);
+
+create table users_notes_seq (next_val bigint) engine=InnoDB;
+insert into users_notes_seq values (1);
+
+-- Restricciones únicas
+alter table users add constraint UKfnranlqhubvw04boopn028e6 unique (email, username);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+alter table users_details add constraint UKolcrwdjv6h8jfdvf87ollwnse unique (phone_number);
+alter table users_details add constraint UKm2cnpu820s6ciirwbmvlw8qwd unique (user_id);
+alter table users_notes add constraint UKsltr7c8bwo02bx0f3w39aj8tu unique (title);
+
+-- Claves foráneas (InnoDB crea un índice con el mismo nombre si no hay otro
+-- que empiece por la columna)
+alter table users_details add constraint FKdsdvybgotfuw6xs6ygbwj740l foreign key (user_id) references users (id);
+alter table users_notes add constraint FK2iyofe4bwjc1ue3x36fpsvpxt foreign key (user_id) references users (id);
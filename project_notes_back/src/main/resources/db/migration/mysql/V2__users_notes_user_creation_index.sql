@@ -0,0 +1,13 @@
+-- ----------------------------------------------------
+-- V2: Índice de las notas de un usuario por fecha [MySQL]
+--
+-- GET /api/users/{id}/notes lee las notas de un usuario ordenadas por
+-- (creation_date, id) con paginación por cursor: el índice devuelve cada
+-- página ya ordenada, sin filesort y sin recorrer las notas anteriores.
+-- ----------------------------------------------------
+
+create index IX_users_notes_user_creation on users_notes (user_id, creation_date, id);
+
+-- El índice que InnoDB creó para la clave foránea queda cubierto por el
+-- nuevo (empieza por user_id): se elimina para no mantener dos
+drop index FK2iyofe4bwjc1ue3x36fpsvpxt on users_notes;
@@ -0,0 +1,31 @@
+-- ----------------------------------------------------
+-- V3: Consultas por rango de fechas e histogramas de actividad [MySQL]
+--
+-- GET /api/notes?from=&to= lee las notas de un rango de fechas de la más
+-- reciente a la más antigua, paginadas por (creation_date, id): el índice
+-- devuelve cada página ya ordenada, igual que el de V2 para un usuario.
+--
+-- GET /api/notes/histogram lee users_note_days (notas por usuario y día,
+-- mantenida por UserNoteStatsService) en lugar de agrupar users_notes.
+-- ----------------------------------------------------
+
+create index IX_users_notes_creation on users_notes (creation_date, id);
+
+create table users_note_days (
+    note_count bigint not null,
+    note_date date not null,
+    user_id bigint not null,
+    primary key (user_id, note_date)
+) engine=InnoDB;
+
+-- Histograma global: suma por fecha sin leer la tabla (índice de cobertura)
+create index IX_users_note_days_date on users_note_days (note_date, note_count);
+
+-- Días de los usuarios que ya tienen estadísticas; los demás se calculan
+-- junto con ellas en su primera lectura
+insert into users_note_days (user_id, note_date, note_count)
+select n.user_id, n.creation_date, count(*)
+from users_notes n
+where n.creation_date is not null
+  and exists (select 1 from users_note_stats s where s.user_id = n.user_id)
+group by n.user_id, n.creation_date;
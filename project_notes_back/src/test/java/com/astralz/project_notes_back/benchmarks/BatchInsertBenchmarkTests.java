@@ -0,0 +1,104 @@
+package com.astralz.project_notes_back.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Benchmark de inserción: UserService.saveWithDetails con 500 notas.
+ * 
+ * Mide las sentencias JDBC preparadas (cada lote JDBC cuenta una sola vez) y
+ * el tiempo de la operación sobre H2.
+ * 
+ * Ejecutar con: ./mvnw test -Pbench -Dtest=BatchInsertBenchmarkTests
+ * 
+ * En MySQL la diferencia de tiempo es mayor que en H2: cada sentencia es un
+ * viaje por la red y rewriteBatchedStatements convierte cada lote en un solo
+ * INSERT.
+ * 
+ * @Tag("benchmark"): Se excluye de `mvn test`, se activa con -Pbench.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchInsertBenchmarkTests {
+
+    // Notas por usuario
+    private static final int NOTES = 500;
+
+    // Máximo de sentencias aceptado para no considerar una regresión
+    private static final int MAX_STATEMENTS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(BatchInsertBenchmarkTests.class);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveWithDetailsBatchesNoteInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Calentamiento (JIT, caché de sentencias y primer bloque de IDs)
+        save("warmup");
+
+        statistics.clear();
+        long start = System.nanoTime();
+        save("run");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        long statements = statistics.getPrepareStatementCount();
+        logger.info("📊 saveWithDetails({} notas): {} ms, {} sentencias, {} inserts",
+                NOTES, elapsedMs, statements, statistics.getEntityInsertCount());
+
+        assertTrue(statements <= MAX_STATEMENTS,
+                "Se esperaban como máximo " + MAX_STATEMENTS + " sentencias, hubo " + statements);
+    }
+
+    /**
+     * Guarda un usuario con sus detalles y NOTES notas.
+     * 
+     * @param prefix Prefijo para no chocar con las restricciones únicas.
+     */
+    private void save(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "_user");
+        user.setEmail(prefix + "@bench.dev");
+        user.setPassword("password123");
+        user.setFirstName("Bench");
+        user.setLastName("Mark");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber(prefix.equals("run") ? "5500000001" : "5500000002");
+
+        List<Note> notes = new ArrayList<>(NOTES);
+        for (int i = 0; i < NOTES; i++) {
+            Note note = new Note();
+            note.setTitle(prefix + " note " + i);
+            note.setContent("Contenido de la nota " + i);
+            notes.add(note);
+        }
+
+        userService.saveWithDetails(user, details, notes);
+    }
+}
@@ -0,0 +1,95 @@
+package com.astralz.project_notes_back.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.repositories.UserRepository;
+import com.astralz.project_notes_back.services.faker.BulkDataGenerator;
+import com.astralz.project_notes_back.services.models.UserService;
+
+/**
+ * Benchmark del generador masivo: BulkDataGenerator con 5.000 usuarios.
+ *
+ * Mide filas por segundo (usuarios + detalles + notas) sobre H2 y comprueba
+ * que después Hibernate sigue insertando sin chocar con los IDs generados.
+ *
+ * Ejecutar con: ./mvnw test -Pbench -Dtest=BulkDataGeneratorBenchmarkTests
+ *
+ * Resultados de referencia (H2, 1 vCPU, 5.000 usuarios, media 20 notas,
+ * ~111.000 filas):
+ * - Contenido con faker.lorem().paragraph(): ~30 s (~3.700 filas/s).
+ * - Contenido con el vocabulario lorem precargado: ~10,6 s (~10.500 filas/s).
+ * En MySQL pesa más la red: subir threads (sin pasar el tamaño del pool).
+ *
+ * @Tag("benchmark"): Se excluye de `mvn test`, se activa con -Pbench.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk_generator;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.generator.enabled=true",
+        "app.generator.chunk-size=250",
+        "app.generator.threads=2"
+})
+@ActiveProfiles("test")
+class BulkDataGeneratorBenchmarkTests {
+
+    // Usuarios a generar
+    private static final int USERS = 5_000;
+
+    private final Logger logger = LoggerFactory.getLogger(BulkDataGeneratorBenchmarkTests.class);
+
+    @Autowired
+    private BulkDataGenerator generator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void generatesUsersAndNotesInParallelChunks() {
+        BulkDataGenerator.Report report = generator.generate(USERS);
+
+        logger.info("📊 BulkDataGenerator({} usuarios): {} notas en {} ms, {} filas/s",
+                USERS, report.notes(), report.elapsed().toMillis(), Math.round(report.rowsPerSecond()));
+
+        assertEquals(0, report.failedChunks());
+        assertEquals(USERS, userRepository.count());
+        assertEquals(report.notes(), noteRepository.count());
+
+        // ? Los IDs siguen la secuencia de Hibernate: guardar después no choca
+        User user = new User();
+        user.setUsername("after_bulk");
+        user.setEmail("after@bulk.dev");
+        user.setPassword("password123");
+        user.setFirstName("After");
+        user.setLastName("Bulk");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("5500000004");
+
+        Note note = new Note();
+        note.setTitle("after bulk note");
+        note.setContent("Contenido de la nota");
+
+        assertNotNull(userService.saveWithDetails(user, details, List.of(note)).getId());
+    }
+}
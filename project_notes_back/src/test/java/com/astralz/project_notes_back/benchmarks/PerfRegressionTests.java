@@ -0,0 +1,443 @@
+package com.astralz.project_notes_back.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Suite de regresión de rendimiento: la aplicación completa (Tomcat, Spring
+ * MVC, JPA) contra H2 en modo MySQL, con una mezcla concurrente de peticiones
+ * a /api/notes y /api/users (incluido POST /api/users/full).
+ *
+ * Registra peticiones/s y p50/p99 por operación en target/perf-result.json y
+ * los compara con la línea base guardada en BASELINE. La prueba falla si
+ * alguna operación empeora más de lo tolerado:
+ * - p50 > base.p50 * (1 + perf.threshold) + perf.slack-ms
+ * - p99 > base.p99 * (1 + perf.p99-threshold) + perf.slack-ms
+ * - peticiones/s < base.peticiones/s * (1 - perf.threshold)
+ * El p99 de una operación con pocos cientos de muestras depende de un puñado
+ * de peticiones (GC, refresco del índice...), por eso su umbral es más amplio.
+ *
+ * Ejecutar con: ./mvnw test -Pperf
+ *
+ * Parámetros (-D...):
+ * - perf.clients: Clientes concurrentes [16].
+ * - perf.warmup-seconds / perf.duration-seconds: Calentamiento y medición [5 / 20].
+ * - perf.mix: Peso de cada operación, p. ej. "notes.get=50,users.full=5"
+ *   [DEFAULT_MIX]. Operaciones con peso 0 o ausentes no se lanzan
+ *   (notes.summaries no está en la mezcla por defecto).
+ * - perf.threshold: Empeoramiento tolerado de p50 y peticiones/s [0.30].
+ * - perf.p99-threshold: Empeoramiento tolerado del p99 [1.00].
+ * - perf.slack-ms: Margen absoluto para las latencias [5].
+ * - perf.max-error-rate: Proporción máxima de respuestas no 2xx [0.01].
+ * - perf.update-baseline=true: Guarda el resultado como nueva línea base.
+ *
+ * ⚠️ La línea base depende de la máquina: regenerarla (perf.update-baseline)
+ * en la máquina donde se vaya a comparar y al cambiar la mezcla o los
+ * clientes (si no coinciden, no se compara).
+ *
+ * @Tag("perf"): Se excluye de `mvn test`, se activa con -Pperf.
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({ "test", "perf" })
+class PerfRegressionTests {
+
+    // Mezcla por defecto: mayoría de lecturas, como el uso real de la API
+    private static final String DEFAULT_MIX = "notes.page=25,notes.get=30,notes.create=10,notes.update=10,"
+            + "users.page=10,users.get=10,users.full=5";
+
+    // Línea base (relativa al módulo, donde surefire ejecuta las pruebas)
+    private static final Path BASELINE = Path.of("src/test/resources/perf/baseline.json");
+    private static final Path RESULT = Path.of("target/perf-result.json");
+
+    // Datos sembrados
+    private static final int USERS = 20;
+    private static final int NOTES_PER_USER = 100;
+
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("perf.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("perf.duration-seconds", 20));
+    private static final String MIX = System.getProperty("perf.mix", DEFAULT_MIX);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("perf.threshold", "0.30"));
+    private static final double P99_THRESHOLD = Double.parseDouble(System.getProperty("perf.p99-threshold", "1.00"));
+    private static final long SLACK_MS = Long.getLong("perf.slack-ms", 5);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("perf.max-error-rate", "0.01"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("perf.update-baseline");
+
+    private final Logger logger = LoggerFactory.getLogger(PerfRegressionTests.class);
+
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> noteIds = new ArrayList<>();
+
+    // Sufijo para títulos, usernames y emails únicos entre cargas
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void workloadMixDoesNotRegress() throws Exception {
+        seed();
+        Operation[] operations = parseMix(MIX);
+
+        PerfReport report;
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+
+            // Calentamiento (JIT, conexiones HTTP y JDBC, cachés)
+            load(client, operations, WARMUP);
+            report = load(client, operations, DURATION);
+        }
+
+        Files.createDirectories(RESULT.getParent());
+        mapper.writeValue(RESULT.toFile(), report);
+        report.operations().forEach((name, stats) -> logger.info("📊 {}: {} peticiones, {} /s, p50 {} ms, p99 {} ms, "
+                + "{} errores", name, stats.requests(), String.format("%.1f", stats.throughput()), stats.p50Ms(),
+                stats.p99Ms(), stats.errors()));
+        logger.info("📊 total: {} peticiones/s con {} clientes ({})", String.format("%.1f", report.throughput()),
+                CLIENTS, RESULT.toAbsolutePath());
+
+        assertTrue(report.errorRate() <= MAX_ERROR_RATE,
+                "Errores: " + String.format("%.2f%%", report.errorRate() * 100) + " de las peticiones");
+
+        // ? Nueva línea base: no se compara
+        if (UPDATE_BASELINE) {
+            Files.createDirectories(BASELINE.getParent());
+            mapper.writeValue(BASELINE.toFile(), report);
+            logger.info("📌 Línea base actualizada: {}", BASELINE.toAbsolutePath());
+            return;
+        }
+
+        // ? Sin línea base: no hay contra qué comparar
+        if (!Files.exists(BASELINE)) {
+            logger.warn("⚠️ Sin línea base en {}; generarla con -Dperf.update-baseline=true", BASELINE);
+            return;
+        }
+
+        PerfReport baseline = mapper.readValue(BASELINE.toFile(), PerfReport.class);
+
+        // ? Otra carga: los números no son comparables
+        if (baseline.clients() != report.clients() || !baseline.mix().equals(report.mix())) {
+            logger.warn("⚠️ La línea base se midió con otra carga ({} clientes, {}); no se compara",
+                    baseline.clients(), baseline.mix());
+            return;
+        }
+
+        List<String> regressions = regressions(baseline, report);
+        assertTrue(regressions.isEmpty(), "Regresiones de rendimiento:\n" + String.join("\n", regressions));
+    }
+
+    /**
+     * Compara cada operación de la línea base con el resultado actual.
+     *
+     * @param baseline Línea base.
+     * @param current  Resultado actual.
+     * @return Descripción de cada regresión (vacía si no hay).
+     */
+    private List<String> regressions(PerfReport baseline, PerfReport current) {
+        List<String> regressions = new ArrayList<>();
+        baseline.operations().forEach((name, base) -> {
+            OperationStats now = current.operations().get(name);
+            if (now == null) {
+                return;
+            }
+            long maxP50 = Math.round(base.p50Ms() * (1 + THRESHOLD)) + SLACK_MS;
+            if (now.p50Ms() > maxP50) {
+                regressions.add(String.format("- %s: p50 %d ms (base %d ms, máximo %d ms)",
+                        name, now.p50Ms(), base.p50Ms(), maxP50));
+            }
+            long maxP99 = Math.round(base.p99Ms() * (1 + P99_THRESHOLD)) + SLACK_MS;
+            if (now.p99Ms() > maxP99) {
+                regressions.add(String.format("- %s: p99 %d ms (base %d ms, máximo %d ms)",
+                        name, now.p99Ms(), base.p99Ms(), maxP99));
+            }
+            double minThroughput = base.throughput() * (1 - THRESHOLD);
+            if (now.throughput() < minThroughput) {
+                regressions.add(String.format("- %s: %.1f peticiones/s (base %.1f, mínimo %.1f)",
+                        name, now.throughput(), base.throughput(), minThroughput));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Crea USERS usuarios con NOTES_PER_USER notas cada uno.
+     */
+    private void seed() {
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setUsername("perf_user_" + u);
+            user.setEmail("perf" + u + "@bench.dev");
+            user.setPassword("password123");
+            user.setFirstName("Perf");
+            user.setLastName("Bench");
+
+            UserDetails details = new UserDetails();
+            details.setPhoneNumber("55000000" + (10 + u));
+
+            List<Note> notes = new ArrayList<>(NOTES_PER_USER);
+            for (int i = 0; i < NOTES_PER_USER; i++) {
+                Note note = new Note();
+                note.setTitle("perf note " + u + "-" + i);
+                note.setContent("Contenido de la prueba de rendimiento número " + i);
+                notes.add(note);
+            }
+
+            userIds.add(userService.saveWithDetails(user, details, notes).getId());
+            notes.forEach(note -> noteIds.add(note.getId()));
+        }
+    }
+
+    /**
+     * CLIENTS clientes lanzan operaciones de la mezcla durante el tiempo
+     * indicado (cada cliente espera su respuesta antes de la siguiente).
+     *
+     * @param client     Cliente HTTP.
+     * @param operations Operaciones con su peso acumulado.
+     * @param duration   Tiempo de carga.
+     * @return Resultado de la carga.
+     */
+    private PerfReport load(HttpClient client, Operation[] operations, Duration duration)
+            throws InterruptedException {
+        int total = operations[operations.length - 1].cumulativeWeight();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Samples> perClient = new ArrayList<>(CLIENTS);
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                Samples samples = new Samples(operations.length);
+                perClient.add(samples);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int pick = ThreadLocalRandom.current().nextInt(total);
+                        int op = 0;
+                        while (operations[op].cumulativeWeight() <= pick) {
+                            op++;
+                        }
+
+                        HttpRequest request = request(operations[op].name());
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        samples.add(op, System.nanoTime() - start, ok);
+                    }
+                });
+            }
+        }
+
+        // Une las muestras de todos los clientes por operación
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        for (int op = 0; op < operations.length; op++) {
+            int index = op;
+            long[] latencies = perClient.stream()
+                    .flatMapToLong(s -> Arrays.stream(s.latencies[index], 0, s.counts[index]))
+                    .sorted()
+                    .toArray();
+            long errors = perClient.stream().mapToLong(s -> s.errors[index]).sum();
+            stats.put(operations[op].name(), OperationStats.of(latencies, errors, duration));
+        }
+        return PerfReport.of(CLIENTS, MIX, duration, stats);
+    }
+
+    /**
+     * Arma la petición HTTP de una operación de la mezcla.
+     *
+     * @param operation Nombre de la operación.
+     * @return Petición lista para enviar.
+     */
+    private HttpRequest request(String operation) {
+        String base = "http://localhost:" + port + "/api";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long noteId = noteIds.get(random.nextInt(noteIds.size()));
+        Long userId = userIds.get(random.nextInt(userIds.size()));
+        long n = sequence.incrementAndGet();
+
+        return switch (operation) {
+            case "notes.page" -> get(base + "/notes?limit=20&after=" + noteIds.get(random.nextInt(noteIds.size())));
+            case "notes.summaries" -> get(base + "/notes/summaries?limit=20&after="
+                    + noteIds.get(random.nextInt(noteIds.size())));
+            case "notes.get" -> get(base + "/notes/" + noteId);
+            case "notes.create" -> send("POST", base + "/notes", note("perf new " + n, userId));
+            case "notes.update" -> send("PUT", base + "/notes/" + noteId, note("perf upd " + n, userId));
+            case "users.page" -> get(base + "/users?limit=20");
+            case "users.get" -> get(base + "/users/" + userId);
+            case "users.full" -> send("POST", base + "/users/full", """
+                    {"user": {"username": "perf_full_%1$d", "email": "full%1$d@bench.dev",
+                              "password": "password123", "firstName": "Perf", "lastName": "Full"},
+                     "userDetails": {"phoneNumber": "66%1$08d"},
+                     "notes": [{"title": "perf full %1$d-1", "content": "Contenido de la nota 1"},
+                               {"title": "perf full %1$d-2", "content": "Contenido de la nota 2"}]}
+                    """.formatted(n));
+            default -> throw new IllegalArgumentException("Operación desconocida en perf.mix: " + operation);
+        };
+    }
+
+    private static String note(String title, Long userId) {
+        return """
+                {"title": "%s", "content": "Contenido de la prueba de rendimiento", "user": {"id": %d}}
+                """.formatted(title, userId);
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest send(String method, String uri, String json) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Interpreta perf.mix ("nombre=peso,...").
+     *
+     * @param mix Mezcla de operaciones.
+     * @return Operaciones con peso, con su peso acumulado.
+     */
+    private static Operation[] parseMix(String mix) {
+        List<Operation> operations = new ArrayList<>();
+        int cumulative = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                cumulative += weight;
+                operations.add(new Operation(parts[0].trim(), cumulative));
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("perf.mix no tiene operaciones con peso: " + mix);
+        }
+        return operations.toArray(Operation[]::new);
+    }
+
+    /**
+     * Operación de la mezcla.
+     *
+     * @param name             Nombre (p. ej. notes.get).
+     * @param cumulativeWeight Suma de su peso y el de las anteriores.
+     */
+    record Operation(String name, int cumulativeWeight) {
+    }
+
+    /**
+     * Latencias y errores de un cliente, por operación (un solo hilo escribe).
+     */
+    static final class Samples {
+        private final long[][] latencies;
+        private final int[] counts;
+        private final long[] errors;
+
+        Samples(int operations) {
+            latencies = new long[operations][1024];
+            counts = new int[operations];
+            errors = new long[operations];
+        }
+
+        void add(int op, long nanos, boolean ok) {
+            if (counts[op] == latencies[op].length) {
+                latencies[op] = Arrays.copyOf(latencies[op], counts[op] * 2);
+            }
+            latencies[op][counts[op]++] = nanos;
+            if (!ok) {
+                errors[op]++;
+            }
+        }
+    }
+
+    /**
+     * Resultado de una operación.
+     *
+     * @param requests   Peticiones completadas.
+     * @param errors     Respuestas no 2xx o fallidas.
+     * @param throughput Peticiones/s.
+     * @param p50Ms      Latencia mediana (ms).
+     * @param p99Ms      Latencia del percentil 99 (ms).
+     */
+    record OperationStats(long requests, long errors, double throughput, long p50Ms, long p99Ms) {
+
+        static OperationStats of(long[] sortedLatencies, long errors, Duration duration) {
+            return new OperationStats(sortedLatencies.length, errors,
+                    sortedLatencies.length / (duration.toMillis() / 1000.0),
+                    percentileMs(sortedLatencies, 0.50), percentileMs(sortedLatencies, 0.99));
+        }
+
+        private static long percentileMs(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, sorted.length * p)] / 1_000_000;
+        }
+    }
+
+    /**
+     * Resultado de una carga (formato de target/perf-result.json y de la
+     * línea base).
+     *
+     * @param clients         Clientes concurrentes.
+     * @param mix             Mezcla de operaciones.
+     * @param durationSeconds Tiempo de medición.
+     * @param requests        Peticiones completadas.
+     * @param errors          Respuestas no 2xx o fallidas.
+     * @param throughput      Peticiones/s en total.
+     * @param operations      Resultado por operación.
+     */
+    record PerfReport(int clients, String mix, long durationSeconds, long requests, long errors, double throughput,
+            Map<String, OperationStats> operations) {
+
+        static PerfReport of(int clients, String mix, Duration duration, Map<String, OperationStats> operations) {
+            long requests = operations.values().stream().mapToLong(OperationStats::requests).sum();
+            long errors = operations.values().stream().mapToLong(OperationStats::errors).sum();
+            return new PerfReport(clients, mix, duration.toSeconds(), requests, errors,
+                    requests / (duration.toMillis() / 1000.0), operations);
+        }
+
+        double errorRate() {
+            return requests == 0 ? 1 : (double) errors / requests;
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.astralz.project_notes_back.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.Driver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark de arranque: tiempo hasta la primera petición atendida, antes y
+ * después del modo de arranque rápido (perfil prod + ./mvnw clean package
+ * -Pstartup).
+ *
+ * Cada modo arranca el jar extraído (target/app) en otra JVM contra H2 en
+ * memoria (el jar se ejecuta con H2 agregado al classpath) y mide, desde que
+ * se lanza el proceso:
+ * - listo: GET /actuator/health/readiness responde 200 (lo que espera la
+ *   sonda de Kubernetes; los ApplicationRunner ya terminaron).
+ * - primera petición: además, GET /api/notes?limit=1 respondido.
+ *
+ * Modos (se suman de uno en uno para ver qué aporta cada paso):
+ * - antes: perfil dev (show-sql y format_sql, todos los beans al arrancar,
+ *   DatabaseSeeder en el arranque).
+ * - prod: perfil prod (sin SQL en consola, inicialización diferida,
+ *   DatabaseSeeder en segundo plano).
+ * - prod + AOT: -Dspring.aot.enabled=true.
+ * - prod + AOT + CDS (después): además -XX:SharedArchiveFile.
+ *
+ * Ejecutar con:
+ *   ./mvnw clean package -Pstartup -DskipTests
+ *   ./mvnw test -Pbench -Dtest=StartupBenchmarkTests
+ *
+ * Resultados de referencia (mediana de 3 arranques, VM de 1 vCPU compartida):
+ * - antes: listo ~31,8 s, primera petición ~32,2 s.
+ * - prod: listo ~28,4 s, primera petición ~28,8 s.
+ * - prod + AOT: listo ~22,3 s, primera petición ~22,5 s.
+ * - prod + AOT + CDS: listo ~15,5 s, primera petición ~15,8 s (-51 %).
+ * El arranque anterior también recreaba el esquema (ddl-auto=create), que ya
+ * no ocurre con las migraciones de Flyway; DevTools no entra en el jar
+ * empaquetado, así que ninguno de los modos lo carga.
+ *
+ * @Tag("benchmark"): Se excluye de `mvn test`, se activa con -Pbench.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTests {
+
+    // Arranques por modo (se informa la mediana)
+    private static final int RUNS = 3;
+
+    // Espera máxima por arranque
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    // Jar extraído y archivo CDS de ./mvnw clean package -Pstartup
+    private static final Path APP = Path.of("target", "app");
+    private static final Path JAR = APP.resolve("project_notes_back-0.0.1-SNAPSHOT.jar");
+    private static final Path ARCHIVE = APP.resolve("application.jsa");
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmarkTests.class);
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(JAR) && Files.exists(ARCHIVE),
+                "Falta target/app: ejecutar antes ./mvnw clean package -Pstartup -DskipTests");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("antes", List.of("-Dspring.profiles.active=dev"));
+        modes.put("prod", List.of("-Dspring.profiles.active=prod"));
+        modes.put("prod + AOT", List.of("-Dspring.profiles.active=prod", "-Dspring.aot.enabled=true"));
+        modes.put("prod + AOT + CDS", List.of("-Dspring.profiles.active=prod", "-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + ARCHIVE.toAbsolutePath(), "-Xlog:cds=error"));
+
+        Map<String, StartupResult> results = new LinkedHashMap<>();
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build()) {
+
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                List<StartupResult> runs = new ArrayList<>();
+                for (int run = 0; run < RUNS; run++) {
+                    runs.add(start(client, mode.getKey(), run, mode.getValue()));
+                }
+
+                StartupResult median = StartupResult.median(runs);
+                results.put(mode.getKey(), median);
+                logger.info("📊 {}: listo en {} ms, primera petición en {} ms (mediana de {})", mode.getKey(),
+                        median.readyMs(), median.firstRequestMs(), RUNS);
+            }
+        }
+
+        StartupResult before = results.get("antes");
+        StartupResult after = results.get("prod + AOT + CDS");
+        logger.info("📊 después / antes: {} ms vs {} ms hasta la primera petición ({} %)",
+                after.firstRequestMs(), before.firstRequestMs(),
+                String.format("%+.0f", 100.0 * (after.firstRequestMs() - before.firstRequestMs())
+                        / before.firstRequestMs()));
+        assertTrue(after.firstRequestMs() < before.firstRequestMs(),
+                "El arranque rápido no mejora la primera petición: " + results);
+    }
+
+    /**
+     * Arranca la aplicación en otra JVM y mide hasta la primera petición.
+     *
+     * @param client  Cliente HTTP.
+     * @param mode    Nombre del modo (para el log del proceso).
+     * @param run     Número de arranque.
+     * @param jvmArgs Opciones de la JVM del modo.
+     * @return Tiempos del arranque.
+     */
+    private StartupResult start(HttpClient client, String mode, int run, List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+
+        // El jar extraído lleva sus dependencias en el Class-Path del manifiesto;
+        // H2 (scope test) se agrega al final, después de las del archivo CDS
+        String classpath = JAR.toAbsolutePath() + File.pathSeparator
+                + Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList("-cp", classpath, "com.astralz.project_notes_back.ProjectNotesApplication",
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+
+        Path log = Path.of("target", "startup-logs", mode.replaceAll("\\W+", "-") + "-" + run + ".log");
+        Files.createDirectories(log.getParent());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile())
+                .start();
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            waitForOk(client, base.resolve("/actuator/health/readiness"), process, log);
+            long ready = System.nanoTime();
+            waitForOk(client, base.resolve("/api/notes?limit=1"), process, log);
+            long firstRequest = System.nanoTime();
+
+            return new StartupResult(TimeUnit.NANOSECONDS.toMillis(ready - start),
+                    TimeUnit.NANOSECONDS.toMillis(firstRequest - start));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Repite una petición GET hasta que responda 200.
+     *
+     * @throws IllegalStateException si el proceso termina o se agota TIMEOUT.
+     */
+    private void waitForOk(HttpClient client, URI uri, Process process, Path log)
+            throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+
+        while (System.nanoTime() < deadline) {
+
+            // ! Error: la aplicación no arrancó
+            if (!process.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó al arrancar, ver " + log);
+            }
+
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+
+                // ? Aún no escucha en el puerto
+            } catch (ConnectException e) {
+                // Reintenta
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Sin respuesta 200 de " + uri + " en " + TIMEOUT + ", ver " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Tiempos de un arranque, desde que se lanza el proceso.
+     *
+     * @readyMs: Hasta que la sonda de readiness responde 200.
+     * @firstRequestMs: Hasta la primera respuesta de GET /api/notes.
+     */
+    record StartupResult(long readyMs, long firstRequestMs) {
+
+        /**
+         * Mediana de varios arranques (por tiempo hasta la primera petición).
+         */
+        static StartupResult median(List<StartupResult> runs) {
+            List<StartupResult> sorted = new ArrayList<>(runs);
+            sorted.sort((a, b) -> Long.compare(a.firstRequestMs(), b.firstRequestMs()));
+            return sorted.get(sorted.size() / 2);
+        }
+    }
+}
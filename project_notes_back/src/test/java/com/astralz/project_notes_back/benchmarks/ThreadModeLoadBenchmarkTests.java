@@ -0,0 +1,379 @@
+package com.astralz.project_notes_back.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Benchmark de carga: hilos de plataforma vs. hilos virtuales sobre los
+ * endpoints de NoteController (GET /api/notes, /api/notes/{id} y
+ * /api/notes/search).
+ *
+ * Cada modo arranca la aplicación en un puerto aleatorio y recibe CLIENTS
+ * clientes concurrentes durante DURATION. H2 responde en microsegundos, así
+ * que cada sentencia JDBC espera LATENCY_MS para simular el viaje por la red
+ * hasta MySQL (el hilo queda bloqueado igual que con un servidor real).
+ *
+ * Ejecutar con: ./mvnw test -Pbench -Dtest=ThreadModeLoadBenchmarkTests
+ *
+ * Resultados de referencia (100 clientes, 5 ms por sentencia, pool de 20
+ * conexiones, VM de 1 vCPU con el cliente en la misma JVM):
+ * - Plataforma: ~356 peticiones/s, p50 ~245 ms, p99 ~800 ms, 0 errores,
+ *   pico de 188 hilos.
+ * - Virtuales: ~98 peticiones/s, p50 ~740 ms, p99 ~4,6 s, 18 errores (503
+ *   por falta de conexiones), pico de 44 hilos.
+ * Con un solo núcleo todo el servidor corre sobre un único hilo portador y
+ * los hilos virtuales salen perdiendo incluso en endpoints sin base de datos
+ * (GET /api/cache: ~270 vs ~940 peticiones/s con 10 clientes). Solo reducen
+ * los hilos del sistema. Por eso spring.threads.virtual.enabled queda en
+ * false; repetir la medición en el hardware de producción (varios núcleos)
+ * antes de activarlo.
+ *
+ * Hallazgos al preparar el benchmark (ya corregidos):
+ * - ViewCache cargaba dentro de Caffeine (ConcurrentHashMap.compute, con
+ *   synchronized): cada consulta de GET /api/notes/{id} fijaba el hilo.
+ * - Open Session In View retenía la conexión JDBC hasta terminar de escribir
+ *   la respuesta; se desactiva (spring.jpa.open-in-view=false).
+ *
+ * Pinning: en modo virtual se registran los eventos jdk.VirtualThreadPinned
+ * (JFR) y se muestran los marcos más frecuentes (no se usa
+ * -Djdk.tracePinnedThreads: en Java 21 puede bloquear la JVM, JDK-8322846).
+ *
+ * @Tag("benchmark"): Se excluye de `mvn test`, se activa con -Pbench.
+ */
+@Tag("benchmark")
+class ThreadModeLoadBenchmarkTests {
+
+    // Clientes concurrentes
+    private static final int CLIENTS = 100;
+
+    // Duración del calentamiento y de la medición
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(10);
+
+    // Espera simulada por sentencia JDBC (viaje de red hasta MySQL)
+    private static final long LATENCY_MS = 5;
+
+    // Notas de prueba
+    private static final int NOTES = 1_000;
+
+    // Resultados por modo, se comparan al final
+    private static final Map<String, LoadResult> results = new ConcurrentHashMap<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadModeLoadBenchmarkTests.class);
+
+    @Nested
+    @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:load_platform;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+    })
+    @ActiveProfiles("test")
+    @Import(LatencyConfig.class)
+    class PlatformThreads extends LoadRun {
+
+        @Test
+        void noteEndpoints() throws Exception {
+            run("platform", false);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:load_virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+    })
+    @ActiveProfiles("test")
+    @Import(LatencyConfig.class)
+    class VirtualThreads extends LoadRun {
+
+        @Test
+        void noteEndpoints() throws Exception {
+            run("virtual", true);
+        }
+    }
+
+    @AfterAll
+    static void compare() {
+        LoadResult platform = results.get("platform");
+        LoadResult virtual = results.get("virtual");
+        if (platform != null && virtual != null) {
+            logger.info("📊 virtual / plataforma: {}x peticiones/s, {} vs {} hilos (pico)",
+                    String.format("%.2f", virtual.throughput() / platform.throughput()),
+                    virtual.peakThreads(), platform.peakThreads());
+        }
+    }
+
+    /**
+     * Lanza la carga contra la aplicación arrancada por cada modo.
+     */
+    abstract static class LoadRun {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private UserService userService;
+
+        /**
+         * Siembra las notas, calienta y mide.
+         *
+         * @param mode    Nombre del modo (para el informe).
+         * @param virtual true si la aplicación usa hilos virtuales.
+         */
+        void run(String mode, boolean virtual) throws Exception {
+            List<Long> ids = seed(mode);
+
+            // Los clientes usan hilos de plataforma: con hilos virtuales competirían
+            // con el servidor por los mismos portadores y falsearían la comparación
+            try (HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build()) {
+
+                // Calentamiento (JIT, conexiones HTTP y JDBC)
+                load(client, ids, WARMUP);
+
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                threads.resetPeakThreadCount();
+
+                Map<String, Long> pinned = new ConcurrentHashMap<>();
+                try (RecordingStream recording = new RecordingStream()) {
+                    recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+                    // Agrupa por el primer marco de la aplicación (por ahí está el synchronized)
+                    recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                        String frame = event.getStackTrace() == null ? "?"
+                                : event.getStackTrace().getFrames().stream()
+                                        .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName())
+                                        .filter(name -> name.startsWith("com.astralz") && !name.contains(".benchmarks."))
+                                        .findFirst()
+                                        .orElse(event.getStackTrace().getFrames().get(0).getMethod().getName());
+                        pinned.merge(frame, 1L, Long::sum);
+                    });
+                    recording.startAsync();
+
+                    LoadResult result = load(client, ids, DURATION)
+                            .withPeakThreads(threads.getPeakThreadCount() - CLIENTS);
+                    results.put(mode, result);
+
+                    logger.info("📊 {}: {} peticiones en {} s = {} peticiones/s, p50 {} ms, p99 {} ms, "
+                            + "{} errores, pico de {} hilos (sin clientes)",
+                            mode, result.requests(), DURATION.toSeconds(),
+                            String.format("%.0f", result.throughput()), result.p50Ms(), result.p99Ms(),
+                            result.errors(), result.peakThreads());
+                    if (virtual) {
+                        logger.info("📌 {}: hilos virtuales fijados (>1 ms): {}", mode,
+                                pinned.isEmpty() ? "ninguno" : pinned);
+                    }
+
+                    assertTrue(result.requests() > 0, "No se completó ninguna petición");
+                }
+            }
+        }
+
+        /**
+         * Crea un usuario con NOTES notas.
+         *
+         * @param mode Nombre del modo (para no chocar con las restricciones únicas).
+         * @return IDs de las notas creadas.
+         */
+        private List<Long> seed(String mode) {
+            User user = new User();
+            user.setUsername(mode + "_user");
+            user.setEmail(mode + "@bench.dev");
+            user.setPassword("password123");
+            user.setFirstName("Load");
+            user.setLastName("Bench");
+
+            UserDetails details = new UserDetails();
+            details.setPhoneNumber("5500000003");
+
+            List<Note> notes = new ArrayList<>(NOTES);
+            for (int i = 0; i < NOTES; i++) {
+                Note note = new Note();
+                note.setTitle(mode + " note " + i);
+                note.setContent("Contenido de prueba de carga número " + i);
+                notes.add(note);
+            }
+
+            userService.saveWithDetails(user, details, notes);
+            return notes.stream().map(Note::getId).toList();
+        }
+
+        /**
+         * CLIENTS clientes piden endpoints de notas al azar durante el tiempo
+         * indicado (cada cliente espera su respuesta antes de la siguiente).
+         *
+         * @param client   Cliente HTTP.
+         * @param ids      IDs de notas existentes.
+         * @param duration Tiempo de carga.
+         * @return Resultado de la carga.
+         */
+        private LoadResult load(HttpClient client, List<Long> ids, Duration duration) throws InterruptedException {
+            String base = "http://localhost:" + port + "/api/notes";
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<long[]> latencies = new ArrayList<>(CLIENTS);
+            AtomicLong errors = new AtomicLong();
+
+            try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    long[] samples = new long[1 << 16];
+                    latencies.add(samples);
+                    clients.submit(() -> {
+                        int n = 0;
+                        while (System.nanoTime() < deadline && n < samples.length - 1) {
+                            URI uri = URI.create(switch (ThreadLocalRandom.current().nextInt(3)) {
+                                case 0 -> base + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                                case 1 -> base + "?limit=20&after=" + ThreadLocalRandom.current().nextInt(NOTES);
+                                default -> base + "/search?q=" + ThreadLocalRandom.current().nextInt(NOTES);
+                            });
+                            long start = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                        HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            samples[++n] = System.nanoTime() - start;
+                        }
+                        samples[0] = n;
+                    });
+                }
+            }
+
+            // Une las latencias de todos los clientes
+            long[] all = latencies.stream()
+                    .flatMapToLong(s -> Arrays.stream(s, 1, (int) s[0] + 1))
+                    .sorted()
+                    .toArray();
+            return new LoadResult(all.length, errors.get(), duration, all, 0);
+        }
+    }
+
+    /**
+     * Resultado de una carga.
+     *
+     * @param requests    Peticiones completadas.
+     * @param errors      Peticiones con error o código distinto de 200.
+     * @param duration    Tiempo de carga.
+     * @param latencies   Latencias ordenadas (ns).
+     * @param peakThreads Pico de hilos de plataforma de la JVM, sin los de los
+     *                    clientes.
+     */
+    record LoadResult(long requests, long errors, Duration duration, long[] latencies, int peakThreads) {
+
+        double throughput() {
+            return requests / (duration.toMillis() / 1000.0);
+        }
+
+        long p50Ms() {
+            return percentileMs(0.50);
+        }
+
+        long p99Ms() {
+            return percentileMs(0.99);
+        }
+
+        LoadResult withPeakThreads(int peak) {
+            return new LoadResult(requests, errors, duration, latencies, peak);
+        }
+
+        private long percentileMs(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.min(latencies.length - 1, latencies.length * p)] / 1_000_000;
+        }
+    }
+
+    /**
+     * Añade LATENCY_MS a cada sentencia JDBC ejecutada, envolviendo el
+     * DataSource (las conexiones siguen saliendo del pool de Hikari).
+     */
+    @TestConfiguration
+    static class LatencyConfig {
+
+        @Bean
+        static BeanPostProcessor latencyDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        /**
+         * Envuelve DataSource -> Connection -> PreparedStatement; las llamadas
+         * execute* esperan LATENCY_MS antes de ejecutarse.
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (p, method, args) -> {
+                if (method.getName().startsWith("execute") && target instanceof PreparedStatement) {
+                    Thread.sleep(LATENCY_MS);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Connection connection) {
+                        return proxy(Connection.class, connection);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return proxy(PreparedStatement.class, statement);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.astralz.project_notes_back.benchmarks.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.astralz.project_notes_back.controllers.UserController;
+import com.astralz.project_notes_back.controllers.UserController.UserWithDetailsPayload;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.errors.GlobalExceptionHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * JMH: armado de las respuestas de error de GlobalExceptionHandler.
+ *
+ * validationErrors parte de una excepción ya construida; invalidPayload mide
+ * el camino completo de un 400 (validar, llenar el BindingResult, armar el
+ * mapa de errores y serializarlo).
+ *
+ * Ejecutar con: ./mvnw test -Pjmh -Djmh.args="ErrorHandlerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private ValidatorFactory factory;
+    private SpringValidatorAdapter validator;
+    private ObjectMapper mapper;
+    private MethodParameter parameter;
+    private UserWithDetailsPayload payload;
+    private MethodArgumentNotValidException validationException;
+    private ResponseStatusException statusException;
+    private IllegalStateException genericException;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = new SpringValidatorAdapter(factory.getValidator());
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        parameter = new MethodParameter(
+                UserController.class.getMethod("createWithDetails", UserWithDetailsPayload.class), 0);
+
+        User user = new User();
+        user.setUsername("x");
+        user.setEmail("no-es-un-email");
+        user.setPassword("1");
+        payload = new UserWithDetailsPayload();
+        payload.setUser(user);
+        payload.setUserDetails(new UserDetails());
+
+        validationException = new MethodArgumentNotValidException(parameter, bind(payload));
+        statusException = new ResponseStatusException(HttpStatus.CONFLICT, "El título ya existe.");
+        genericException = new IllegalStateException("Error inesperado");
+    }
+
+    @TearDown
+    public void close() {
+        factory.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> validationErrors() {
+        return handler.handleValidationErrors(validationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> responseStatus() {
+        return handler.handleResponseStatus(statusException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> genericException() {
+        return handler.handleGenericException(genericException);
+    }
+
+    @Benchmark
+    public byte[] invalidPayload() throws JsonProcessingException {
+        MethodArgumentNotValidException ex = new MethodArgumentNotValidException(parameter, bind(payload));
+        return mapper.writeValueAsBytes(handler.handleValidationErrors(ex).getBody());
+    }
+
+    /**
+     * Valida el payload igual que @Valid en el controlador.
+     *
+     * @param target Payload a validar.
+     * @return Resultado con los errores de cada campo.
+     */
+    private BeanPropertyBindingResult bind(UserWithDetailsPayload target) {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(target, "payload");
+        validator.validate(target, result);
+        return result;
+    }
+}
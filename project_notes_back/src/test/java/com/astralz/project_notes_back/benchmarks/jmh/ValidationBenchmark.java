@@ -0,0 +1,114 @@
+package com.astralz.project_notes_back.benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.astralz.project_notes_back.controllers.UserController.UserWithDetailsPayload;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * JMH: Bean Validation del payload de POST /api/users/full.
+ *
+ * Mide la validación en cascada (@Valid) del usuario, sus detalles y sus
+ * notas, y el costo de construir las violaciones de un payload inválido.
+ *
+ * Ejecutar con: ./mvnw test -Pjmh -Djmh.args="ValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private UserWithDetailsPayload withoutNotes;
+    private UserWithDetailsPayload withNotes;
+    private UserWithDetailsPayload invalid;
+
+    @Setup
+    public void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        withoutNotes = payload("jmh_user", "jmh@bench.dev", 0);
+        withNotes = payload("jmh_user", "jmh@bench.dev", 10);
+        invalid = payload("x", "no-es-un-email", 10);
+    }
+
+    @TearDown
+    public void close() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserWithDetailsPayload>> withoutNotes() {
+        return validator.validate(withoutNotes);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserWithDetailsPayload>> withTenNotes() {
+        return validator.validate(withNotes);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserWithDetailsPayload>> invalid() {
+        return validator.validate(invalid);
+    }
+
+    /**
+     * Arma un payload con el usuario, sus detalles y notas.
+     *
+     * @param username Nombre de usuario.
+     * @param email    Email.
+     * @param notes    Cantidad de notas.
+     * @return Payload.
+     */
+    private static UserWithDetailsPayload payload(String username, String email, int notes) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setFirstName("Jmh");
+        user.setLastName("Bench");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("5500000004");
+
+        List<Note> list = new ArrayList<>(notes);
+        for (int i = 0; i < notes; i++) {
+            Note note = new Note();
+            note.setTitle("jmh note " + i);
+            note.setContent("Contenido de la nota de benchmark " + i);
+            list.add(note);
+        }
+
+        UserWithDetailsPayload payload = new UserWithDetailsPayload();
+        payload.setUser(user);
+        payload.setUserDetails(details);
+        payload.setNotes(list);
+        return payload;
+    }
+}
@@ -0,0 +1,145 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * ?expand= en GET /api/users y GET /api/notes: cada combinación de
+ * relaciones responde con las relaciones pedidas y con un número fijo de
+ * sentencias SQL (contadas con las estadísticas de Hibernate), sin importar
+ * cuántas filas haya.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expand;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ExpandFetchPlanTests {
+
+    private static final int USERS = 4;
+    private static final int NOTES_PER_USER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static Long userId;
+
+    @BeforeEach
+    void seed() {
+        if (userId != null) {
+            return;
+        }
+
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setUsername("expand_user_" + u);
+            user.setEmail("expand" + u + "@test.dev");
+            user.setPassword("password123");
+            user.setFirstName("Expand");
+            user.setLastName("Test");
+
+            UserDetails details = new UserDetails();
+            details.setPhoneNumber("5520000" + (100 + u));
+            details.setAddress("Calle de prueba " + u);
+            details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+            List<Note> notes = new ArrayList<>();
+            for (int n = 0; n < NOTES_PER_USER; n++) {
+                Note note = new Note();
+                note.setTitle("expand note " + u + "-" + n);
+                note.setContent("Contenido de la nota");
+                notes.add(note);
+            }
+
+            Long id = userService.saveWithDetails(user, details, notes).getId();
+            userId = userId == null ? id : userId;
+        }
+    }
+
+    @Test
+    void userWithDetailsAndNotesIsOneQuery() throws Exception {
+        expectStatements(1, get("/api/users/{id}", userId).param("expand", "details,notes"))
+                .andExpect(jsonPath("$.details.phoneNumber").value("5520000100"))
+                .andExpect(jsonPath("$.notes.length()").value(NOTES_PER_USER))
+                .andExpect(jsonPath("$.notes[0].title").value("expand note 0-0"));
+
+        expectStatements(1, get("/api/users/{id}", userId).param("expand", "details"))
+                .andExpect(jsonPath("$.details.address").value("Calle de prueba 0"))
+                .andExpect(jsonPath("$.notes").doesNotExist());
+    }
+
+    @Test
+    void userPagesHaveFixedQueries() throws Exception {
+        expectStatements(1, get("/api/users").param("expand", "details"))
+                .andExpect(jsonPath("$.items.length()").value(USERS))
+                .andExpect(jsonPath("$.items[3].details.phoneNumber").value("5520000103"));
+
+        expectStatements(2, get("/api/users").param("expand", "notes"))
+                .andExpect(jsonPath("$.items[3].notes.length()").value(NOTES_PER_USER))
+                .andExpect(jsonPath("$.items[3].details").doesNotExist());
+    }
+
+    @Test
+    void notesWithOwnerAreOneQuery() throws Exception {
+        expectStatements(1, get("/api/notes").param("expand", "user.details"))
+                .andExpect(jsonPath("$.items.length()").value(USERS * NOTES_PER_USER))
+                .andExpect(jsonPath("$.items[11].user.username").value("expand_user_3"))
+                .andExpect(jsonPath("$.items[11].user.details.phoneNumber").value("5520000103"));
+
+        expectStatements(1, get("/api/notes").param("expand", "user").param("limit", "2"))
+                .andExpect(jsonPath("$.items[0].user.username").value("expand_user_0"))
+                .andExpect(jsonPath("$.items[0].user.details").doesNotExist())
+                .andExpect(jsonPath("$.next").isNumber());
+    }
+
+    @Test
+    void unknownRelationIsRejected() throws Exception {
+        mockMvc.perform(get("/api/users/{id}", userId).param("expand", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Ejecuta la petición y comprueba cuántas sentencias SQL preparó.
+     */
+    private ResultActions expectStatements(long expected, RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResultActions result = mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+}
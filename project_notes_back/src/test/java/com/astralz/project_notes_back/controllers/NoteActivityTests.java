@@ -0,0 +1,194 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.astralz.project_notes_back.services.stats.UserNoteStatsService;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * GET /api/notes?from=&to= y GET /api/notes/histogram: notas de un rango de
+ * fechas por índice y actividad por día, semana o mes desde users_note_days.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_activity;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteActivityTests {
+
+    /**
+     * Fechas de las notas del primer usuario (lunes 2001-01-01 = semana 1).
+     */
+    private static final LocalDate[] DATES = {
+            LocalDate.of(2001, 1, 1), LocalDate.of(2001, 1, 3), LocalDate.of(2001, 1, 3),
+            LocalDate.of(2001, 1, 9), LocalDate.of(2001, 2, 1) };
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserNoteStatsService noteStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int users;
+    private User user;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from users_notes");
+        users++;
+        user = newUser("activity_" + users, DATES.length);
+        Long other = newUser("activity_other_" + users, 1).getId();
+
+        // ? Fechas pasadas escritas a mano: la reconciliación rehace los días
+        ids = jdbcTemplate.queryForList("select id from users_notes where user_id = ? order by id",
+                Long.class, user.getId());
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("update users_notes set creation_date = ? where id = ?", DATES[i], ids.get(i));
+        }
+        jdbcTemplate.update("update users_notes set creation_date = ? where user_id = ?",
+                LocalDate.of(2001, 1, 3), other);
+        noteStats.reconcile();
+    }
+
+    @Test
+    void rangePagesNewestFirst() throws Exception {
+        String first = mockMvc.perform(get("/api/notes")
+                .param("from", "2001-01-02").param("to", "2001-01-31").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(ids.get(3)))
+                .andExpect(jsonPath("$.items[1].creationDate").value("2001-01-03"))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/notes").param("from", "2001-01-02").param("to", "2001-01-31")
+                .param("limit", "2").param("after", JsonPath.<String>read(first, "$.next")))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        mockMvc.perform(get("/api/notes").param("to", "2001-01-03").param("userId", user.getId().toString()))
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[2].id").value(ids.get(0)));
+
+        mockMvc.perform(get("/api/notes").param("from", "2001-02-01").param("to", "2001-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void histogramBuckets() throws Exception {
+        String userId = user.getId().toString();
+
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "day").param("userId", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[1].start").value("2001-01-03"))
+                .andExpect(jsonPath("$[1].notes").value(2));
+
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "week").param("userId", userId))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].start").value("2001-01-01"))
+                .andExpect(jsonPath("$[0].notes").value(3))
+                .andExpect(jsonPath("$[2].start").value("2001-01-29"));
+
+        // ? Global: suma los dos usuarios
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "MONTH").param("to", "2001-12-31"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].start").value("2001-01-01"))
+                .andExpect(jsonPath("$[0].notes").value(5))
+                .andExpect(jsonPath("$[1].notes").value(1));
+
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "year"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "day").param("userId", "-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void histogramFollowsNoteWrites() throws Exception {
+        String userId = user.getId().toString();
+        String today = LocalDate.now().toString();
+
+        Note created = noteService.save(note(user, "activity today"));
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "day").param("userId", userId)
+                .param("from", today))
+                .andExpect(jsonPath("$[0].start").value(today))
+                .andExpect(jsonPath("$[0].notes").value(1));
+
+        noteService.deleteById(created.getId());
+        noteService.deleteMany(List.of(ids.get(1)));
+        mockMvc.perform(get("/api/notes/histogram").param("bucket", "day").param("userId", userId))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[1].notes").value(1));
+    }
+
+    @Test
+    void rangeQueryUsesCreationIndex() {
+        String plan = jdbcTemplate.queryForObject("explain select id from users_notes where creation_date "
+                + "between date '2001-01-01' and date '2001-12-31' order by creation_date desc, id desc",
+                String.class);
+        assertTrue(plan.contains("ix_users_notes_creation"), plan);
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas (POST /api/users/full).
+     */
+    private User newUser(String name, int notes) {
+        User newUser = new User();
+        newUser.setUsername(name);
+        newUser.setEmail(name + "@test.dev");
+        newUser.setPassword("password123");
+        newUser.setFirstName("Activity");
+        newUser.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> userNotes = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            userNotes.add(note(newUser, name + " note " + i));
+        }
+        return userService.saveWithDetails(newUser, details, userNotes);
+    }
+
+    private static Note note(User owner, String title) {
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+        note.setUser(owner);
+        return note;
+    }
+}
@@ -0,0 +1,213 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.autosave.NoteAutosaveBuffer;
+import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PATCH /api/notes/{id}/autosave con el buffer activado: ráfagas combinadas,
+ * lecturas que ya ven el cambio, escritura por lotes y escrituras explícitas
+ * que solo descartan el cambio pendiente cuando se aplican.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_autosave;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.notes.autosave.enabled=true",
+        "app.notes.autosave.flush-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteAutosaveTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private NoteAutosaveBuffer autosaveBuffer;
+
+    @MockitoSpyBean
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mergesBurstOverlaysReadsAndFlushes() throws Exception {
+        Note note = newNote("autosave_burst", "autosave_burst note");
+
+        autosave(note.getId(), Map.of("title", "autosave_burst draft"));
+        autosave(note.getId(), Map.of("content", "Borrador 1"));
+        autosave(note.getId(), Map.of("content", "Borrador 2"));
+
+        // ? Las lecturas ven el cambio combinado; la base de datos aún no
+        mockMvc.perform(get("/api/notes/{id}", note.getId()))
+                .andExpect(jsonPath("$.title").value("autosave_burst draft"))
+                .andExpect(jsonPath("$.content").value("Borrador 2"));
+        assertEquals("Contenido de autosave_burst note", stored(note.getId()).getContent());
+
+        noteService.flushAutosave();
+
+        assertFalse(autosaveBuffer.contains(note.getId()));
+        Note flushed = stored(note.getId());
+        assertEquals("autosave_burst draft", flushed.getTitle());
+        assertEquals("Borrador 2", flushed.getContent());
+    }
+
+    @Test
+    void rejectedWriteKeepsPendingChange() throws Exception {
+        Note note = newNote("autosave_conflict", "autosave_conflict note");
+        Long version = noteRepository.findVersionById(note.getId()).orElseThrow();
+
+        mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", "Cambio previo"))))
+                .andExpect(status().isNoContent());
+        autosave(note.getId(), Map.of("content", "Borrador pendiente"));
+
+        // ? PATCH con versión vieja: 409 y el borrador se conserva
+        mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", "Cambio viejo", "version", version))))
+                .andExpect(status().isConflict());
+        assertTrue(autosaveBuffer.contains(note.getId()));
+
+        // ? PUT aplicado: su escritura manda
+        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("autosave_conflict final", "Contenido final", note.getUser().getId())))
+                .andExpect(status().isOk());
+        assertFalse(autosaveBuffer.contains(note.getId()));
+
+        noteService.flushAutosave();
+        assertEquals("Contenido final", stored(note.getId()).getContent());
+    }
+
+    @Test
+    void flushSkipsChangeReplacedWhileRunning() throws Exception {
+        Note note = newNote("autosave_race", "autosave_race note");
+        Long userId = note.getUser().getId();
+        autosave(note.getId(), Map.of("content", "Borrador A"));
+
+        // Con la foto del buffer ya tomada, un PUT descarta A y llega B
+        AtomicBoolean first = new AtomicBoolean(true);
+        Answer<?> real = Mockito.mockingDetails(noteRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(noteBody("autosave_race put", "Contenido del PUT", userId)))
+                                .andExpect(status().isOk());
+                        autosave(note.getId(), Map.of("title", "autosave_race B"));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }).get(5, TimeUnit.SECONDS);
+            }
+            return real.answer(invocation);
+        }).when(noteRepository).findAllWithOwnerById(anyCollection());
+
+        noteService.flushAutosave();
+
+        // ? A no pisó al PUT; B sigue pendiente
+        Note afterRace = stored(note.getId());
+        assertEquals("Contenido del PUT", afterRace.getContent());
+        assertEquals("autosave_race put", afterRace.getTitle());
+        assertTrue(autosaveBuffer.contains(note.getId()));
+
+        noteService.flushAutosave();
+        Note flushed = stored(note.getId());
+        assertEquals("autosave_race B", flushed.getTitle());
+        assertEquals("Contenido del PUT", flushed.getContent());
+    }
+
+    /**
+     * Envía un autoguardado que queda en el buffer.
+     */
+    private void autosave(Long id, Map<String, Object> fields) throws Exception {
+        mockMvc.perform(patch("/api/notes/{id}/autosave", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fields)))
+                .andExpect(status().isAccepted());
+    }
+
+    /**
+     * Nota tal como está en la base de datos (sin el cambio pendiente).
+     */
+    private Note stored(Long id) {
+        return noteRepository.findById(id).orElseThrow();
+    }
+
+    /**
+     * Cuerpo JSON de una nota.
+     */
+    private String noteBody(String title, String content, Long userId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("title", title, "content", content,
+                "user", Map.of("id", userId)));
+    }
+
+    /**
+     * Crea un usuario con sus detalles y una nota, y devuelve la nota.
+     */
+    private Note newNote(String name, String title) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Autosave");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+        userService.saveWithDetails(user, details, List.of(note));
+        return note;
+    }
+}
@@ -0,0 +1,163 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * POST /api/notes/batch: resultado por nota, límite del lote y reintento
+ * nota por nota cuando la base de datos rechaza un bloque.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.notes.batch.max-items=5"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteBatchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoSpyBean
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reportsEachNoteInOrder() throws Exception {
+        Long userId = newUser("batch_items", List.of("batch_items existing"));
+
+        JsonNode result = postBatch(List.of(
+                note("batch_items new", userId),
+                note("batch_items existing", userId),
+                note("batch_items new", userId),
+                note("x", userId),
+                note("batch_items orphan", 999_999L)));
+
+        assertEquals(1, result.get("created").asInt());
+        assertEquals(4, result.get("rejected").asInt());
+        assertEquals(List.of("CREATED", "DUPLICATE", "DUPLICATE", "INVALID", "INVALID"), statuses(result));
+        assertTrue(noteRepository.existsById(result.get("items").get(0).get("id").asLong()));
+    }
+
+    @Test
+    void rejectsBatchOverMaxItems() throws Exception {
+        Long userId = newUser("batch_max", List.of());
+
+        List<Map<String, Object>> notes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            notes.add(note("batch_max note " + i, userId));
+        }
+
+        mockMvc.perform(post("/api/notes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(notes)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, noteRepository.findAll().stream()
+                .filter(n -> n.getTitle().startsWith("batch_max")).count());
+    }
+
+    @Test
+    void retriesNoteByNoteWhenFlushFails() throws Exception {
+        Long userId = newUser("batch_retry", List.of("batch_retry taken"));
+
+        // ? Sin la comprobación previa el título repetido llega al flush
+        doReturn(Set.of()).when(noteRepository).findExistingTitles(anyCollection());
+
+        JsonNode result = postBatch(List.of(
+                note("batch_retry free", userId),
+                note("batch_retry taken", userId)));
+
+        assertEquals(List.of("CREATED", "FAILED"), statuses(result));
+        assertTrue(result.get("items").get(1).get("errors").has("error"));
+        assertTrue(noteRepository.existsById(result.get("items").get(0).get("id").asLong()));
+    }
+
+    /**
+     * Envía el lote y devuelve el cuerpo de la respuesta.
+     */
+    private JsonNode postBatch(List<Map<String, Object>> notes) throws Exception {
+        String body = mockMvc.perform(post("/api/notes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(notes)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    /**
+     * Estados de cada nota, en el orden del lote.
+     */
+    private List<String> statuses(JsonNode result) {
+        List<String> statuses = new ArrayList<>();
+        result.get("items").forEach(item -> statuses.add(item.get("status").asText()));
+        return statuses;
+    }
+
+    /**
+     * Cuerpo JSON de una nota del lote.
+     */
+    private Map<String, Object> note(String title, Long userId) {
+        return Map.of("title", title, "content", "Contenido de " + title, "user", Map.of("id", userId));
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas.
+     */
+    private Long newUser(String name, List<String> titles) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Batch");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> userNotes = new ArrayList<>();
+        for (String title : titles) {
+            Note note = new Note();
+            note.setTitle(title);
+            note.setContent("Contenido de " + title);
+            userNotes.add(note);
+        }
+        return userService.saveWithDetails(user, details, userNotes).getId();
+    }
+}
@@ -0,0 +1,184 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.dto.CacheStatsView;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.cache.ViewCache;
+import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Caché de vistas de notas: aciertos en GET /api/notes/{id}, invalidación en
+ * PUT y DELETE (también al cambiar o eliminar al dueño), y una carga en curso que no deja un valor viejo cuando se
+ * invalida a la vez.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.cache.notes.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void servesRepeatedReadsFromCacheAndEvictsOnWrites() throws Exception {
+        Note note = newNote("cache_owner", "cache_owner note");
+        Long noteId = note.getId();
+        CacheStatsView before = noteService.cacheStats().orElseThrow();
+
+        mockMvc.perform(get("/api/notes/{id}", noteId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/notes/{id}", noteId)).andExpect(status().isOk());
+
+        CacheStatsView afterReads = noteService.cacheStats().orElseThrow();
+        assertEquals(1, afterReads.misses() - before.misses());
+        assertEquals(1, afterReads.hits() - before.hits());
+
+        // ? PUT invalida: la siguiente lectura ve el título nuevo
+        Map<String, Object> body = Map.of("title", "cache_owner renamed", "content", "Contenido nuevo",
+                "user", Map.of("id", note.getUser().getId()));
+        mockMvc.perform(put("/api/notes/{id}", noteId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/notes/{id}", noteId))
+                .andExpect(jsonPath("$.title").value("cache_owner renamed"));
+
+        // ? DELETE invalida: la nota deja de servirse desde la caché
+        mockMvc.perform(delete("/api/notes/{id}", noteId)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/notes/{id}", noteId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ownerChangesEvictOnlyTheirNoteViews() throws Exception {
+        Note owned = newNote("cache_renamed", "cache_renamed note");
+        Note other = newNote("cache_other", "cache_other note");
+
+        String etag = mockMvc.perform(get("/api/notes/{id}", owned.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/notes/{id}", other.getId())).andExpect(status().isOk());
+
+        User user = userService.findById(owned.getUser().getId()).orElseThrow();
+        user.setUsername("cache_renamed_new");
+        userService.update(user.getId(), user);
+
+        // ? La nota del usuario renombrado se vuelve a cargar, con ETag nuevo
+        CacheStatsView before = noteService.cacheStats().orElseThrow();
+        String renamed = mockMvc.perform(get("/api/notes/{id}", owned.getId()))
+                .andExpect(jsonPath("$.username").value("cache_renamed_new"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, renamed);
+        mockMvc.perform(get("/api/notes/{id}", owned.getId()).header("If-None-Match", renamed))
+                .andExpect(status().isNotModified());
+
+        // ? La del otro usuario sigue en la caché
+        mockMvc.perform(get("/api/notes/{id}", other.getId())).andExpect(status().isOk());
+        CacheStatsView after = noteService.cacheStats().orElseThrow();
+        assertEquals(1, after.misses() - before.misses());
+
+        // ? Al eliminar al usuario su nota deja de servirse desde la caché
+        mockMvc.perform(delete("/api/users/{id}", user.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/notes/{id}", owned.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void evictDuringLoadDoesNotKeepStaleValue() throws Exception {
+        ViewCache<Long, String> cache = new ViewCache<>("race", 100, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Un lector carga el valor viejo y se detiene antes de guardarlo
+        CompletableFuture<Optional<String>> reader = CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return Optional.of("old");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Una escritura invalida mientras la carga sigue en curso
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> cache.evict(1L));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals(Optional.of("old"), reader.get(5, TimeUnit.SECONDS));
+        writer.get(5, TimeUnit.SECONDS);
+
+        // ? La carga vieja no quedó en la caché
+        assertEquals(Optional.of("new"), cache.get(1L, id -> Optional.of("new")));
+    }
+
+    /**
+     * Espera al latch sin excepciones comprobadas.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Crea un usuario con sus detalles y una nota, y devuelve la nota.
+     */
+    private Note newNote(String name, String title) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Cache");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+        userService.saveWithDetails(user, details, List.of(note));
+        return note;
+    }
+}
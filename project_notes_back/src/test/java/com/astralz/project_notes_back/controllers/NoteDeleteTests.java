@@ -0,0 +1,131 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.models.UserService;
+
+/**
+ * DELETE /api/notes?ids= y ?userId=: borrado sin cargar las notas, límite de
+ * IDs por petición y caché de vistas invalidada solo para las notas borradas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_delete;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.notes.batch.chunk-size=2",
+        "app.notes.batch.max-items=5",
+        "app.cache.notes.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteDeleteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Test
+    void deletesByIdsInChunks() throws Exception {
+        List<Note> notes = newUser("delete_ids", 4);
+        String ids = notes.subList(0, 3).stream().map(n -> n.getId().toString()).collect(Collectors.joining(","));
+
+        // ? Los IDs repetidos o inexistentes no cuentan
+        mockMvc.perform(delete("/api/notes").param("ids", ids + "," + notes.get(0).getId() + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+
+        assertFalse(noteRepository.existsById(notes.get(0).getId()));
+        assertFalse(noteRepository.existsById(notes.get(2).getId()));
+        assertTrue(noteRepository.existsById(notes.get(3).getId()));
+    }
+
+    @Test
+    void rejectsTooManyIdsOrAmbiguousCriteria() throws Exception {
+        List<Note> notes = newUser("delete_limit", 1);
+        String tooMany = LongStream.rangeClosed(1, 6).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mockMvc.perform(delete("/api/notes").param("ids", tooMany))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/notes"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/notes")
+                .param("ids", notes.get(0).getId().toString())
+                .param("userId", notes.get(0).getUser().getId().toString()))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(noteRepository.existsById(notes.get(0).getId()));
+    }
+
+    @Test
+    void deletesByUserAndEvictsOnlyTheirViews() throws Exception {
+        List<Note> gone = newUser("delete_user", 3);
+        List<Note> kept = newUser("delete_kept", 1);
+
+        // ? Ambas vistas quedan en la caché
+        mockMvc.perform(get("/api/notes/{id}", gone.get(0).getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/notes/{id}", kept.get(0).getId())).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/notes").param("userId", gone.get(0).getUser().getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+
+        mockMvc.perform(get("/api/notes/{id}", gone.get(0).getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/notes/{id}", kept.get(0).getId())).andExpect(status().isOk());
+        assertTrue(noteRepository.existsById(kept.get(0).getId()));
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas, y devuelve las notas.
+     */
+    private List<Note> newUser(String name, int count) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Delete");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Note note = new Note();
+            note.setTitle(name + " note " + i);
+            note.setContent("Contenido de la nota " + i);
+            notes.add(note);
+        }
+        userService.saveWithDetails(user, details, notes);
+        return notes;
+    }
+}
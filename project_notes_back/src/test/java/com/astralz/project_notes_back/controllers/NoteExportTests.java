@@ -0,0 +1,114 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * GET /api/notes/export: una nota JSON por línea, leída con una sola
+ * consulta y sin hidratar notas, usuarios ni detalles.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsOneLinePerNoteWithoutLoadingUsers() throws Exception {
+        Long first = newUser("export_first", 3);
+        Long second = newUser("export_second", 2);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult started = mockMvc.perform(get("/api/notes/export")).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(5, lines.size());
+
+        // ? Ordenadas por ID, con el dueño solo como userId
+        JsonNode firstLine = objectMapper.readTree(lines.get(0));
+        assertEquals(first, firstLine.get("userId").asLong());
+        assertEquals("export_first note 0", firstLine.get("title").asText());
+        assertFalse(firstLine.has("user"));
+        assertEquals(second, objectMapper.readTree(lines.get(4)).get("userId").asLong());
+
+        // ? Una sentencia y ninguna entidad cargada
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas.
+     */
+    private Long newUser(String name, int notes) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Export");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> userNotes = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            Note note = new Note();
+            note.setTitle(name + " note " + i);
+            note.setContent("Contenido de la nota " + i);
+            userNotes.add(note);
+        }
+        return userService.saveWithDetails(user, details, userNotes).getId();
+    }
+}
@@ -0,0 +1,253 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.astralz.project_notes_back.dto.NoteExportRow;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.astralz.project_notes_back.services.search.NoteSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GET /api/notes/search: el índice sigue cada alta, cambio y baja, y una
+ * reconstrucción en curso no pisa los cambios hechos mientras tanto.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:note_search;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteSearchTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteSearchIndex searchIndex;
+
+    @MockitoSpyBean
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void followsCreateUpdateAndDelete() throws Exception {
+        User user = newUser("search_live");
+
+        String created = mockMvc.perform(post("/api/notes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("Receta de paella", "Arroz con azafrán", user.getId())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long noteId = objectMapper.readTree(created).get("id").asLong();
+
+        // ? Sin acentos ni mayúsculas
+        assertEquals(List.of(noteId), search("azafran", user.getId()));
+
+        mockMvc.perform(put("/api/notes/{id}", noteId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("Receta de gazpacho", "Tomate y pepino", user.getId())))
+                .andExpect(status().isOk());
+        awaitSearch(List.of(), "azafran", user.getId());
+        awaitSearch(List.of(noteId), "gazpacho", user.getId());
+
+        mockMvc.perform(delete("/api/notes/{id}", noteId)).andExpect(status().isNoContent());
+        assertEquals(List.of(), search("gazpacho", user.getId()));
+    }
+
+    @Test
+    void rebuildKeepsNotesChangedWhileRunning() throws Exception {
+        User user = newUser("search_rebuild", "Nota original", "Otra nota");
+        Long noteId = firstNoteId(user.getId());
+
+        // La reconstrucción ya leyó su foto de la base de datos y se detiene
+        rebuildPausedDuring(() -> mockMvc.perform(put("/api/notes/{id}", noteId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("Nota editada", "Contenido editado", user.getId())))
+                .andExpect(status().isOk()));
+
+        // ? El valor viejo de la foto no reemplazó al escrito en vivo
+        awaitSearch(List.of(), "original", user.getId());
+        awaitSearch(List.of(noteId), "editada", user.getId());
+        assertEquals(1, search("otra", user.getId()).size());
+    }
+
+    @Test
+    void rebuildSkipsUsersDeletedWhileRunning() throws Exception {
+        User kept = newUser("search_kept", "Nota conservada");
+        User deleted = newUser("search_gone", "Nota borrada");
+
+        rebuildPausedDuring(() -> mockMvc.perform(delete("/api/users/{id}", deleted.getId()))
+                .andExpect(status().isNoContent()));
+
+        // ? Las notas del usuario eliminado no vuelven desde la foto
+        assertEquals(List.of(), search("borrada", null));
+        assertEquals(List.of(firstNoteId(kept.getId())), search("conservada", null));
+    }
+
+    /**
+     * Lanza una reconstrucción, la detiene tras leer las filas y ejecuta el
+     * cambio en vivo antes de dejarla terminar.
+     */
+    private void rebuildPausedDuring(LiveChange change) throws Exception {
+        CountDownLatch paused = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+
+        // El spy de un repositorio (proxy) delega en el bean real con su respuesta por defecto
+        Answer<?> real = Mockito.mockingDetails(noteRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Stream<NoteExportRow> rows = (Stream<NoteExportRow>) real.answer(invocation);
+            return rows.peek(row -> {
+                if (first.getAndSet(false)) {
+                    paused.countDown();
+                    await(release);
+                }
+            });
+        }).when(noteRepository).streamIndexRows();
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(searchIndex::rebuild);
+        assertTrue(paused.await(5, TimeUnit.SECONDS));
+        assertTrue(searchIndex.isRebuilding());
+
+        change.run();
+        release.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * IDs encontrados por GET /api/notes/search.
+     */
+    private List<Long> search(String q, Long userId) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/notes/search").param("q", q);
+        if (userId != null) {
+            request.param("userId", userId.toString());
+        }
+
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode hit : objectMapper.readTree(body)) {
+            ids.add(hit.get("id").asLong());
+        }
+        return ids;
+    }
+
+    /**
+     * Espera a que la búsqueda devuelva lo esperado: tras un PUT la nota se
+     * reindexa en segundo plano.
+     */
+    private void awaitSearch(List<Long> expected, String q, Long userId) throws Exception {
+        List<Long> found = search(q, userId);
+        for (int i = 0; i < 50 && !expected.equals(found); i++) {
+            Thread.sleep(100);
+            found = search(q, userId);
+        }
+        assertEquals(expected, found);
+    }
+
+    /**
+     * ID de la primera nota del usuario.
+     */
+    private Long firstNoteId(Long userId) {
+        return noteRepository.findAll().stream()
+                .filter(note -> note.getUser().getId().equals(userId))
+                .map(Note::getId)
+                .min(Long::compare)
+                .orElseThrow();
+    }
+
+    /**
+     * Cuerpo JSON de una nota.
+     */
+    private String noteBody(String title, String content, Long userId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("title", title, "content", content,
+                "user", Map.of("id", userId)));
+    }
+
+    /**
+     * Espera al latch sin excepciones comprobadas.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas (el título se repite como
+     * contenido).
+     */
+    private User newUser(String name, String... titles) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Search");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> notes = new ArrayList<>();
+        for (String title : titles) {
+            Note note = new Note();
+            note.setTitle(title);
+            note.setContent(title);
+            notes.add(note);
+        }
+        return userService.saveWithDetails(user, details, notes);
+    }
+
+    /**
+     * Cambio en vivo hecho mientras la reconstrucción está detenida.
+     */
+    @FunctionalInterface
+    private interface LiveChange {
+        void run() throws Exception;
+    }
+}
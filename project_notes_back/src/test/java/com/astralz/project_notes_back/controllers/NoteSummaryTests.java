@@ -0,0 +1,111 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+
+/**
+ * GET /api/notes/summaries: resúmenes sin el contenido, con la vista previa
+ * guardada al escribir la nota (alta y PATCH).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summaries;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteSummaryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void previewIsCollapsedAndTruncated() {
+        assertNull(Note.previewOf(null));
+        assertEquals("a b c", Note.previewOf("  a\n\n b\t c "));
+
+        String preview = Note.previewOf("x".repeat(Note.PREVIEW_LENGTH - 2) + "😀 resto");
+        assertTrue(preview.length() <= Note.PREVIEW_LENGTH);
+        assertTrue(preview.endsWith("…"));
+        assertFalse(Character.isHighSurrogate(preview.charAt(preview.length() - 2)));
+    }
+
+    @Test
+    void summariesCarryPreviewInsteadOfContent() throws Exception {
+        User user = new User();
+        user.setUsername("summary_user");
+        user.setEmail("summary@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Summary");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("5530000100");
+        details.setAddress("Calle de prueba 1");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        Note note = new Note();
+        note.setTitle("summary note");
+        note.setContent("Primera línea\n\nSegunda " + "línea ".repeat(60));
+        Long userId = userService.saveWithDetails(user, details, List.of(note)).getId();
+
+        mockMvc.perform(get("/api/notes/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("summary note"))
+                .andExpect(jsonPath("$.items[0].userId").value(userId))
+                .andExpect(jsonPath("$.items[0].preview").value(Note.previewOf(note.getContent())))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist());
+
+        Long noteId = note.getId();
+        mockMvc.perform(patch("/api/notes/{id}", noteId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\": \"Contenido corto\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/notes/summaries"))
+                .andExpect(jsonPath("$.items[0].preview").value("Contenido corto"));
+        mockMvc.perform(get("/api/notes/{id}", noteId))
+                .andExpect(jsonPath("$.content").value("Contenido corto"));
+    }
+
+    @Test
+    void summariesHaveTheirOwnETag() throws Exception {
+        String summaries = mockMvc.perform(get("/api/notes/summaries"))
+                .andReturn().getResponse().getHeader("ETag");
+        String views = mockMvc.perform(get("/api/notes"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // ? Mismas filas, otra representación: el ETag de una no valida la otra
+        assertNotEquals(views, summaries);
+        mockMvc.perform(get("/api/notes/summaries").header("If-None-Match", views))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/notes/summaries").header("If-None-Match", summaries))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,180 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * PUT y PATCH /api/notes/{id}: un solo UPDATE sin cargar la nota, 404 según
+ * las filas afectadas, PATCH vacío rechazado y If-Match respetado.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_update;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteUpdateTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void putUpdatesWithoutLoadingTheNote() throws Exception {
+        Note note = newNote("update_put", "update_put note");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("update_put renamed", "Contenido nuevo", note.getUser().getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(note.getId()))
+                .andExpect(jsonPath("$.title").value("update_put renamed"))
+                .andExpect(header().exists("ETag"));
+
+        // ? Ninguna entidad cargada: solo el UPDATE (y la consulta del ETag)
+        assertEquals(0, statistics.getEntityLoadCount());
+        mockMvc.perform(get("/api/notes/{id}", note.getId()))
+                .andExpect(jsonPath("$.title").value("update_put renamed"))
+                .andExpect(jsonPath("$.content").value("Contenido nuevo"));
+    }
+
+    @Test
+    void putOnMissingNoteIsNotFoundAndInsertsNothing() throws Exception {
+        Note note = newNote("update_missing", "update_missing note");
+        long count = noteRepository.count();
+
+        mockMvc.perform(put("/api/notes/{id}", 999_999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("update_missing other", "Contenido nuevo", note.getUser().getId())))
+                .andExpect(status().isNotFound());
+
+        assertEquals(count, noteRepository.count());
+    }
+
+    @Test
+    void patchChangesOnlyPresentFields() throws Exception {
+        Note note = newNote("update_patch", "update_patch note");
+
+        // ? Sin campos: 400
+        mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        String etag = mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "update_patch renamed"))))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/notes/{id}", note.getId()))
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.title").value("update_patch renamed"))
+                .andExpect(jsonPath("$.content").value("Contenido de update_patch note"));
+
+        mockMvc.perform(patch("/api/notes/{id}", 999_999L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("title", "update_patch missing"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchHonoursIfMatch() throws Exception {
+        Note note = newNote("update_match", "update_match note");
+
+        String etag = mockMvc.perform(get("/api/notes/{id}", note.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // ? ETag viejo: 412 y la nota no cambia
+        mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .header("If-Match", "\"stale\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", "Contenido perdido"))))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/notes/{id}", note.getId())
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", "Contenido aceptado"))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/notes/{id}", note.getId()))
+                .andExpect(jsonPath("$.content").value("Contenido aceptado"));
+    }
+
+    /**
+     * Cuerpo JSON de una nota.
+     */
+    private String noteBody(String title, String content, Long userId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("title", title, "content", content,
+                "user", Map.of("id", userId)));
+    }
+
+    /**
+     * Crea un usuario con sus detalles y una nota, y devuelve la nota.
+     */
+    private Note newNote(String name, String title) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Update");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+        userService.saveWithDetails(user, details, List.of(note));
+        return note;
+    }
+}
@@ -0,0 +1,133 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.repositories.NoteRepository;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Versiones de las notas: alta con el dueño por referencia, versión devuelta
+ * tras cada PUT y 409 cuando el cliente envía una versión vieja.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:note_version;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class NoteVersionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createBindsOwnerByIdOrRejectsUnknownOne() throws Exception {
+        Note existing = newNote("version_create", "version_create note");
+        Long userId = existing.getUser().getId();
+        long count = noteRepository.count();
+
+        mockMvc.perform(post("/api/notes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("version_create other", userId, null)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.user.id").value(userId));
+
+        // ? Dueño inexistente: 400 y ninguna fila nueva
+        mockMvc.perform(post("/api/notes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("version_create orphan", 999_999L, null)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(count + 1, noteRepository.count());
+    }
+
+    @Test
+    void putReturnsNewVersionAndRejectsStaleOne() throws Exception {
+        Note note = newNote("version_put", "version_put note");
+        Long userId = note.getUser().getId();
+        Long version = noteRepository.findVersionById(note.getId()).orElseThrow();
+
+        // ? Sin versión del cliente se devuelve la escrita
+        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("version_put renamed", userId, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("version_put stale", userId, version)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.currentVersion").value(version + 1));
+
+        mockMvc.perform(put("/api/notes/{id}", note.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(noteBody("version_put current", userId, version + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 2));
+    }
+
+    /**
+     * Cuerpo JSON de una nota (la versión es opcional).
+     */
+    private String noteBody(String title, Long userId, Long version) throws Exception {
+        Map<String, Object> body = new HashMap<>(Map.of("title", title, "content", "Contenido de " + title,
+                "user", Map.of("id", userId)));
+        if (version != null) {
+            body.put("version", version);
+        }
+        return objectMapper.writeValueAsString(body);
+    }
+
+    /**
+     * Crea un usuario con sus detalles y una nota, y devuelve la nota.
+     */
+    private Note newNote(String name, String title) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Version");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+        userService.saveWithDetails(user, details, List.of(note));
+        return note;
+    }
+}
@@ -0,0 +1,128 @@
+package com.astralz.project_notes_back.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * GET /api/users/{id}/notes: notas de un usuario de la más reciente a la más
+ * antigua, paginadas por (creation_date, id) sobre el índice de la migración
+ * V2.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user_notes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class UserNotesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesFollowCreationDateThenId() throws Exception {
+        Long userId = newUser("user_notes", 5);
+        newUser("user_notes_other", 2);
+
+        // ? Dos notas el mismo día: desempata el ID (descendente)
+        List<Long> ids = jdbcTemplate.queryForList("select id from users_notes where user_id = ? order by id",
+                Long.class, userId);
+        int[] daysAgo = { 3, 1, 1, 5, 0 };
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("update users_notes set creation_date = ? where id = ?",
+                    LocalDate.now().minusDays(daysAgo[i]), ids.get(i));
+        }
+
+        String first = mockMvc.perform(get("/api/users/{id}/notes", userId).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(ids.get(4)))
+                .andExpect(jsonPath("$.items[1].id").value(ids.get(2)))
+                .andExpect(jsonPath("$.items[0].content").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/users/{id}/notes", userId).param("limit", "2")
+                .param("after", JsonPath.<String>read(first, "$.next")))
+                .andExpect(jsonPath("$.items[0].id").value(ids.get(1)))
+                .andExpect(jsonPath("$.items[1].id").value(ids.get(0)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/users/{id}/notes", userId).param("limit", "2")
+                .param("after", JsonPath.<String>read(second, "$.next")))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(ids.get(3)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void missingUserAndBadCursor() throws Exception {
+        Long userId = newUser("user_notes_empty", 0);
+
+        mockMvc.perform(get("/api/users/{id}/notes", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(get("/api/users/{id}/notes", -1))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/{id}/notes", userId).param("after", "ayer_1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void queryUsesCompositeIndex() {
+        String plan = jdbcTemplate.queryForObject("explain select id from users_notes where user_id = 1 "
+                + "and creation_date <= current_date order by creation_date desc, id desc", String.class);
+        assertTrue(plan.contains("ix_users_notes_user_creation"), plan);
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas (POST /api/users/full).
+     */
+    private Long newUser(String name, int notes) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Notes");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> userNotes = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            Note note = new Note();
+            note.setTitle(name + " note " + i);
+            note.setContent("Contenido de la nota " + i);
+            userNotes.add(note);
+        }
+        return userService.saveWithDetails(user, details, userNotes).getId();
+    }
+}
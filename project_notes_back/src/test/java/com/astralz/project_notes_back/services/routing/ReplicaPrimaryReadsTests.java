@@ -0,0 +1,153 @@
+package com.astralz.project_notes_back.services.routing;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Lecturas que van a la primaria aunque la réplica esté disponible: las
+ * cargas de la caché de vistas y las del índice de búsqueda.
+ *
+ * Igual que en ReplicaRoutingTests, la réplica se copia a mano y sus títulos
+ * se marcan con " (replica)".
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary_reads;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:primary_reads_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.check-interval=1h",
+        "app.cache.notes.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class ReplicaPrimaryReadsTests {
+
+    private static final String CLIENT = ReadYourWritesFilter.CLIENT_HEADER;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaRouting routing;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Test
+    void viewCacheLoadsFromPrimary() throws Exception {
+        Long noteId = seed("primary_cache", "primary_cache note");
+        replicate();
+
+        // ? Lo cacheado no trae el título atrasado de la réplica
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("primary_cache note"));
+    }
+
+    @Test
+    void searchIndexReadsFromPrimary() throws Exception {
+        Long noteId = seed("primary_search", "primary_search note");
+        replicate();
+
+        mockMvc.perform(patch("/api/notes/{id}", noteId).header(CLIENT, "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"primary_search editada\"}"))
+                .andExpect(status().isNoContent());
+
+        // ? La reindexación (en segundo plano) leyó la fila nueva, no la de la réplica
+        boolean found = false;
+        for (int i = 0; i < 50 && !found; i++) {
+            String body = mockMvc.perform(get("/api/notes/search").param("q", "editada"))
+                    .andReturn().getResponse().getContentAsString();
+            found = body.contains("\"id\":" + noteId);
+            if (!found) {
+                Thread.sleep(100);
+            }
+        }
+        assertTrue(found);
+    }
+
+    /**
+     * Copia la primaria en la réplica, marca sus títulos y la da por
+     * disponible.
+     */
+    private void replicate() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            String file = script.toAbsolutePath().toString().replace('\\', '/');
+            new JdbcTemplate(primary).execute("SCRIPT TO '" + file + "'");
+
+            // La réplica es de solo lectura: se escribe con una conexión directa
+            try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), "sa", "");
+                    Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + file + "'");
+                statement.execute("UPDATE users_notes SET title = CONCAT(title, ' (replica)')");
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+
+        routing.checkReplica();
+        assertTrue(routing.isReplicaUsable());
+    }
+
+    /**
+     * Crea un usuario con una nota en la primaria.
+     *
+     * @return ID de la nota.
+     */
+    private Long seed(String name, String title) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Primary");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de " + title);
+
+        userService.saveWithDetails(user, details, List.of(note));
+        return note.getId();
+    }
+}
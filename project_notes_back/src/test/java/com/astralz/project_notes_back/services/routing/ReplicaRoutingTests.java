@@ -0,0 +1,208 @@
+package com.astralz.project_notes_back.services.routing;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Enrutado de lecturas a la réplica con dos bases H2 en memoria.
+ *
+ * La réplica se "replica" a mano (SCRIPT / RUNSCRIPT de H2) y sus títulos se
+ * marcan con " (replica)": así cada respuesta dice de qué base salió. Una
+ * tabla replica_lag hace de consulta de retraso.
+ *
+ * Casos: lecturas a la réplica, read-your-writes tras una escritura, réplica
+ * atrasada y réplica caída (las dos últimas leen de la primaria sin error).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.read-your-writes=500ms",
+        "app.datasource.replica.max-lag=5s",
+        "app.datasource.replica.lag-query=select lag_seconds from replica_lag",
+        "app.datasource.replica.check-interval=1h",
+        "app.cache.notes.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DirtiesContext
+class ReplicaRoutingTests {
+
+    private static final String CLIENT = ReadYourWritesFilter.CLIENT_HEADER;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaRouting routing;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    // Nota de prueba (la misma en todos los casos)
+    private static Long noteId;
+
+    @BeforeEach
+    void replicate() throws Exception {
+
+        // ? Primer caso: crea los datos en la primaria
+        if (noteId == null) {
+            noteId = seed();
+        }
+
+        // ? La réplica ya está caída (último caso)
+        if (replica.isClosed()) {
+            return;
+        }
+
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            String file = script.toAbsolutePath().toString().replace('\\', '/');
+            new JdbcTemplate(primary).execute("SCRIPT TO '" + file + "'");
+
+            // La réplica es de solo lectura: se escribe con una conexión directa
+            try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), "sa", "");
+                    Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM '" + file + "'");
+                statement.execute("UPDATE users_notes SET title = CONCAT(title, ' (replica)')");
+                statement.execute("CREATE TABLE replica_lag (lag_seconds INT)");
+                statement.execute("INSERT INTO replica_lag VALUES (0)");
+            }
+        } finally {
+            Files.deleteIfExists(script);
+        }
+
+        routing.checkReplica();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyReadsGoToReplica() throws Exception {
+        assertTrue(routing.isReplicaUsable());
+
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("routing note (replica)"));
+    }
+
+    @Test
+    @Order(2)
+    void writerReadsOwnWriteFromPrimary() throws Exception {
+        mockMvc.perform(patch("/api/notes/{id}", noteId).header(CLIENT, "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"routing note edited\"}"))
+                .andExpect(status().isNoContent());
+
+        // ? Quien escribió ve su cambio aunque la réplica no lo tenga
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "writer"))
+                .andExpect(jsonPath("$.title").value("routing note edited"));
+
+        // ? Otro cliente sigue leyendo de la réplica
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "reader"))
+                .andExpect(jsonPath("$.title").value("routing note (replica)"));
+
+        // ? Pasada la ventana, el escritor vuelve a la réplica
+        Thread.sleep(700);
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "writer"))
+                .andExpect(jsonPath("$.title").value("routing note (replica)"));
+    }
+
+    @Test
+    @Order(3)
+    void laggingReplicaFallsBackToPrimary() throws Exception {
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE replica_lag SET lag_seconds = 60");
+        }
+        routing.checkReplica();
+        assertFalse(routing.isReplicaUsable());
+
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("routing note edited"));
+    }
+
+    @Test
+    @Order(4)
+    void unreachableReplicaFallsBackToPrimary() throws Exception {
+        assertTrue(routing.isReplicaUsable());
+        replica.close();
+
+        mockMvc.perform(get("/api/notes/{id}", noteId).header(CLIENT, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("routing note edited"));
+        mockMvc.perform(get("/api/notes").header(CLIENT, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("routing note edited"));
+
+        assertFalse(routing.isReplicaUsable());
+        routing.checkReplica();
+        assertFalse(routing.isReplicaUsable());
+    }
+
+    /**
+     * Crea un usuario con una nota en la primaria.
+     *
+     * @return ID de la nota.
+     */
+    private Long seed() {
+        User user = new User();
+        user.setUsername("routing_user");
+        user.setEmail("routing@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Routing");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("5500000003");
+
+        Note note = new Note();
+        note.setTitle("routing note");
+        note.setContent("Contenido de la nota");
+
+        userService.saveWithDetails(user, details, List.of(note));
+        return note.getId();
+    }
+}
@@ -0,0 +1,71 @@
+package com.astralz.project_notes_back.services.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.astralz.project_notes_back.dto.CursorPage;
+import com.astralz.project_notes_back.dto.NoteSummaryView;
+import com.astralz.project_notes_back.dto.NoteView;
+import com.astralz.project_notes_back.dto.UserView;
+import com.astralz.project_notes_back.enums.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * ViewSerializers escribe el mismo JSON que Jackson por defecto (con fechas
+ * ISO, como Spring Boot, y con fechas numéricas).
+ */
+class ViewSerializersTests {
+
+    private final NoteView note = new NoteView(1L, "Título \"con\" comillas", "Contenido\nde la nota",
+            LocalDate.of(2024, 2, 29), 7L, "ñandú", 3L);
+    private final NoteView emptyNote = new NoteView(2L, null, null, null, null, null, null);
+    private final NoteSummaryView summary = new NoteSummaryView(1L, "Título", LocalDate.of(2024, 2, 29), 7L,
+            "Contenido de la nota…", 3L);
+    private final NoteSummaryView emptySummary = new NoteSummaryView(2L, null, null, null, null, null);
+    private final UserView user = new UserView(7L, "ñandú", "nandu@test.dev", Role.ADMIN, "Ñandú", "Sur", 0L);
+    private final UserView emptyUser = new UserView(8L, null, null, null, null, null, null);
+
+    @Test
+    void writesSameJsonAsDefaultSerializer() throws Exception {
+        assertSameJson(mapper(false, false), mapper(true, false));
+    }
+
+    @Test
+    void writesSameJsonWithNumericDates() throws Exception {
+        assertSameJson(mapper(false, true), mapper(true, true));
+    }
+
+    /**
+     * Compara la salida de los dos ObjectMapper para todas las vistas.
+     */
+    private void assertSameJson(ObjectMapper expected, ObjectMapper actual) throws Exception {
+        CursorPage<NoteView, Long> page = new CursorPage<>(List.of(note, emptyNote), 2L, 2);
+        for (Object value : List.of(note, emptyNote, summary, emptySummary, user, emptyUser, page)) {
+
+            // Dos veces: la segunda usa la fecha ya codificada
+            assertEquals(expected.writeValueAsString(value), actual.writeValueAsString(value));
+            assertEquals(expected.writeValueAsString(value), actual.writeValueAsString(value));
+        }
+    }
+
+    /**
+     * ObjectMapper como el de Spring Boot, con o sin el camino rápido.
+     */
+    private static ObjectMapper mapper(boolean fast, boolean numericDates) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (!numericDates) {
+            builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        }
+        if (fast) {
+            builder.modulesToInstall(new BlackbirdModule(), ViewSerializers.module());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.astralz.project_notes_back.services.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.astralz.project_notes_back.dto.UserNoteStatsView;
+import com.astralz.project_notes_back.models.Note;
+import com.astralz.project_notes_back.models.User;
+import com.astralz.project_notes_back.models.UserDetails;
+import com.astralz.project_notes_back.services.models.NoteService;
+import com.astralz.project_notes_back.services.models.UserService;
+
+/**
+ * Estadísticas de notas por usuario: se mantienen en cada alta y baja de
+ * notas, se crean al leer si faltan y la reconciliación corrige desvíos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:note_stats;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class UserNoteStatsServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private UserNoteStatsService noteStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersFollowNoteWrites() {
+        User user = newUser("stats_writes", 2);
+        Long userId = user.getId();
+        assertStats(userId, 2);
+
+        Note created = noteService.save(note(user, "stats_writes single"));
+        assertStats(userId, 3);
+
+        noteService.saveBatch(List.of(note(user, "stats_writes batch 1"), note(user, "stats_writes batch 2")));
+        assertStats(userId, 5);
+
+        noteService.deleteById(created.getId());
+        assertStats(userId, 4);
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from users_notes where user_id = ? order by id",
+                Long.class, userId);
+        noteService.deleteMany(ids.subList(0, 2));
+        assertStats(userId, 2);
+
+        noteService.deleteByUser(userId);
+        assertStats(userId, 0);
+        assertNull(noteStats.find(userId).orElseThrow().latestNoteDate());
+
+        userService.deleteById(userId);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users_note_stats where user_id = ?",
+                Integer.class, userId));
+    }
+
+    @Test
+    void missingRowIsComputedOnReadAndDriftIsReconciled() throws Exception {
+        User user = newUser("stats_drift", 3);
+        Long userId = user.getId();
+
+        // ? Usuario previo a las estadísticas: la fila se crea al leerla
+        jdbcTemplate.update("delete from users_note_stats where user_id = ?", userId);
+        assertStats(userId, 3);
+
+        // ? Escritura por fuera de los servicios: la reconciliación la corrige
+        jdbcTemplate.update("update users_note_stats set note_count = 42 where user_id = ?", userId);
+        jdbcTemplate.update("insert into users_note_stats (user_id, note_count) values (?, 7)", -1L);
+        noteStats.reconcile();
+        assertStats(userId, 3);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from users_note_stats where user_id = -1",
+                Integer.class));
+
+        mockMvc.perform(get("/api/users/{id}/stats", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.noteCount").value(3))
+                .andExpect(jsonPath("$.latestNoteDate").value(LocalDate.now().toString()));
+        mockMvc.perform(get("/api/users/{id}/stats", -1))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/users/stats").param("ids", userId + ",-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].userId").value(userId));
+    }
+
+    /**
+     * Crea un usuario con sus detalles y notas (POST /api/users/full).
+     */
+    private User newUser(String name, int notes) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@test.dev");
+        user.setPassword("password123");
+        user.setFirstName("Stats");
+        user.setLastName("Test");
+
+        UserDetails details = new UserDetails();
+        details.setPhoneNumber("55" + Math.abs(name.hashCode() % 100_000_000));
+        details.setAddress("Calle de prueba 123");
+        details.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        List<Note> userNotes = new ArrayList<>();
+        for (int i = 0; i < notes; i++) {
+            userNotes.add(note(user, name + " note " + i));
+        }
+        return userService.saveWithDetails(user, details, userNotes);
+    }
+
+    private static Note note(User user, String title) {
+        Note note = new Note();
+        note.setTitle(title);
+        note.setContent("Contenido de la nota");
+        note.setUser(user);
+        return note;
+    }
+
+    private void assertStats(Long userId, long notes) {
+        UserNoteStatsView stats = noteStats.find(userId).orElseThrow();
+        assertEquals(notes, stats.noteCount());
+    }
+}